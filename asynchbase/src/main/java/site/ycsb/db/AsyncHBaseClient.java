@@ -25,6 +25,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.hbase.async.Bytes;
 import org.hbase.async.Config;
@@ -35,6 +37,10 @@ import org.hbase.async.KeyValue;
 import org.hbase.async.PutRequest;
 import org.hbase.async.Scanner;
 
+import com.stumbleupon.async.Callback;
+import com.stumbleupon.async.Deferred;
+
+import site.ycsb.AsyncDB;
 import site.ycsb.ByteArrayByteIterator;
 import site.ycsb.ByteIterator;
 import site.ycsb.DBException;
@@ -49,8 +55,11 @@ import static site.ycsb.workloads.CoreWorkload.TABLENAME_PROPERTY_DEFAULT;
  * This client provides a subset of the main HBase client and uses a completely
  * asynchronous pipeline for all calls. It is particularly useful for write heavy
  * workloads. It is also compatible with all production versions of HBase. 
+ * 
+ * Operations are not waited for, so with "async.window" above one each client
+ * thread keeps that many of them in flight.
  */
-public class AsyncHBaseClient extends site.ycsb.DB {
+public class AsyncHBaseClient extends AsyncDB {
   public static final Charset UTF8_CHARSET = Charset.forName("UTF8");
   private static final String CLIENT_SIDE_BUFFERING_PROPERTY = "clientbuffering";
   private static final String DURABILITY_PROPERTY = "durability";
@@ -196,8 +205,8 @@ public class AsyncHBaseClient extends site.ycsb.DB {
   }
   
   @Override
-  public Status read(String table, String key, Set<String> fields,
-                     Map<String, ByteIterator> result) {
+  public CompletionStage<Status> read(String table, final String key, Set<String> fields,
+                                      final Map<String, ByteIterator> result) {
     setTable(table);
     
     final GetRequest get = new GetRequest(
@@ -206,46 +215,42 @@ public class AsyncHBaseClient extends site.ycsb.DB {
       get.qualifiers(getQualifierList(fields));
     }
     
-    try {
-      if (debug) {
-        System.out.println("Doing read from HBase columnfamily " + 
-            Bytes.pretty(columnFamilyBytes));
-        System.out.println("Doing read for key: " + key);
-      }
-      
-      final ArrayList<KeyValue> row = client.get(get).join(joinTimeout);
-      if (row == null || row.isEmpty()) {
-        return Status.NOT_FOUND;
-      }
-      
-      // got something so populate the results
-      for (final KeyValue column : row) {
-        result.put(new String(column.qualifier()), 
-            // TODO - do we need to clone this array? YCSB may keep it in memory
-            // for a while which would mean the entire KV would hang out and won't
-            // be GC'd.
-            new ByteArrayByteIterator(column.value()));
+    if (debug) {
+      System.out.println("Doing read from HBase columnfamily " + 
+          Bytes.pretty(columnFamilyBytes));
+      System.out.println("Doing read for key: " + key);
+    }
+    
+    return toFuture(client.get(get)).handle((row, error) -> {
+        if (error != null) {
+          System.err.println("Failure reading from row with key " + key + 
+              ": " + error.getMessage());
+          return Status.ERROR;
+        }
+        if (row == null || row.isEmpty()) {
+          return Status.NOT_FOUND;
+        }
         
-        if (debug) {
-          System.out.println(
-              "Result for field: " + Bytes.pretty(column.qualifier())
-                  + " is: " + Bytes.pretty(column.value()));
+        // got something so populate the results
+        for (final KeyValue column : row) {
+          result.put(new String(column.qualifier()), 
+              // TODO - do we need to clone this array? YCSB may keep it in memory
+              // for a while which would mean the entire KV would hang out and won't
+              // be GC'd.
+              new ByteArrayByteIterator(column.value()));
+          
+          if (debug) {
+            System.out.println(
+                "Result for field: " + Bytes.pretty(column.qualifier())
+                    + " is: " + Bytes.pretty(column.value()));
+          }
         }
-      }
-      return Status.OK;
-    } catch (InterruptedException e) {
-      System.err.println("Thread interrupted");
-      Thread.currentThread().interrupt();
-    } catch (Exception e) {
-      System.err.println("Failure reading from row with key " + key + 
-          ": " + e.getMessage());
-      return Status.ERROR;
-    }
-    return Status.ERROR;
+        return Status.OK;
+      });
   }
 
   @Override
-  public Status scan(String table, String startkey, int recordcount,
+  public CompletionStage<Status> scan(String table, String startkey, int recordcount,
       Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
     setTable(table);
     
@@ -258,49 +263,64 @@ public class AsyncHBaseClient extends site.ycsb.DB {
     }
     
     // no filters? *sniff*
-    ArrayList<ArrayList<KeyValue>> rows = null;
-    try {
-      int numResults = 0;
-      while ((rows = scanner.nextRows().join(joinTimeout)) != null) {
-        for (final ArrayList<KeyValue> row : rows) {
-          final HashMap<String, ByteIterator> rowResult =
-              new HashMap<String, ByteIterator>(row.size());
-          for (final KeyValue column : row) {
-            rowResult.put(new String(column.qualifier()), 
-                // TODO - do we need to clone this array? YCSB may keep it in memory
-                // for a while which would mean the entire KV would hang out and won't
-                // be GC'd.
-                new ByteArrayByteIterator(column.value()));
-            if (debug) {
-              System.out.println("Got scan result for key: " + 
-                  Bytes.pretty(column.key()));
+    final CompletableFuture<Status> done = new CompletableFuture<Status>();
+    nextRows(scanner, startkey, recordcount, result, done);
+    return done;
+  }
+
+  /**
+   * Fetch the next batch of rows of a scan, and keep doing so from its callback until enough
+   * rows have been read or the scanner is exhausted.
+   * @param scanner The open scanner.
+   * @param startkey The key the scan started at, for error reporting.
+   * @param recordcount The number of rows to read.
+   * @param result The rows read so far.
+   * @param done Completed with the status of the scan once the scanner is closed.
+   */
+  private void nextRows(final Scanner scanner, final String startkey, final int recordcount,
+                        final Vector<HashMap<String, ByteIterator>> result,
+                        final CompletableFuture<Status> done) {
+    toFuture(scanner.nextRows()).whenComplete((rows, error) -> {
+        if (error != null) {
+          System.err.println("Failure reading from row with key " + startkey + 
+              ": " + error.getMessage());
+          scanner.close();
+          done.complete(Status.ERROR);
+          return;
+        }
+        if (rows != null) {
+          for (final ArrayList<KeyValue> row : rows) {
+            final HashMap<String, ByteIterator> rowResult =
+                new HashMap<String, ByteIterator>(row.size());
+            for (final KeyValue column : row) {
+              rowResult.put(new String(column.qualifier()), 
+                  // TODO - do we need to clone this array? YCSB may keep it in memory
+                  // for a while which would mean the entire KV would hang out and won't
+                  // be GC'd.
+                  new ByteArrayByteIterator(column.value()));
+              if (debug) {
+                System.out.println("Got scan result for key: " + 
+                    Bytes.pretty(column.key()));
+              }
             }
-          }
-          result.add(rowResult);
-          numResults++;
+            result.add(rowResult);
 
-          if (numResults >= recordcount) {// if hit recordcount, bail out
-            break;
+            if (result.size() >= recordcount) {// if hit recordcount, bail out
+              break;
+            }
+          }
+          if (result.size() < recordcount) {
+            nextRows(scanner, startkey, recordcount, result, done);
+            return;
           }
         }
-      }
-      scanner.close().join(joinTimeout);
-      return Status.OK;
-    } catch (InterruptedException e) {
-      System.err.println("Thread interrupted");
-      Thread.currentThread().interrupt();
-    } catch (Exception e) {
-      System.err.println("Failure reading from row with key " + startkey + 
-          ": " + e.getMessage());
-      return Status.ERROR;
-    }
-    
-    return Status.ERROR;
+        toFuture(scanner.close()).whenComplete((closed, closeError) -> done.complete(Status.OK));
+      });
   }
 
   @Override
-  public Status update(String table, String key,
-                       Map<String, ByteIterator> values) {
+  public CompletionStage<Status> update(String table, final String key,
+                                        Map<String, ByteIterator> values) {
     setTable(table);
     
     if (debug) {
@@ -325,35 +345,23 @@ public class AsyncHBaseClient extends site.ycsb.DB {
     if (!durability) {
       put.setDurable(false);
     }
-    if (!clientSideBuffering) {
-      put.setBufferable(false);
-      try {
-        client.put(put).join(joinTimeout);
-      } catch (InterruptedException e) {
-        System.err.println("Thread interrupted");
-        Thread.currentThread().interrupt();
-      } catch (Exception e) {
-        System.err.println("Failure reading from row with key " + key + 
-            ": " + e.getMessage());
-        return Status.ERROR;
-      }
-    } else {
-      // hooray! Asynchronous write. But without a callback and an async
-      // YCSB call we don't know whether it succeeded or not
+    if (clientSideBuffering) {
+      // the put only completes once its batch is flushed, so don't hold a slot of the window for it
       client.put(put);
+      return CompletableFuture.completedFuture(Status.OK);
     }
-    
-    return Status.OK;
+    put.setBufferable(false);
+    return written(client.put(put), key);
   }
 
   @Override
-  public Status insert(String table, String key,
-                       Map<String, ByteIterator> values) {
+  public CompletionStage<Status> insert(String table, String key,
+                                        Map<String, ByteIterator> values) {
     return update(table, key, values);
   }
 
   @Override
-  public Status delete(String table, String key) {
+  public CompletionStage<Status> delete(String table, String key) {
     setTable(table);
     
     if (debug) {
@@ -365,24 +373,52 @@ public class AsyncHBaseClient extends site.ycsb.DB {
     if (!durability) {
       delete.setDurable(false);
     }
-    if (!clientSideBuffering) {
-      delete.setBufferable(false);
-      try {
-        client.delete(delete).join(joinTimeout);
-      } catch (InterruptedException e) {
-        System.err.println("Thread interrupted");
-        Thread.currentThread().interrupt();
-      } catch (Exception e) {
-        System.err.println("Failure reading from row with key " + key + 
-            ": " + e.getMessage());
-        return Status.ERROR;
-      }
-    } else {
-      // hooray! Asynchronous write. But without a callback and an async
-      // YCSB call we don't know whether it succeeded or not
+    if (clientSideBuffering) {
       client.delete(delete);
+      return CompletableFuture.completedFuture(Status.OK);
     }
-    return Status.OK;
+    delete.setBufferable(false);
+    return written(client.delete(delete), key);
+  }
+
+  /**
+   * Little helper to turn the outcome of a put or delete into a status.
+   * @param deferred The pending mutation.
+   * @param key The key it writes, for error reporting.
+   * @return A stage completing with OK, or ERROR if the mutation failed.
+   */
+  private static CompletionStage<Status> written(final Deferred<Object> deferred, final String key) {
+    return toFuture(deferred).handle((ignored, error) -> {
+        if (error != null) {
+          System.err.println("Failure writing to row with key " + key + 
+              ": " + error.getMessage());
+          return Status.ERROR;
+        }
+        return Status.OK;
+      });
+  }
+
+  /**
+   * Little helper to bridge a Deferred into a CompletableFuture.
+   * @param deferred The Deferred to wait for.
+   * @return A future completing with the result or the error of the Deferred.
+   */
+  private static <T> CompletableFuture<T> toFuture(final Deferred<T> deferred) {
+    final CompletableFuture<T> future = new CompletableFuture<T>();
+    deferred.addCallbacks(new Callback<Object, T>() {
+        @Override
+        public Object call(final T arg) {
+          future.complete(arg);
+          return null;
+        }
+      }, new Callback<Object, Exception>() {
+        @Override
+        public Object call(final Exception e) {
+          future.completeExceptionally(e);
+          return null;
+        }
+      });
+    return future;
   }
 
   /**
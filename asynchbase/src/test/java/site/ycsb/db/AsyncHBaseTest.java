@@ -134,7 +134,7 @@ public class AsyncHBaseTest {
     table.put(p);
 
     final HashMap<String, ByteIterator> result = new HashMap<String, ByteIterator>();
-    final Status status = client.read(tableName, rowKey, null, result);
+    final Status status = client.read(tableName, rowKey, null, result).toCompletableFuture().join();
     assertEquals(Status.OK, status);
     assertEquals(2, result.size());
     assertEquals("value1", result.get("column1").toString());
@@ -144,7 +144,7 @@ public class AsyncHBaseTest {
   @Test
   public void testReadMissingRow() throws Exception {
     final HashMap<String, ByteIterator> result = new HashMap<String, ByteIterator>();
-    final Status status = client.read(tableName, "Missing row", null, result);
+    final Status status = client.read(tableName, "Missing row", null, result).toCompletableFuture().join();
     assertEquals(Status.NOT_FOUND, status);
     assertEquals(0, result.size());
   }
@@ -170,7 +170,7 @@ public class AsyncHBaseTest {
         new Vector<HashMap<String, ByteIterator>>();
 
     // Scan 5 records, skipping the first
-    client.scan(tableName, "00001", 5, null, result);
+    client.scan(tableName, "00001", 5, null, result).toCompletableFuture().join();
 
     assertEquals(5, result.size());
     for(int i = 0; i < 5; i++) {
@@ -190,7 +190,8 @@ public class AsyncHBaseTest {
     final HashMap<String, String> input = new HashMap<String, String>();
     input.put("column1", "value1");
     input.put("column2", "value2");
-    final Status status = client.insert(tableName, key, StringByteIterator.getByteIteratorMap(input));
+    final Status status = client.insert(tableName, key, StringByteIterator.getByteIteratorMap(input))
+        .toCompletableFuture().join();
     assertEquals(Status.OK, status);
 
     // Verify result
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.generator.RandomStreams;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An open-loop source of operation start times shared by all client threads.
+ *
+ * Start times follow an arrival process at the target rate and are independent of how long
+ * operations take: each client thread reserves the next start time, waits for it, and runs the
+ * operation with that time as its intended start. When every thread is busy, the schedule keeps
+ * moving and the waiting time shows up in the "Intended-" latencies, so they reflect response
+ * time under a fixed offered load.
+ *
+ * Enabled by setting "throttle.arrival" together with a target. Supported arrival processes:
+ * <UL>
+ * <LI><b>constant</b>: evenly spaced arrivals
+ * <LI><b>poisson</b>: exponentially distributed gaps between arrivals
+ * <LI><b>bursty</b>: arrivals in back-to-back bursts of geometrically distributed size, with a mean
+ * of "throttle.arrival.burstsize" operations per burst
+ * </UL>
+ */
+public class ArrivalScheduler {
+  /**
+   * The arrival process used to schedule operations: "perthread" (default, closed-loop throttling
+   * of each client thread), "constant", "poisson" or "bursty".
+   */
+  public static final String ARRIVAL_PROPERTY = "throttle.arrival";
+
+  /**
+   * The default arrival process, which leaves throttling to each client thread.
+   */
+  public static final String ARRIVAL_PROPERTY_DEFAULT = "perthread";
+
+  /**
+   * The mean number of operations per burst for the bursty arrival process.
+   */
+  public static final String BURST_SIZE_PROPERTY = "throttle.arrival.burstsize";
+
+  /**
+   * The default mean burst size.
+   */
+  public static final String BURST_SIZE_PROPERTY_DEFAULT = "10";
+
+  /**
+   * What to do with start times that have already passed when an operation is issued: "burst"
+   * (default) issues them as fast as possible, "skip" drops them and restarts the schedule from now.
+   */
+  public static final String CATCHUP_PROPERTY = "throttle.catchup";
+
+  /**
+   * The default catch-up policy.
+   */
+  public static final String CATCHUP_PROPERTY_DEFAULT = "burst";
+
+  /** Supported arrival processes. */
+  public enum Process {
+    CONSTANT,
+    POISSON,
+    BURSTY
+  }
+
+  /** What to do when the schedule has fallen behind. */
+  public enum CatchUp {
+    /** Issue the missed operations back to back until the schedule is met again. */
+    BURST,
+    /** Forget the missed operations and continue the schedule from the current time. */
+    SKIP
+  }
+
+  /**
+   * The next start time of the schedule, with the fraction of a nanosecond the gaps so far
+   * were rounded down by, so that rounding does not drift the rate.
+   */
+  private static final class Slot {
+    private final long startNs;
+    private final double carryNs;
+
+    Slot(long startNs, double carryNs) {
+      this.startNs = startNs;
+      this.carryNs = carryNs;
+    }
+  }
+
+  /** Marks a schedule which has not handed out its first start time yet. */
+  private static final Slot UNSTARTED = new Slot(Long.MIN_VALUE, 0);
+
+  private final Process process;
+  private final CatchUp catchup;
+  private final double intervalNs;
+  private final double burstSize;
+  private final TargetProfile profile;
+  private final AtomicReference<Slot> next = new AtomicReference<>(UNSTARTED);
+
+  /**
+   * Create a new scheduler.
+   *
+   * @param process   The arrival process.
+   * @param catchup   The catch-up policy.
+   * @param opsPerSec The target rate over all client threads.
+   * @param burstSize The mean burst size, only used by {@link Process#BURSTY}.
+   */
+  public ArrivalScheduler(Process process, CatchUp catchup, double opsPerSec, double burstSize) {
+    this(process, catchup, opsPerSec, burstSize, null);
+  }
+
+  /**
+   * Create a new scheduler whose rate follows a profile.
+   *
+   * @param process   The arrival process.
+   * @param catchup   The catch-up policy.
+   * @param opsPerSec The target rate over all client threads, used if there is no profile.
+   * @param burstSize The mean burst size, only used by {@link Process#BURSTY}.
+   * @param profile   The target over time, or null for a constant rate.
+   */
+  public ArrivalScheduler(Process process, CatchUp catchup, double opsPerSec, double burstSize,
+                          TargetProfile profile) {
+    if (opsPerSec <= 0) {
+      throw new IllegalArgumentException("Open-loop arrivals need a positive target, was " + opsPerSec);
+    }
+    if (burstSize < 1) {
+      throw new IllegalArgumentException(BURST_SIZE_PROPERTY + " must be at least 1, was " + burstSize);
+    }
+    this.process = process;
+    this.catchup = catchup;
+    this.intervalNs = 1e9 / opsPerSec;
+    this.burstSize = burstSize;
+    this.profile = profile;
+  }
+
+  /**
+   * Create the scheduler configured by the properties, if any.
+   *
+   * @param props     The client properties.
+   * @param opsPerSec The target rate over all client threads.
+   * @return The scheduler, or null if client threads should throttle themselves.
+   */
+  public static ArrivalScheduler fromProperties(Properties props, double opsPerSec) {
+    return fromProperties(props, opsPerSec, null);
+  }
+
+  /**
+   * Create the scheduler configured by the properties, if any.
+   *
+   * @param props     The client properties.
+   * @param opsPerSec The target rate over all client threads.
+   * @param profile   The target over time, or null for a constant rate.
+   * @return The scheduler, or null if client threads should throttle themselves.
+   */
+  public static ArrivalScheduler fromProperties(Properties props, double opsPerSec, TargetProfile profile) {
+    String arrival = props.getProperty(ARRIVAL_PROPERTY, ARRIVAL_PROPERTY_DEFAULT);
+    if (arrival.equals(ARRIVAL_PROPERTY_DEFAULT) || opsPerSec <= 0) {
+      return null;
+    }
+    Process process = parse(Process.class, ARRIVAL_PROPERTY, arrival, "perthread, constant, poisson or bursty");
+    double burstSize = Double.parseDouble(props.getProperty(BURST_SIZE_PROPERTY, BURST_SIZE_PROPERTY_DEFAULT));
+    return new ArrivalScheduler(process, getCatchUp(props), opsPerSec, burstSize, profile);
+  }
+
+  /**
+   * @param props The client properties.
+   * @return The catch-up policy configured by {@link #CATCHUP_PROPERTY}.
+   */
+  public static CatchUp getCatchUp(Properties props) {
+    return parse(CatchUp.class, CATCHUP_PROPERTY, props.getProperty(CATCHUP_PROPERTY, CATCHUP_PROPERTY_DEFAULT),
+        "burst or skip");
+  }
+
+  private static <E extends Enum<E>> E parse(Class<E> type, String property, String value, String allowed) {
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown " + property + " \"" + value + "\", use " + allowed);
+    }
+  }
+
+  /**
+   * Reserve the start time of the next operation. The first call starts the schedule.
+   *
+   * @return The intended start time, in {@link System#nanoTime()} units. May be in the past.
+   */
+  public long next() {
+    while (true) {
+      final Slot reserved = next.get();
+      long start = reserved.startNs;
+      double carry = reserved.carryNs;
+      if (reserved == UNSTARTED) {
+        start = System.nanoTime();
+        carry = 0;
+      } else if (catchup == CatchUp.SKIP) {
+        long now = System.nanoTime();
+        if (now > start) {
+          start = now;
+          carry = 0;
+        }
+      }
+      double gap = gapNs(start) + carry;
+      long wholeGap = (long) gap;
+      if (next.compareAndSet(reserved, new Slot(start + wholeGap, gap - wholeGap))) {
+        return start;
+      }
+    }
+  }
+
+  /**
+   * Draw the time between an arrival at the given time and the next one.
+   */
+  private double gapNs(long start) {
+    double interval = intervalNs;
+    if (profile != null) {
+      interval = profile.nextStart(start, 1) - start;
+    }
+    switch (process) {
+    case CONSTANT:
+      return interval;
+    case POISSON:
+      return -Math.log(1.0 - RandomStreams.current().nextDouble()) * interval;
+    case BURSTY:
+      // a burst ends with probability 1/burstSize, then the pause keeps the mean rate
+      if (RandomStreams.current().nextDouble() * burstSize < 1.0) {
+        return burstSize * interval;
+      }
+      return 0;
+    default:
+      throw new AssertionError("Impossible to be here. Dead code reached. Bugs?");
+    }
+  }
+}
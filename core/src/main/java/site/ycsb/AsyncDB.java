@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The asynchronous counterpart of {@link DB}. Bindings whose drivers expose a non-blocking API
+ * can extend this class instead of {@link DB} so that a single client thread can keep several
+ * operations in flight at the same time.
+ *
+ * Each operation returns a {@link CompletionStage} that completes with the {@link Status} of the
+ * operation. Result containers passed to read and scan must only be considered populated once the
+ * returned stage has completed. The client limits the number of outstanding operations per thread
+ * with the "async.window" property; see {@link AsyncDBAdapter}.
+ *
+ * As with {@link DB}, there is one instance per client thread and the class must have a no-argument
+ * constructor. Any argument-based initialization should be done by init().
+ */
+public abstract class AsyncDB {
+  /**
+   * Properties for configuring this DB.
+   */
+  private Properties properties = new Properties();
+
+  /**
+   * Set the properties for this DB.
+   */
+  public void setProperties(Properties p) {
+    properties = p;
+  }
+
+  /**
+   * Get the set of properties for this DB.
+   */
+  public Properties getProperties() {
+    return properties;
+  }
+
+  /**
+   * Initialize any state for this DB.
+   * Called once per DB instance; there is one DB instance per client thread.
+   */
+  public void init() throws DBException {
+  }
+
+  /**
+   * Cleanup any state for this DB.
+   * Called once per DB instance, after all of its outstanding operations have completed.
+   */
+  public void cleanup() throws DBException {
+  }
+
+  /**
+   * Read a record from the database. Each field/value pair from the result will be stored in a HashMap.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A HashMap of field/value pairs for the result
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> read(String table, String key, Set<String> fields,
+                                               Map<String, ByteIterator> result);
+
+  /**
+   * Perform a range scan for a set of records in the database. Each field/value pair from the result will be stored
+   * in a HashMap.
+   *
+   * @param table The name of the table
+   * @param startkey The record key of the first record to read.
+   * @param recordcount The number of records to read
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> scan(String table, String startkey, int recordcount, Set<String> fields,
+                                               Vector<HashMap<String, ByteIterator>> result);
+
+  /**
+   * Update a record in the database. Any field/value pairs in the specified values HashMap will be written into the
+   * record with the specified record key, overwriting any existing values with the same field name.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param values A HashMap of field/value pairs to update in the record
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> update(String table, String key, Map<String, ByteIterator> values);
+
+  /**
+   * Insert a record in the database. Any field/value pairs in the specified values HashMap will be written into the
+   * record with the specified record key.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to insert.
+   * @param values A HashMap of field/value pairs to insert in the record
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> insert(String table, String key, Map<String, ByteIterator> values);
+
+  /**
+   * Delete a record from the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to delete.
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> delete(String table, String key);
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Presents an {@link AsyncDB} to workloads as a {@link DB}, keeping up to "async.window"
+ * operations in flight per client thread.
+ *
+ * Each call issues the operation and returns as soon as a slot in the window is available,
+ * blocking the client thread while the window is full. With a window larger than one, calls
+ * return {@link Status#BATCHED_OK} and the actual status is only counted by the
+ * {@link AsyncDBWrapper}; result containers are filled in after the call returned, so options
+ * like "dataintegrity" need a window of one. Workloads which must act on the outcome of such an
+ * operation, e.g. to make an inserted key readable only once it is written, take its stage with
+ * {@link #takePendingStage()} right after the call. With a window of one, each call waits for its
+ * operation and returns the actual status, matching the behavior of a synchronous binding.
+ */
+public class AsyncDBAdapter extends DB {
+  /**
+   * The maximum number of outstanding operations per client thread.
+   */
+  public static final String WINDOW_PROPERTY = "async.window";
+
+  /**
+   * The default window, i.e. one operation at a time.
+   */
+  public static final String WINDOW_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The stage of the last operation a thread issued that returned {@link Status#BATCHED_OK}.
+   */
+  private static final ThreadLocal<CompletionStage<Status>> PENDING = new ThreadLocal<>();
+
+  private final AsyncDB db;
+  private final int window;
+  private final Semaphore inflight;
+
+  public AsyncDBAdapter(final AsyncDB db, final int window) {
+    if (window < 1) {
+      throw new IllegalArgumentException(WINDOW_PROPERTY + " must be at least 1, was " + window);
+    }
+    this.db = db;
+    this.window = window;
+    inflight = new Semaphore(window);
+  }
+
+  /**
+   * Set the properties for this DB.
+   */
+  public void setProperties(Properties p) {
+    db.setProperties(p);
+  }
+
+  /**
+   * Get the set of properties for this DB.
+   */
+  public Properties getProperties() {
+    return db.getProperties();
+  }
+
+  /**
+   * @return The maximum number of outstanding operations.
+   */
+  public int getWindow() {
+    return window;
+  }
+
+  /**
+   * @return The number of operations issued that have not completed yet.
+   */
+  public int getInflight() {
+    return window - inflight.availablePermits();
+  }
+
+  public void init() throws DBException {
+    db.init();
+  }
+
+  /**
+   * Take the stage of the last operation the calling thread issued through an adapter, if that
+   * call returned {@link Status#BATCHED_OK}. The stage completes with the actual status once the
+   * operation is done.
+   *
+   * @return The stage, or null if the last call returned the actual status or was already taken.
+   */
+  public static CompletionStage<Status> takePendingStage() {
+    CompletionStage<Status> stage = PENDING.get();
+    if (stage != null) {
+      PENDING.remove();
+    }
+    return stage;
+  }
+
+  /**
+   * Waits for all outstanding operations before cleaning up the underlying DB.
+   */
+  public void cleanup() throws DBException {
+    try {
+      awaitCompletion();
+    } finally {
+      db.cleanup();
+    }
+  }
+
+  /**
+   * Block until every operation issued so far has completed.
+   */
+  public void awaitCompletion() {
+    inflight.acquireUninterruptibly(window);
+    inflight.release(window);
+  }
+
+  public Status read(String table, String key, Set<String> fields,
+                     Map<String, ByteIterator> result) {
+    inflight.acquireUninterruptibly();
+    try {
+      return track(db.read(table, key, fields, result));
+    } catch (RuntimeException e) {
+      inflight.release();
+      throw e;
+    }
+  }
+
+  public Status scan(String table, String startkey, int recordcount,
+                     Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
+    inflight.acquireUninterruptibly();
+    try {
+      return track(db.scan(table, startkey, recordcount, fields, result));
+    } catch (RuntimeException e) {
+      inflight.release();
+      throw e;
+    }
+  }
+
+  public Status update(String table, String key, Map<String, ByteIterator> values) {
+    inflight.acquireUninterruptibly();
+    try {
+      return track(db.update(table, key, values));
+    } catch (RuntimeException e) {
+      inflight.release();
+      throw e;
+    }
+  }
+
+  public Status insert(String table, String key, Map<String, ByteIterator> values) {
+    inflight.acquireUninterruptibly();
+    try {
+      return track(db.insert(table, key, values));
+    } catch (RuntimeException e) {
+      inflight.release();
+      throw e;
+    }
+  }
+
+  public Status delete(String table, String key) {
+    inflight.acquireUninterruptibly();
+    try {
+      return track(db.delete(table, key));
+    } catch (RuntimeException e) {
+      inflight.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Releases the window slot taken for an operation once its stage completes.
+   */
+  private Status track(CompletionStage<Status> stage) {
+    stage.whenComplete((res, error) -> inflight.release());
+    if (window > 1) {
+      PENDING.set(stage);
+      return Status.BATCHED_OK;
+    }
+    try {
+      Status res = stage.toCompletableFuture().join();
+      if (res == null) {
+        return Status.ERROR;
+      }
+      return res;
+    } catch (CompletionException | CancellationException e) {
+      return Status.ERROR;
+    }
+  }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.OperationMeasurements.Operation;
+import site.ycsb.measurements.Measurements;
+import org.apache.htrace.core.TraceScope;
+import org.apache.htrace.core.Tracer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Wrapper around a "real" AsyncDB that measures latencies and counts return codes.
+ * Latency is recorded when the returned stage completes, on whichever thread completes it.
+ * A stage that completes exceptionally is reported as {@link Status#ERROR}. Flight recorder
+ * events span from issuing an operation to the completion of its stage, and are committed by
+ * the completing thread.
+ */
+public class AsyncDBWrapper extends AsyncDB {
+  private final AsyncDB db;
+  private final Measurements measurements;
+  private final Tracer tracer;
+
+  private boolean reportLatencyForEachError = false;
+  private Set<String> latencyTrackedErrors = new HashSet<String>();
+  private OperationMeasurements handles;
+  private FlightRecorderEvents events;
+
+  private static final String REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY = "reportlatencyforeacherror";
+  private static final String REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY_DEFAULT = "false";
+
+  private static final String LATENCY_TRACKED_ERRORS_PROPERTY = "latencytrackederrors";
+
+  private final String scopeStringCleanup;
+  private final String scopeStringDelete;
+  private final String scopeStringInit;
+  private final String scopeStringInsert;
+  private final String scopeStringRead;
+  private final String scopeStringScan;
+  private final String scopeStringUpdate;
+
+  public AsyncDBWrapper(final AsyncDB db, final Tracer tracer) {
+    this.db = db;
+    measurements = Measurements.getMeasurements();
+    this.tracer = tracer;
+    handles = new OperationMeasurements(measurements, reportLatencyForEachError, latencyTrackedErrors);
+    final String simple = db.getClass().getSimpleName();
+    scopeStringCleanup = simple + "#cleanup";
+    scopeStringDelete = simple + "#delete";
+    scopeStringInit = simple + "#init";
+    scopeStringInsert = simple + "#insert";
+    scopeStringRead = simple + "#read";
+    scopeStringScan = simple + "#scan";
+    scopeStringUpdate = simple + "#update";
+  }
+
+  /**
+   * Set the properties for this DB.
+   */
+  public void setProperties(Properties p) {
+    db.setProperties(p);
+  }
+
+  /**
+   * Get the set of properties for this DB.
+   */
+  public Properties getProperties() {
+    return db.getProperties();
+  }
+
+  /**
+   * Initialize any state for this DB.
+   * Called once per DB instance; there is one DB instance per client thread.
+   */
+  public void init() throws DBException {
+    try (final TraceScope span = tracer.newScope(scopeStringInit)) {
+      db.init();
+
+      this.reportLatencyForEachError = Boolean.parseBoolean(getProperties().
+          getProperty(REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY,
+              REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY_DEFAULT));
+
+      if (!reportLatencyForEachError) {
+        String latencyTrackedErrorsProperty = getProperties().getProperty(LATENCY_TRACKED_ERRORS_PROPERTY, null);
+        if (latencyTrackedErrorsProperty != null) {
+          this.latencyTrackedErrors = new HashSet<String>(Arrays.asList(
+              latencyTrackedErrorsProperty.split(",")));
+        }
+      }
+      handles = new OperationMeasurements(measurements, reportLatencyForEachError, latencyTrackedErrors);
+      events = FlightRecorderEvents.getCurrent();
+    }
+  }
+
+  /**
+   * Cleanup any state for this DB.
+   * Called once per DB instance, after all of its outstanding operations have completed.
+   */
+  public void cleanup() throws DBException {
+    try (final TraceScope span = tracer.newScope(scopeStringCleanup)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      db.cleanup();
+      long en = System.nanoTime();
+      handles.measure(Operation.CLEANUP, Status.OK, ist, st, en);
+    }
+  }
+
+  public CompletionStage<Status> read(String table, String key, Set<String> fields,
+                                      Map<String, ByteIterator> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringRead)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      Object event = beginEvent();
+      long st = System.nanoTime();
+      return record(Operation.READ, table, key, ist, st, event, db.read(table, key, fields, result));
+    }
+  }
+
+  public CompletionStage<Status> scan(String table, String startkey, int recordcount,
+                                      Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringScan)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      Object event = beginEvent();
+      long st = System.nanoTime();
+      return record(Operation.SCAN, table, startkey, ist, st, event,
+          db.scan(table, startkey, recordcount, fields, result));
+    }
+  }
+
+  public CompletionStage<Status> update(String table, String key,
+                                        Map<String, ByteIterator> values) {
+    try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      Object event = beginEvent();
+      long st = System.nanoTime();
+      return record(Operation.UPDATE, table, key, ist, st, event, db.update(table, key, values));
+    }
+  }
+
+  public CompletionStage<Status> insert(String table, String key,
+                                        Map<String, ByteIterator> values) {
+    try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      Object event = beginEvent();
+      long st = System.nanoTime();
+      return record(Operation.INSERT, table, key, ist, st, event, db.insert(table, key, values));
+    }
+  }
+
+  public CompletionStage<Status> delete(String table, String key) {
+    try (final TraceScope span = tracer.newScope(scopeStringDelete)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      Object event = beginEvent();
+      long st = System.nanoTime();
+      return record(Operation.DELETE, table, key, ist, st, event, db.delete(table, key));
+    }
+  }
+
+  /**
+   * Attaches the measurement of an operation to the completion of its stage. The returned stage
+   * completes normally with {@link Status#ERROR} if the original stage failed.
+   */
+  private CompletionStage<Status> record(final Operation op, final String table, final String key, final long ist,
+                                         final long st, final Object event, CompletionStage<Status> stage) {
+    return stage.handle((res, error) -> {
+        long en = System.nanoTime();
+        Status status = res;
+        if (error != null || status == null) {
+          status = Status.ERROR;
+        }
+        if (event != null) {
+          events.commit(event, op.name(), table, key, status, en - st, intendedDelay(ist, st));
+        }
+        handles.measure(op, status, ist, st, en);
+        handles.reportStatus(op, status);
+        return status;
+      });
+  }
+
+  private Object beginEvent() {
+    if (events == null) {
+      return null;
+    }
+    return events.begin();
+  }
+
+  /**
+   * @return The time from the intended start of an operation to its start, or 0 if the intended
+   * start is not measured.
+   */
+  private static long intendedDelay(long ist, long st) {
+    if (ist == 0) {
+      return 0;
+    }
+    return st - ist;
+  }
+
+}
@@ -17,7 +17,12 @@
 
 package site.ycsb;
 
+import site.ycsb.generator.RandomStreams;
+import site.ycsb.generator.Zeta;
 import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.IntervalExporter;
+import site.ycsb.measurements.exporter.JSONLinesIntervalExporter;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 import site.ycsb.measurements.exporter.TextMeasurementsExporter;
 import org.apache.htrace.core.HTraceConfiguration;
@@ -124,6 +129,17 @@ public final class Client {
    */
   public static final String INSERT_COUNT_PROPERTY = "insertcount";
 
+  /**
+   * The kind of thread each client thread runs on: "platform" (default) or "virtual".
+   * Virtual threads need a JVM that supports them; otherwise platform threads are used.
+   */
+  public static final String THREAD_MODEL_PROPERTY = "threadmodel";
+
+  /**
+   * The default thread model.
+   */
+  public static final String THREAD_MODEL_PROPERTY_DEFAULT = "platform";
+
   /**
    * Target number of operations per second.
    */
@@ -144,6 +160,28 @@ public final class Client {
    */
   public static final String STATUS_PROPERTY = "status";
 
+  /**
+   * If set to the path of a file, the throughput and latencies of each status interval are
+   * exported to it. Needs the status thread ("-s").
+   */
+  public static final String STATUS_EXPORT_FILE_PROPERTY = "status.exportfile";
+
+  /**
+   * The interval exporter class to be used. The default is
+   * site.ycsb.measurements.exporter.JSONLinesIntervalExporter.
+   */
+  public static final String STATUS_EXPORTER_PROPERTY = "status.exporter";
+
+  /**
+   * The latency percentiles of each status interval to export, comma separated.
+   */
+  public static final String STATUS_PERCENTILES_PROPERTY = "status.percentiles";
+
+  /**
+   * The default percentiles of each status interval.
+   */
+  public static final String STATUS_PERCENTILES_PROPERTY_DEFAULT = "50,90,99,99.9";
+
   /**
    * Use label for status (e.g. to label one experiment out of a whole batch).
    */
@@ -193,6 +231,10 @@ public final class Client {
     System.out.println("To run the load phase from multiple servers, start a separate client on each; additionally,");
     System.out.println("use the \"insertcount\" and \"insertstart\" properties to divide up the records " +
         "to be inserted");
+    System.out.println("Alternatively, run site.ycsb.Coordinator with the same options and \"" +
+        Coordinator.WORKERS_PROPERTY + "\", and");
+    System.out.println("start each client with \"" + Coordinator.ADDRESS_PROPERTY + "=host:port\" to have " +
+        "the work divided and the results merged");
   }
 
   public static boolean checkRequiredProperties(Properties props) {
@@ -211,31 +253,11 @@ public final class Client {
    *
    * @throws IOException Either failed to write to output stream or failed to close it.
    */
-  private static void exportMeasurements(Properties props, int opcount, long runtime)
+  private static void exportMeasurements(Properties props, long opcount, long runtime)
       throws IOException {
     MeasurementsExporter exporter = null;
     try {
-      // if no destination file is provided the results will be written to stdout
-      OutputStream out;
-      String exportFile = props.getProperty(EXPORT_FILE_PROPERTY);
-      if (exportFile == null) {
-        out = System.out;
-      } else {
-        out = new FileOutputStream(exportFile);
-      }
-
-      // if no exporter is provided the default text one will be used
-      String exporterStr = props.getProperty(EXPORTER_PROPERTY,
-          "site.ycsb.measurements.exporter.TextMeasurementsExporter");
-      try {
-        exporter = (MeasurementsExporter) Class.forName(exporterStr).getConstructor(OutputStream.class)
-            .newInstance(out);
-      } catch (Exception e) {
-        System.err.println("Could not find exporter " + exporterStr
-            + ", will use default text reporter.");
-        e.printStackTrace();
-        exporter = new TextMeasurementsExporter(out);
-      }
+      exporter = openExporter(props);
 
       exporter.write("OVERALL", "RunTime(ms)", runtime);
       double throughput = 1000.0 * (opcount) / (runtime);
@@ -273,10 +295,42 @@ public final class Client {
     }
   }
 
+  /**
+   * Create the exporter configured by the "exporter" and "exportfile" properties.
+   *
+   * @throws IOException Failed to open the export file.
+   */
+  static MeasurementsExporter openExporter(Properties props) throws IOException {
+    // if no destination file is provided the results will be written to stdout
+    OutputStream out;
+    String exportFile = props.getProperty(EXPORT_FILE_PROPERTY);
+    if (exportFile == null) {
+      out = System.out;
+    } else {
+      out = new FileOutputStream(exportFile);
+    }
+
+    // if no exporter is provided the default text one will be used
+    String exporterStr = props.getProperty(EXPORTER_PROPERTY,
+        "site.ycsb.measurements.exporter.TextMeasurementsExporter");
+    try {
+      return (MeasurementsExporter) Class.forName(exporterStr).getConstructor(OutputStream.class)
+          .newInstance(out);
+    } catch (Exception e) {
+      System.err.println("Could not find exporter " + exporterStr
+          + ", will use default text reporter.");
+      e.printStackTrace();
+      return new TextMeasurementsExporter(out);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public static void main(String[] args) {
     Properties props = parseArguments(args);
 
+    // a worker of a coordinated run takes its share of the work from the coordinator
+    CoordinatedWorker worker = joinCoordinator(props);
+
     boolean status = Boolean.valueOf(props.getProperty(STATUS_PROPERTY, String.valueOf(false)));
     String label = props.getProperty(LABEL_PROPERTY, "");
 
@@ -286,10 +340,13 @@ public final class Client {
     int threadcount = Integer.parseInt(props.getProperty(THREAD_COUNT_PROPERTY, "1"));
     String dbname = props.getProperty(DB_PROPERTY, "site.ycsb.BasicDB");
     int target = Integer.parseInt(props.getProperty(TARGET_PROPERTY, "0"));
+    ThreadModel threadmodel = getThreadModel(props);
 
-    //compute the target throughput
+    //compute the target throughput, unless a shared open-loop schedule paces all threads
+    TargetProfile profile = TargetProfile.fromProperties(props, target);
+    ArrivalScheduler scheduler = ArrivalScheduler.fromProperties(props, target, profile);
     double targetperthreadperms = -1;
-    if (target > 0) {
+    if (target > 0 && scheduler == null) {
       double targetperthread = ((double) target) / ((double) threadcount);
       targetperthreadperms = targetperthread / 1000.0;
     }
@@ -298,6 +355,8 @@ public final class Client {
     warningthread.start();
 
     Measurements.setProperties(props);
+    Zeta.setProperties(props);
+    RandomStreams.setProperties(props);
 
     Workload workload = getWorkload(props);
 
@@ -310,33 +369,40 @@ public final class Client {
 
     final List<ClientThread> clients = initDb(dbname, props, threadcount, targetperthreadperms,
         workload, tracer, completeLatch);
+    for (ClientThread client : clients) {
+      if (scheduler != null) {
+        client.setArrivalScheduler(scheduler);
+      } else if (profile != null) {
+        client.setTargetProfile(profile);
+      }
+    }
 
     if (status) {
-      boolean standardstatus = false;
-      if (props.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "").compareTo("timeseries") == 0) {
-        standardstatus = true;
-      }
-      int statusIntervalSeconds = Integer.parseInt(props.getProperty("status.interval", "10"));
-      boolean trackJVMStats = props.getProperty(Measurements.MEASUREMENT_TRACK_JVM_PROPERTY,
-          Measurements.MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT).equals("true");
-      statusthread = new StatusThread(completeLatch, clients, label, standardstatus, statusIntervalSeconds,
-          trackJVMStats);
-      statusthread.start();
+      startStatusThread(props, completeLatch, clients, label, profile);
     }
+    MetricsEndpoint.start(props, clients);
+    FlightRecorderEvents events = FlightRecorderEvents.start(props);
 
     Thread terminator = null;
     long st;
     long en;
-    int opsDone;
+    long opsDone;
 
     try (final TraceScope span = tracer.newScope(CLIENT_WORKLOAD_SPAN)) {
 
       final Map<Thread, ClientThread> threads = new HashMap<>(threadcount);
       for (ClientThread client : clients) {
-        threads.put(new Thread(tracer.wrap(client, "ClientThread")), client);
+        threads.put(threadmodel.newThread(tracer.wrap(client, "ClientThread")), client);
+      }
+
+      if (worker != null) {
+        awaitCoordinatorStart(worker);
       }
 
       st = System.currentTimeMillis();
+      if (profile != null) {
+        profile.start(System.nanoTime());
+      }
 
       for (Thread t : threads.keySet()) {
         t.start();
@@ -360,6 +426,9 @@ public final class Client {
 
       en = System.currentTimeMillis();
     }
+    if (events != null) {
+      events.stop();
+    }
 
     try {
       try (final TraceScope span = tracer.newScope(CLIENT_CLEANUP_SPAN)) {
@@ -389,7 +458,13 @@ public final class Client {
 
     try {
       try (final TraceScope span = tracer.newScope(CLIENT_EXPORT_MEASUREMENTS_SPAN)) {
-        exportMeasurements(props, opsDone, en - st);
+        if (worker != null) {
+          // the coordinator exports the merged results of all workers
+          worker.report(opsDone, en - st);
+          worker.close();
+        } else {
+          exportMeasurements(props, opsDone, en - st);
+        }
       }
     } catch (IOException e) {
       System.err.println("Could not export measurements, error: " + e.getMessage());
@@ -400,26 +475,93 @@ public final class Client {
     System.exit(0);
   }
 
-  private static List<ClientThread> initDb(String dbname, Properties props, int threadcount,
-                                           double targetperthreadperms, Workload workload, Tracer tracer,
-                                           CountDownLatch completeLatch) {
+  private static void startStatusThread(Properties props, CountDownLatch completeLatch, List<ClientThread> clients,
+                                        String label, TargetProfile profile) {
+    boolean standardstatus = false;
+    if (props.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "").compareTo("timeseries") == 0) {
+      standardstatus = true;
+    }
+    int statusIntervalSeconds = Integer.parseInt(props.getProperty("status.interval", "10"));
+    boolean trackJVMStats = props.getProperty(Measurements.MEASUREMENT_TRACK_JVM_PROPERTY,
+        Measurements.MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT).equals("true");
+    statusthread = new StatusThread(completeLatch, clients, label, standardstatus, statusIntervalSeconds,
+        trackJVMStats);
+    statusthread.setTargetProfile(profile);
+    String exportFile = props.getProperty(STATUS_EXPORT_FILE_PROPERTY);
+    if (exportFile != null) {
+      List<Double> percentiles = new ArrayList<>();
+      for (String p : props.getProperty(STATUS_PERCENTILES_PROPERTY, STATUS_PERCENTILES_PROPERTY_DEFAULT).split(",")) {
+        percentiles.add(Double.parseDouble(p.trim()));
+      }
+      try {
+        statusthread.setIntervalExporter(openIntervalExporter(props, exportFile), percentiles,
+            props.getProperty(OneMeasurement.LATENCY_UNIT_PROPERTY, OneMeasurement.LATENCY_UNIT_PROPERTY_DEFAULT));
+      } catch (IOException e) {
+        System.err.println("Could not open " + exportFile + " to export status intervals to: " + e);
+      }
+    }
+    statusthread.start();
+  }
+
+  private static IntervalExporter openIntervalExporter(Properties props, String exportFile) throws IOException {
+    OutputStream out = new FileOutputStream(exportFile);
+    String exporterStr = props.getProperty(STATUS_EXPORTER_PROPERTY,
+        "site.ycsb.measurements.exporter.JSONLinesIntervalExporter");
+    try {
+      return (IntervalExporter) Class.forName(exporterStr).getConstructor(OutputStream.class).newInstance(out);
+    } catch (Exception e) {
+      System.err.println("Could not find interval exporter " + exporterStr
+          + ", will use JSON lines.");
+      e.printStackTrace();
+      return new JSONLinesIntervalExporter(out);
+    }
+  }
+
+  private static CoordinatedWorker joinCoordinator(Properties props) {
+    if (props.getProperty(Coordinator.ADDRESS_PROPERTY) == null) {
+      return null;
+    }
+    try {
+      return CoordinatedWorker.join(props);
+    } catch (IOException e) {
+      System.err.println("Could not join coordinator, error: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(-1);
+      return null;
+    }
+  }
+
+  private static void awaitCoordinatorStart(CoordinatedWorker worker) {
+    try {
+      worker.awaitStart();
+    } catch (IOException e) {
+      System.err.println("Lost coordinator before start, error: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(-1);
+    }
+  }
+
+  static List<ClientThread> initDb(String dbname, Properties props, int threadcount,
+                                   double targetperthreadperms, Workload workload, Tracer tracer,
+                                   CountDownLatch completeLatch) {
     boolean initFailed = false;
     boolean dotransactions = Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)));
 
     final List<ClientThread> clients = new ArrayList<>(threadcount);
     try (final TraceScope span = tracer.newScope(CLIENT_INIT_SPAN)) {
-      int opcount;
+      long opcount;
       if (dotransactions) {
-        opcount = Integer.parseInt(props.getProperty(OPERATION_COUNT_PROPERTY, "0"));
+        opcount = Long.parseLong(props.getProperty(OPERATION_COUNT_PROPERTY, "0"));
       } else {
         if (props.containsKey(INSERT_COUNT_PROPERTY)) {
-          opcount = Integer.parseInt(props.getProperty(INSERT_COUNT_PROPERTY, "0"));
+          opcount = Long.parseLong(props.getProperty(INSERT_COUNT_PROPERTY, "0"));
         } else {
-          opcount = Integer.parseInt(props.getProperty(RECORD_COUNT_PROPERTY, DEFAULT_RECORD_COUNT));
+          opcount = Long.parseLong(props.getProperty(RECORD_COUNT_PROPERTY, DEFAULT_RECORD_COUNT));
         }
       }
-      if (threadcount > opcount){
-        threadcount = opcount;
+      // an operation count of 0 runs until stopped, on every thread
+      if (opcount > 0 && threadcount > opcount) {
+        threadcount = (int) opcount;
         System.out.println("Warning: the threadcount is bigger than recordcount, the threadcount will be recordcount!");
       }
       for (int threadid = 0; threadid < threadcount; threadid++) {
@@ -432,7 +574,7 @@ public final class Client {
           break;
         }
 
-        int threadopcount = opcount / threadcount;
+        long threadopcount = opcount / threadcount;
 
         // ensure correct number of operations, in case opcount is not a multiple of threadcount
         if (threadid < opcount % threadcount) {
@@ -454,13 +596,31 @@ public final class Client {
     return clients;
   }
 
-  private static Tracer getTracer(Properties props, Workload workload) {
+  static ThreadModel getThreadModel(Properties props) {
+    String name = props.getProperty(THREAD_MODEL_PROPERTY, THREAD_MODEL_PROPERTY_DEFAULT);
+    ThreadModel threadmodel;
+    try {
+      threadmodel = ThreadModel.fromString(name);
+    } catch (IllegalArgumentException e) {
+      System.out.println("Unknown " + THREAD_MODEL_PROPERTY + " " + name);
+      System.exit(0);
+      return null;
+    }
+    if (threadmodel.effective() != threadmodel) {
+      System.err.println("WARNING: virtual threads are not supported by this JVM, using platform threads.");
+    }
+    // let ClientThread know whether it runs on a virtual thread
+    props.setProperty(THREAD_MODEL_PROPERTY, threadmodel.effective().name().toLowerCase(Locale.ROOT));
+    return threadmodel.effective();
+  }
+
+  static Tracer getTracer(Properties props, Workload workload) {
     return new Tracer.Builder("YCSB " + workload.getClass().getSimpleName())
         .conf(getHTraceConfiguration(props))
         .build();
   }
 
-  private static void initWorkload(Properties props, Thread warningthread, Workload workload, Tracer tracer) {
+  static void initWorkload(Properties props, Thread warningthread, Workload workload, Tracer tracer) {
     try {
       try (final TraceScope span = tracer.newScope(CLIENT_WORKLOAD_INIT_SPAN)) {
         workload.init(props);
@@ -483,7 +643,7 @@ public final class Client {
     return HTraceConfiguration.fromMap(filteredProperties);
   }
 
-  private static Thread setupWarningThread() {
+  static Thread setupWarningThread() {
     //show a warning message that creating the workload is taking a while
     //but only do so if it is taking longer than 2 seconds
     //(showing the message right away if the setup wasn't taking very long was confusing people)
@@ -500,7 +660,7 @@ public final class Client {
     };
   }
 
-  private static Workload getWorkload(Properties props) {
+  static Workload getWorkload(Properties props) {
     ClassLoader classLoader = Client.class.getClassLoader();
 
     try {
@@ -526,7 +686,7 @@ public final class Client {
     return null;
   }
 
-  private static Properties parseArguments(String[] args) {
+  static Properties parseArguments(String[] args) {
     Properties props = new Properties();
     System.err.print("Command line:");
     for (String arg : args) {
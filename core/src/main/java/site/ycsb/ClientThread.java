@@ -17,10 +17,11 @@
 
 package site.ycsb;
 
+import site.ycsb.generator.RandomStreams;
+import site.ycsb.measurements.ClientResourceUsage;
 import site.ycsb.measurements.Measurements;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.LockSupport;
 
 /**
@@ -34,15 +35,22 @@ public class ClientThread implements Runnable {
   private DB db;
   private boolean dotransactions;
   private Workload workload;
-  private int opcount;
+  private long opcount;
   private double targetOpsPerMs;
 
-  private int opsdone;
+  private long opsdone;
   private int threadid;
   private int threadcount;
   private Object workloadstate;
   private Properties props;
   private long targetOpsTickNs;
+  private final ArrivalScheduler.CatchUp catchup;
+  private long throttleStartNanos;
+  private ArrivalScheduler scheduler;
+  private TargetProfile profile;
+  private CountDownLatch startLatch;
+  private long nextStartNanos;
+  private volatile boolean stopRequested;
   private final Measurements measurements;
 
   /**
@@ -56,7 +64,7 @@ public class ClientThread implements Runnable {
    * @param targetperthreadperms target number of operations per thread per ms
    * @param completeLatch        The latch tracking the completion of all clients.
    */
-  public ClientThread(DB db, boolean dotransactions, Workload workload, Properties props, int opcount,
+  public ClientThread(DB db, boolean dotransactions, Workload workload, Properties props, long opcount,
                       double targetperthreadperms, CountDownLatch completeLatch) {
     this.db = db;
     this.dotransactions = dotransactions;
@@ -69,10 +77,44 @@ public class ClientThread implements Runnable {
     }
     this.props = props;
     measurements = Measurements.getMeasurements();
-    spinSleep = Boolean.valueOf(this.props.getProperty("spin.sleep", "false"));
+    // Spinning would pin a virtual thread to its carrier, so always park there.
+    boolean virtual = ThreadModel.fromString(this.props.getProperty(Client.THREAD_MODEL_PROPERTY,
+        Client.THREAD_MODEL_PROPERTY_DEFAULT)) == ThreadModel.VIRTUAL;
+    spinSleep = Boolean.valueOf(this.props.getProperty("spin.sleep", "false")) && !virtual;
+    catchup = ArrivalScheduler.getCatchUp(this.props);
     this.completeLatch = completeLatch;
   }
 
+  /**
+   * Take operation start times from a shared open-loop schedule instead of throttling this thread
+   * to a per-thread target.
+   *
+   * @param arrivalScheduler The shared schedule.
+   */
+  public void setArrivalScheduler(final ArrivalScheduler arrivalScheduler) {
+    scheduler = arrivalScheduler;
+  }
+
+  /**
+   * Throttle this thread to its share of a target that changes over time, instead of a fixed
+   * per-thread target.
+   *
+   * @param targetProfile The target over all client threads.
+   */
+  public void setTargetProfile(final TargetProfile targetProfile) {
+    profile = targetProfile;
+  }
+
+  /**
+   * Wait for all clients sharing the latch to initialize their DB and workload state before doing
+   * operations, so initialization does not overlap with the run.
+   *
+   * @param latch A latch counting down once per client.
+   */
+  public void setStartLatch(final CountDownLatch latch) {
+    startLatch = latch;
+  }
+
   public void setThreadId(final int threadId) {
     threadid = threadId;
   }
@@ -81,17 +123,46 @@ public class ClientThread implements Runnable {
     threadcount = threadCount;
   }
 
-  public int getOpsDone() {
+  public long getOpsDone() {
     return opsdone;
   }
 
+  /**
+   * Stop this client after its current operation, while others sharing its workload go on.
+   */
+  public void requestStop() {
+    stopRequested = true;
+  }
+
+  /**
+   * Count this client as initialized, also when initialization failed, so the others do not wait for it.
+   */
+  private void initialized() {
+    if (startLatch != null) {
+      startLatch.countDown();
+    }
+  }
+
+  private void awaitStart() {
+    if (startLatch == null) {
+      return;
+    }
+    try {
+      startLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   @Override
   public void run() {
+    RandomStreams.bind(threadid);
     try {
       db.init();
     } catch (DBException e) {
       e.printStackTrace();
       e.printStackTrace(System.out);
+      initialized();
       return;
     }
 
@@ -100,8 +171,11 @@ public class ClientThread implements Runnable {
     } catch (WorkloadException e) {
       e.printStackTrace();
       e.printStackTrace(System.out);
+      initialized();
       return;
     }
+    initialized();
+    awaitStart();
 
     //NOTE: Switching to using nanoTime and parkNanos for time management here such that the measurements
     // and the client thread have the same view on time.
@@ -109,15 +183,18 @@ public class ClientThread implements Runnable {
     //spread the thread operations out so they don't all hit the DB at the same time
     // GH issue 4 - throws exception if _target>1 because random.nextInt argument must be >0
     // and the sleep() doesn't make sense for granularities < 1 ms anyway
-    if ((targetOpsPerMs > 0) && (targetOpsPerMs <= 1.0)) {
-      long randomMinorDelay = ThreadLocalRandom.current().nextInt((int) targetOpsTickNs);
+    if ((scheduler == null) && (targetOpsPerMs > 0) && (targetOpsPerMs <= 1.0)) {
+      long randomMinorDelay = RandomStreams.current().nextInt((int) targetOpsTickNs);
       sleepUntil(System.nanoTime() + randomMinorDelay);
     }
     try {
       if (dotransactions) {
-        long startTimeNanos = System.nanoTime();
+        throttleStartNanos = System.nanoTime();
+        nextStartNanos = throttleStartNanos;
+
+        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested() && !stopRequested) {
 
-        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested()) {
+          awaitArrival();
 
           if (!workload.doTransaction(db, workloadstate)) {
             break;
@@ -125,12 +202,15 @@ public class ClientThread implements Runnable {
 
           opsdone++;
 
-          throttleNanos(startTimeNanos);
+          throttleNanos();
         }
       } else {
-        long startTimeNanos = System.nanoTime();
+        throttleStartNanos = System.nanoTime();
+        nextStartNanos = throttleStartNanos;
 
-        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested()) {
+        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested() && !stopRequested) {
+
+          awaitArrival();
 
           if (!workload.doInsert(db, workloadstate)) {
             break;
@@ -138,7 +218,7 @@ public class ClientThread implements Runnable {
 
           opsdone++;
 
-          throttleNanos(startTimeNanos);
+          throttleNanos();
         }
       }
     } catch (Exception e) {
@@ -154,6 +234,10 @@ public class ClientThread implements Runnable {
       e.printStackTrace();
       e.printStackTrace(System.out);
     } finally {
+      ClientResourceUsage resourceUsage = measurements.getResourceUsage();
+      if (resourceUsage != null) {
+        resourceUsage.endClientThread(opsdone);
+      }
       completeLatch.countDown();
     }
   }
@@ -166,21 +250,49 @@ public class ClientThread implements Runnable {
     }
   }
 
-  private void throttleNanos(long startTimeNanos) {
+  private void throttleNanos() {
     //throttle the operations
-    if (targetOpsPerMs > 0) {
+    if (profile != null) {
+      // each thread keeps its share of the current target
+      long deadline = profile.nextStart(nextStartNanos, Math.max(threadcount, 1));
+      if (catchup == ArrivalScheduler.CatchUp.SKIP) {
+        deadline = Math.max(deadline, System.nanoTime());
+      }
+      nextStartNanos = deadline;
+      sleepUntil(deadline);
+      measurements.setIntendedStartTimeNs(deadline);
+    } else if (targetOpsPerMs > 0) {
       // delay until next tick
-      long deadline = startTimeNanos + opsdone * targetOpsTickNs;
+      long deadline = throttleStartNanos + opsdone * targetOpsTickNs;
+      if (catchup == ArrivalScheduler.CatchUp.SKIP) {
+        long now = System.nanoTime();
+        if (deadline < now) {
+          // drop the ticks we missed rather than bursting to catch up
+          throttleStartNanos += now - deadline;
+          deadline = now;
+        }
+      }
       sleepUntil(deadline);
       measurements.setIntendedStartTimeNs(deadline);
     }
   }
 
+  /**
+   * Wait for the start time of the next operation of the shared open-loop schedule, if any.
+   */
+  private void awaitArrival() {
+    if (scheduler != null) {
+      long start = scheduler.next();
+      sleepUntil(start);
+      measurements.setIntendedStartTimeNs(start);
+    }
+  }
+
   /**
    * The total amount of work this thread is still expected to do.
    */
-  int getOpsTodo() {
-    int todo = opcount - opsdone;
+  long getOpsTodo() {
+    long todo = opcount - opsdone;
     return todo < 0 ? 0 : todo;
   }
 }
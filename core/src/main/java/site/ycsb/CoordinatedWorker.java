@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.HistogramCodec;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The worker side of a run driven by a {@link Coordinator}.
+ */
+final class CoordinatedWorker implements Closeable {
+  private final Coordinator.Connection connection;
+
+  private CoordinatedWorker(Coordinator.Connection connection) {
+    this.connection = connection;
+  }
+
+  /**
+   * Join the coordinator at "coordinator.address" and apply the assignment it sends to the properties.
+   *
+   * @param props The client properties.
+   * @return The worker, connected to the coordinator.
+   * @throws IOException if the coordinator cannot be reached.
+   */
+  static CoordinatedWorker join(Properties props) throws IOException {
+    String address = props.getProperty(Coordinator.ADDRESS_PROPERTY);
+    int colon = address.lastIndexOf(':');
+    if (colon < 0) {
+      throw new IOException(Coordinator.ADDRESS_PROPERTY + " must be host:port, was " + address);
+    }
+    Socket socket = new Socket(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    CoordinatedWorker worker = new CoordinatedWorker(new Coordinator.Connection(socket));
+    worker.connection.send(Coordinator.HELLO);
+    while (true) {
+      String[] fields = worker.connection.read().split("\t", 3);
+      if (fields[0].equals(Coordinator.WAIT)) {
+        break;
+      }
+      if (!fields[0].equals(Coordinator.SET) || fields.length != 3) {
+        worker.close();
+        throw new IOException("Unexpected message from coordinator: " + fields[0]);
+      }
+      props.setProperty(fields[1], fields[2]);
+    }
+    System.err.println("Joined coordinator at " + address + " as worker "
+        + props.getProperty(Coordinator.WORKER_PROPERTY));
+    return worker;
+  }
+
+  /**
+   * Tell the coordinator this worker is ready and wait until all workers are.
+   */
+  void awaitStart() throws IOException {
+    connection.send(Coordinator.READY);
+    connection.expect(Coordinator.START);
+  }
+
+  /**
+   * Send the results of this worker to the coordinator.
+   *
+   * @param opsDone The operations done.
+   * @param runtime The runtime in milliseconds.
+   */
+  void report(long opsDone, long runtime) throws IOException {
+    connection.send(Coordinator.OPS + "\t" + opsDone + "\t" + runtime);
+    for (OneMeasurement m : Measurements.getMeasurements().getOneMeasurements()) {
+      if (m instanceof OneMeasurementHdrHistogram) {
+        connection.send(Coordinator.HISTOGRAM + "\t" + m.getName() + "\t"
+            + HistogramCodec.encode(((OneMeasurementHdrHistogram) m).getTotalHistogram()));
+      }
+      for (Map.Entry<String, Integer> entry : m.getStatusCounts().entrySet()) {
+        connection.send(Coordinator.STATUS + "\t" + m.getName() + "\t" + entry.getKey() + "\t" + entry.getValue());
+      }
+    }
+    connection.send(Coordinator.END);
+  }
+
+  @Override
+  public void close() throws IOException {
+    connection.close();
+  }
+}
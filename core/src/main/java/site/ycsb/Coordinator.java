@@ -0,0 +1,437 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.HistogramCodec;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+import site.ycsb.workloads.CoreWorkload;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Drives one run over several client processes and merges their results into one report.
+ *
+ * The coordinator is started with the same arguments as {@link Client}, plus the number of workers
+ * in "coordinator.workers". Workers are clients started with "-p coordinator.address=host:port", on
+ * this or other hosts; "coordinator.spawn" starts that many of them on this host. The coordinator
+ * listens on "coordinator.bind" and "coordinator.port", and gives up when the next worker has not
+ * joined within "coordinator.accepttimeout" seconds. Each worker is assigned its share of the work:
+ * when loading, its slice of the keyspace through "insertstart" and "insertcount"; when running
+ * transactions, its share of "operationcount" and a range of its own past "recordcount" for the
+ * records it inserts, through "transactioninsertstart"; it reads the loaded records and those it
+ * inserted itself. The "target" rate is split between workers
+ * in both phases. Once every worker has initialized its bindings, all of them are started together.
+ * At the end each worker sends its HdrHistograms and return codes, and the coordinator exports the
+ * merged result through the configured exporter, so this requires measurementtype=hdrhistogram.
+ *
+ * <pre>
+ * java -cp ... site.ycsb.Coordinator -t -db site.ycsb.BasicDB -P workloads/workloada \
+ *   -p coordinator.workers=4 -p coordinator.spawn=4
+ * </pre>
+ */
+public final class Coordinator {
+  /**
+   * The address of the coordinator, as host:port. Set on a client to make it a worker.
+   */
+  public static final String ADDRESS_PROPERTY = "coordinator.address";
+
+  /**
+   * The number of workers the coordinator waits for.
+   */
+  public static final String WORKERS_PROPERTY = "coordinator.workers";
+
+  /**
+   * The port the coordinator listens on for workers.
+   */
+  public static final String PORT_PROPERTY = "coordinator.port";
+
+  /**
+   * The default coordinator port.
+   */
+  public static final String PORT_PROPERTY_DEFAULT = "7700";
+
+  /**
+   * The local address the coordinator listens on for workers.
+   */
+  public static final String BIND_PROPERTY = "coordinator.bind";
+
+  /**
+   * The default bind address, i.e. all local addresses.
+   */
+  public static final String BIND_PROPERTY_DEFAULT = "0.0.0.0";
+
+  /**
+   * How long the coordinator waits for each worker to join, in seconds; 0 waits forever.
+   */
+  public static final String ACCEPT_TIMEOUT_PROPERTY = "coordinator.accepttimeout";
+
+  /**
+   * The default accept timeout in seconds.
+   */
+  public static final String ACCEPT_TIMEOUT_PROPERTY_DEFAULT = "300";
+
+  /**
+   * The number of workers the coordinator starts as local processes.
+   */
+  public static final String SPAWN_PROPERTY = "coordinator.spawn";
+
+  /**
+   * The default number of local workers, i.e. all workers are started by hand.
+   */
+  public static final String SPAWN_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The index of a worker, assigned by the coordinator.
+   */
+  public static final String WORKER_PROPERTY = "coordinator.worker";
+
+  // the line based protocol between coordinator and workers, fields are separated by tabs
+  static final String HELLO = "HELLO";
+  static final String SET = "SET";
+  static final String WAIT = "WAIT";
+  static final String READY = "READY";
+  static final String START = "START";
+  static final String OPS = "OPS";
+  static final String HISTOGRAM = "HISTOGRAM";
+  static final String STATUS = "STATUS";
+  static final String END = "END";
+
+  private final Properties props;
+  private final Properties reportProps;
+  private final int workers;
+  private final Map<String, OneMeasurementHdrHistogram> merged = new TreeMap<>();
+  private long opsDone;
+  private long runtime;
+
+  /**
+   * @param props   The client properties shared by all workers.
+   * @param workers The number of workers to wait for.
+   */
+  public Coordinator(Properties props, int workers) {
+    if (workers < 1) {
+      throw new IllegalArgumentException(WORKERS_PROPERTY + " must be at least 1, was " + workers);
+    }
+    this.props = props;
+    this.workers = workers;
+    // the merged histograms only feed the report
+    reportProps = new Properties();
+    reportProps.putAll(props);
+    reportProps.remove("hdrhistogram.fileoutput");
+    reportProps.remove(OneMeasurementHdrHistogram.PER_THREAD_EXPORT_PROPERTY);
+  }
+
+  /**
+   * The number of items of total that the worker with the given index takes.
+   */
+  static long share(long total, int index, int parts) {
+    long size = total / parts;
+    if (index < total % parts) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * The position of the first item of total that the worker with the given index takes.
+   */
+  static long offset(long total, int index, int parts) {
+    return index * (total / parts) + Math.min(index, total % parts);
+  }
+
+  /**
+   * The properties a worker overrides to do its share of the work.
+   *
+   * @param index   The index of the worker.
+   * @param parts   The number of workers.
+   * @return The overrides.
+   */
+  Properties assignment(int index, int parts) {
+    Properties assigned = new Properties();
+    assigned.setProperty(WORKER_PROPERTY, Integer.toString(index));
+
+    boolean dotransactions = Boolean.valueOf(props.getProperty(Client.DO_TRANSACTIONS_PROPERTY,
+        String.valueOf(true)));
+    long recordcount = Long.parseLong(props.getProperty(Client.RECORD_COUNT_PROPERTY,
+        Client.DEFAULT_RECORD_COUNT));
+    if (dotransactions) {
+      long opcount = Long.parseLong(props.getProperty(Client.OPERATION_COUNT_PROPERTY, "0"));
+      assigned.setProperty(Client.OPERATION_COUNT_PROPERTY, Long.toString(share(opcount, index, parts)));
+      // a worker inserts at most one record per operation, so its share of the operations bounds its range;
+      // each worker reads the loaded records and its own inserts only, so the ranges may lie apart
+      long insertstart = Long.parseLong(props.getProperty(CoreWorkload.TRANSACTION_INSERT_START_PROPERTY,
+          String.valueOf(recordcount)));
+      long range = opcount;
+      if (range == 0) {
+        // runs bounded by time only split the keys left
+        range = Long.MAX_VALUE - insertstart;
+      }
+      assigned.setProperty(CoreWorkload.TRANSACTION_INSERT_START_PROPERTY,
+          Long.toString(insertstart + offset(range, index, parts)));
+    } else {
+      long insertstart = Long.parseLong(props.getProperty(Workload.INSERT_START_PROPERTY,
+          Workload.INSERT_START_PROPERTY_DEFAULT));
+      long insertcount = Long.parseLong(props.getProperty(Client.INSERT_COUNT_PROPERTY,
+          String.valueOf(recordcount - insertstart)));
+      assigned.setProperty(Workload.INSERT_START_PROPERTY,
+          Long.toString(insertstart + offset(insertcount, index, parts)));
+      assigned.setProperty(Client.INSERT_COUNT_PROPERTY, Long.toString(share(insertcount, index, parts)));
+    }
+
+    long target = Long.parseLong(props.getProperty(Client.TARGET_PROPERTY, "0"));
+    if (target > 0) {
+      // every worker keeps a positive target, so none of them runs unthrottled
+      assigned.setProperty(Client.TARGET_PROPERTY, Long.toString(Math.max(1, share(target, index, parts))));
+    }
+    return assigned;
+  }
+
+  /**
+   * Accept the workers, start them together and collect their results.
+   *
+   * @param server Where workers connect.
+   * @throws IOException if a worker fails or breaks the protocol.
+   */
+  public void run(ServerSocket server) throws IOException {
+    List<Connection> connections = new ArrayList<>(workers);
+    try {
+      // workers get their assignment as they join, so they can all initialize at the same time
+      for (int i = 0; i < workers; i++) {
+        Connection c;
+        try {
+          c = new Connection(server.accept());
+        } catch (SocketTimeoutException e) {
+          throw new IOException("Only " + i + " of " + workers + " workers joined before the "
+              + ACCEPT_TIMEOUT_PROPERTY + " of " + server.getSoTimeout() / 1000 + "s", e);
+        }
+        connections.add(c);
+        c.expect(HELLO);
+        Properties assigned = assignment(i, workers);
+        for (String name : assigned.stringPropertyNames()) {
+          c.send(SET + "\t" + name + "\t" + assigned.getProperty(name));
+        }
+        c.send(WAIT);
+        System.err.println("Worker " + i + " joined from " + c.getRemoteAddress());
+      }
+      for (Connection c : connections) {
+        c.expect(READY);
+      }
+      System.err.println("All " + workers + " workers are ready, starting.");
+      for (Connection c : connections) {
+        c.send(START);
+      }
+      for (Connection c : connections) {
+        collect(c);
+      }
+    } finally {
+      for (Connection c : connections) {
+        c.close();
+      }
+    }
+  }
+
+  private void collect(Connection c) throws IOException {
+    while (true) {
+      String[] fields = c.read().split("\t");
+      switch (fields[0]) {
+      case OPS:
+        opsDone += Long.parseLong(fields[1]);
+        runtime = Math.max(runtime, Long.parseLong(fields[2]));
+        break;
+      case HISTOGRAM:
+        measurement(fields[1]).add(HistogramCodec.decode(fields[2]));
+        break;
+      case STATUS:
+        measurement(fields[1]).reportStatus(new Status(fields[2], fields[2]), Integer.parseInt(fields[3]));
+        break;
+      case END:
+        return;
+      default:
+        throw new IOException("Unexpected message from worker: " + fields[0]);
+      }
+    }
+  }
+
+  private OneMeasurementHdrHistogram measurement(String name) {
+    OneMeasurementHdrHistogram m = merged.get(name);
+    if (m == null) {
+      m = new OneMeasurementHdrHistogram(name, reportProps);
+      merged.put(name, m);
+    }
+    return m;
+  }
+
+  /**
+   * @return The operations done by all workers.
+   */
+  public long getOpsDone() {
+    return opsDone;
+  }
+
+  /**
+   * @return The runtime of the slowest worker in milliseconds.
+   */
+  public long getRuntime() {
+    return runtime;
+  }
+
+  /**
+   * @return The merged measurements, by name.
+   */
+  public Map<String, OneMeasurementHdrHistogram> getMeasurements() {
+    return merged;
+  }
+
+  /**
+   * Write the merged report.
+   */
+  public void export(MeasurementsExporter exporter) throws IOException {
+    exporter.write("OVERALL", "Workers", workers);
+    exporter.write("OVERALL", "RunTime(ms)", runtime);
+    exporter.write("OVERALL", "Throughput(ops/sec)", 1000.0 * opsDone / runtime);
+    for (OneMeasurementHdrHistogram m : merged.values()) {
+      m.exportMeasurements(exporter);
+    }
+  }
+
+  /**
+   * One side of a connection between coordinator and worker.
+   */
+  static final class Connection {
+    private final Socket socket;
+    private final BufferedReader in;
+    private final PrintWriter out;
+
+    Connection(Socket socket) throws IOException {
+      this.socket = socket;
+      in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    void send(String line) {
+      out.print(line);
+      out.print('\n');
+      out.flush();
+    }
+
+    String read() throws IOException {
+      String line = in.readLine();
+      if (line == null) {
+        throw new IOException("Connection to " + socket.getRemoteSocketAddress() + " closed unexpectedly");
+      }
+      return line;
+    }
+
+    void close() throws IOException {
+      socket.close();
+    }
+
+    SocketAddress getRemoteAddress() {
+      return socket.getRemoteSocketAddress();
+    }
+
+    void expect(String message) throws IOException {
+      String line = read();
+      if (!line.equals(message)) {
+        throw new IOException("Expected " + message + " but got " + line);
+      }
+    }
+  }
+
+  private static List<Process> spawnWorkers(String[] args, int count, ServerSocket server) throws IOException {
+    String host = "localhost";
+    if (!server.getInetAddress().isAnyLocalAddress()) {
+      host = server.getInetAddress().getHostAddress();
+    }
+    List<Process> spawned = new ArrayList<>(count);
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    for (int i = 0; i < count; i++) {
+      List<String> command = new ArrayList<>();
+      command.add(java);
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add(Client.class.getName());
+      command.addAll(Arrays.asList(args));
+      command.add("-p");
+      command.add(ADDRESS_PROPERTY + "=" + host + ":" + server.getLocalPort());
+      spawned.add(new ProcessBuilder(command).inheritIO().start());
+    }
+    return spawned;
+  }
+
+  public static void main(String[] args) {
+    Properties props = Client.parseArguments(args);
+    String type = props.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    if (!type.equals("hdrhistogram")) {
+      System.err.println("The coordinator merges HdrHistograms and needs "
+          + Measurements.MEASUREMENT_TYPE_PROPERTY + "=hdrhistogram, not " + type);
+      System.exit(1);
+    }
+    int workers = Integer.parseInt(props.getProperty(WORKERS_PROPERTY, "1"));
+    int port = Integer.parseInt(props.getProperty(PORT_PROPERTY, PORT_PROPERTY_DEFAULT));
+    int spawn = Integer.parseInt(props.getProperty(SPAWN_PROPERTY, SPAWN_PROPERTY_DEFAULT));
+    String bind = props.getProperty(BIND_PROPERTY, BIND_PROPERTY_DEFAULT);
+    int timeout = Integer.parseInt(props.getProperty(ACCEPT_TIMEOUT_PROPERTY, ACCEPT_TIMEOUT_PROPERTY_DEFAULT));
+
+    Coordinator coordinator = new Coordinator(props, workers);
+    try (ServerSocket server = new ServerSocket(port, workers, InetAddress.getByName(bind))) {
+      server.setSoTimeout(timeout * 1000);
+      System.err.println("Coordinator waiting for " + workers + " workers on "
+          + server.getInetAddress().getHostAddress() + ":" + server.getLocalPort());
+      List<Process> spawned = spawnWorkers(args, Math.min(spawn, workers), server);
+      coordinator.run(server);
+      for (Process p : spawned) {
+        p.waitFor();
+      }
+    } catch (IOException e) {
+      System.err.println("Coordinated run failed: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.exit(1);
+    }
+
+    try (MeasurementsExporter exporter = Client.openExporter(props)) {
+      coordinator.export(exporter);
+    } catch (IOException e) {
+      System.err.println("Could not export measurements, error: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(-1);
+    }
+    System.exit(0);
+  }
+}
@@ -22,7 +22,8 @@ import org.apache.htrace.core.Tracer;
 import java.util.Properties;
 
 /**
- * Creates a DB layer by dynamically classloading the specified DB class.
+ * Creates a DB layer by dynamically classloading the specified DB class. Classes extending
+ * {@link AsyncDB} are adapted to {@link DB} through an {@link AsyncDBAdapter}.
  */
 public final class DBFactory {
   private DBFactory() {
@@ -32,20 +33,29 @@ public final class DBFactory {
   public static DB newDB(String dbname, Properties properties, final Tracer tracer) throws UnknownDBException {
     ClassLoader classLoader = DBFactory.class.getClassLoader();
 
-    DB ret;
+    Object ret;
 
     try {
       Class dbclass = classLoader.loadClass(dbname);
 
-      ret = (DB) dbclass.newInstance();
+      ret = dbclass.newInstance();
     } catch (Exception e) {
       e.printStackTrace();
       return null;
     }
 
-    ret.setProperties(properties);
+    if (ret instanceof AsyncDB) {
+      AsyncDB asyncdb = (AsyncDB) ret;
+      asyncdb.setProperties(properties);
+      int window = Integer.parseInt(properties.getProperty(AsyncDBAdapter.WINDOW_PROPERTY,
+          AsyncDBAdapter.WINDOW_PROPERTY_DEFAULT));
+      return new AsyncDBAdapter(new AsyncDBWrapper(asyncdb, tracer), window);
+    }
+
+    DB db = (DB) ret;
+    db.setProperties(properties);
 
-    return new DBWrapper(ret, tracer);
+    return new DBWrapper(db, tracer);
   }
 
 }
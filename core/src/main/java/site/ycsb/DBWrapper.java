@@ -18,6 +18,8 @@
 package site.ycsb;
 
 import java.util.Map;
+import site.ycsb.OperationMeasurements.Operation;
+import site.ycsb.measurements.ClientResourceUsage;
 import site.ycsb.measurements.Measurements;
 import org.apache.htrace.core.TraceScope;
 import org.apache.htrace.core.Tracer;
@@ -32,9 +34,13 @@ public class DBWrapper extends DB {
   private final DB db;
   private final Measurements measurements;
   private final Tracer tracer;
+  private final ClientResourceUsage resourceUsage;
 
   private boolean reportLatencyForEachError = false;
   private Set<String> latencyTrackedErrors = new HashSet<String>();
+  private OperationMeasurements handles;
+  private boolean timePhases = false;
+  private FlightRecorderEvents events;
 
   private static final String REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY = "reportlatencyforeacherror";
   private static final String REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY_DEFAULT = "false";
@@ -53,6 +59,8 @@ public class DBWrapper extends DB {
     this.db = db;
     measurements = Measurements.getMeasurements();
     this.tracer = tracer;
+    resourceUsage = measurements.getResourceUsage();
+    handles = new OperationMeasurements(measurements, reportLatencyForEachError, latencyTrackedErrors);
     final String simple = db.getClass().getSimpleName();
     scopeStringCleanup = simple + "#cleanup";
     scopeStringDelete = simple + "#delete";
@@ -96,6 +104,10 @@ public class DBWrapper extends DB {
               latencyTrackedErrorsProperty.split(",")));
         }
       }
+      handles = new OperationMeasurements(measurements, reportLatencyForEachError, latencyTrackedErrors);
+      events = FlightRecorderEvents.getCurrent();
+      timePhases = Boolean.parseBoolean(getProperties().getProperty(OperationPhases.PHASES_PROPERTY,
+          OperationPhases.PHASES_PROPERTY_DEFAULT));
 
       System.err.println("DBWrapper: report latency for each error is " +
           this.reportLatencyForEachError + " and specific error codes to track" +
@@ -113,7 +125,7 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       db.cleanup();
       long en = System.nanoTime();
-      measure("CLEANUP", Status.OK, ist, st, en);
+      handles.measure(Operation.CLEANUP, Status.OK, ist, st, en);
     }
   }
 
@@ -131,11 +143,17 @@ public class DBWrapper extends DB {
                      Map<String, ByteIterator> result) {
     try (final TraceScope span = tracer.newScope(scopeStringRead)) {
       long ist = measurements.getIntendedtartTimeNs();
+      OperationPhases phases = beginPhases();
+      Object event = beginEvent();
+      startResourceUsage();
       long st = System.nanoTime();
       Status res = db.read(table, key, fields, result);
       long en = System.nanoTime();
-      measure("READ", res, ist, st, en);
-      measurements.reportStatus("READ", res);
+      endResourceUsage(Operation.READ);
+      endEvent(event, Operation.READ, table, key, res, en - st, intendedDelay(ist, st));
+      endPhases(Operation.READ, phases, en);
+      handles.measure(Operation.READ, res, ist, st, en);
+      handles.reportStatus(Operation.READ, res);
       return res;
     }
   }
@@ -155,32 +173,21 @@ public class DBWrapper extends DB {
                      Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
     try (final TraceScope span = tracer.newScope(scopeStringScan)) {
       long ist = measurements.getIntendedtartTimeNs();
+      OperationPhases phases = beginPhases();
+      Object event = beginEvent();
+      startResourceUsage();
       long st = System.nanoTime();
       Status res = db.scan(table, startkey, recordcount, fields, result);
       long en = System.nanoTime();
-      measure("SCAN", res, ist, st, en);
-      measurements.reportStatus("SCAN", res);
+      endResourceUsage(Operation.SCAN);
+      endEvent(event, Operation.SCAN, table, startkey, res, en - st, intendedDelay(ist, st));
+      endPhases(Operation.SCAN, phases, en);
+      handles.measure(Operation.SCAN, res, ist, st, en);
+      handles.reportStatus(Operation.SCAN, res);
       return res;
     }
   }
 
-  private void measure(String op, Status result, long intendedStartTimeNanos,
-                       long startTimeNanos, long endTimeNanos) {
-    String measurementName = op;
-    if (result == null || !result.isOk()) {
-      if (this.reportLatencyForEachError ||
-          this.latencyTrackedErrors.contains(result.getName())) {
-        measurementName = op + "-" + result.getName();
-      } else {
-        measurementName = op + "-FAILED";
-      }
-    }
-    measurements.measure(measurementName,
-        (int) ((endTimeNanos - startTimeNanos) / 1000));
-    measurements.measureIntended(measurementName,
-        (int) ((endTimeNanos - intendedStartTimeNanos) / 1000));
-  }
-
   /**
    * Update a record in the database. Any field/value pairs in the specified values HashMap will be written into the
    * record with the specified record key, overwriting any existing values with the same field name.
@@ -194,11 +201,17 @@ public class DBWrapper extends DB {
                        Map<String, ByteIterator> values) {
     try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
       long ist = measurements.getIntendedtartTimeNs();
+      OperationPhases phases = beginPhases();
+      Object event = beginEvent();
+      startResourceUsage();
       long st = System.nanoTime();
       Status res = db.update(table, key, values);
       long en = System.nanoTime();
-      measure("UPDATE", res, ist, st, en);
-      measurements.reportStatus("UPDATE", res);
+      endResourceUsage(Operation.UPDATE);
+      endEvent(event, Operation.UPDATE, table, key, res, en - st, intendedDelay(ist, st));
+      endPhases(Operation.UPDATE, phases, en);
+      handles.measure(Operation.UPDATE, res, ist, st, en);
+      handles.reportStatus(Operation.UPDATE, res);
       return res;
     }
   }
@@ -217,11 +230,17 @@ public class DBWrapper extends DB {
                        Map<String, ByteIterator> values) {
     try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
       long ist = measurements.getIntendedtartTimeNs();
+      OperationPhases phases = beginPhases();
+      Object event = beginEvent();
+      startResourceUsage();
       long st = System.nanoTime();
       Status res = db.insert(table, key, values);
       long en = System.nanoTime();
-      measure("INSERT", res, ist, st, en);
-      measurements.reportStatus("INSERT", res);
+      endResourceUsage(Operation.INSERT);
+      endEvent(event, Operation.INSERT, table, key, res, en - st, intendedDelay(ist, st));
+      endPhases(Operation.INSERT, phases, en);
+      handles.measure(Operation.INSERT, res, ist, st, en);
+      handles.reportStatus(Operation.INSERT, res);
       return res;
     }
   }
@@ -236,12 +255,74 @@ public class DBWrapper extends DB {
   public Status delete(String table, String key) {
     try (final TraceScope span = tracer.newScope(scopeStringDelete)) {
       long ist = measurements.getIntendedtartTimeNs();
+      OperationPhases phases = beginPhases();
+      Object event = beginEvent();
+      startResourceUsage();
       long st = System.nanoTime();
       Status res = db.delete(table, key);
       long en = System.nanoTime();
-      measure("DELETE", res, ist, st, en);
-      measurements.reportStatus("DELETE", res);
+      endResourceUsage(Operation.DELETE);
+      endEvent(event, Operation.DELETE, table, key, res, en - st, intendedDelay(ist, st));
+      endPhases(Operation.DELETE, phases, en);
+      handles.measure(Operation.DELETE, res, ist, st, en);
+      handles.reportStatus(Operation.DELETE, res);
       return res;
     }
   }
+
+  /**
+   * Start timing the phases the binding marks, if enabled.
+   *
+   * @return The phases of the operation, or null if phases are not timed.
+   */
+  private OperationPhases beginPhases() {
+    if (!timePhases) {
+      return null;
+    }
+    return OperationPhases.begin();
+  }
+
+  private void endPhases(Operation op, OperationPhases phases, long endTimeNanos) {
+    if (phases != null) {
+      phases.finish(endTimeNanos);
+      handles.measurePhases(op, phases);
+    }
+  }
+
+  private void startResourceUsage() {
+    if (resourceUsage != null) {
+      resourceUsage.startOperation();
+    }
+  }
+
+  private void endResourceUsage(Operation op) {
+    if (resourceUsage != null) {
+      resourceUsage.endOperation(op.name());
+    }
+  }
+
+  private Object beginEvent() {
+    if (events == null) {
+      return null;
+    }
+    return events.begin();
+  }
+
+  private void endEvent(Object event, Operation op, String table, String key, Status res, long latency,
+                        long intendedDelay) {
+    if (event != null) {
+      events.commit(event, op.name(), table, key, res, latency, intendedDelay);
+    }
+  }
+
+  /**
+   * @return The time from the intended start of an operation to its start, or 0 if the intended
+   * start is not measured.
+   */
+  private static long intendedDelay(long ist, long st) {
+    if (ist == 0) {
+      return 0;
+    }
+    return st - ist;
+  }
 }
@@ -0,0 +1,300 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits a Java Flight Recorder event for each DB operation, so slow operations line up with GC
+ * pauses, safepoints and lock contention in the client on one timeline in JDK Mission Control.
+ *
+ * Enabled with "jfr=true", which also records the run to "jfr.file" with the JFR settings named by
+ * "jfr.settings" ("default" or "profile"). The events, named {@value #EVENT_NAME}, carry the
+ * operation, table, key hash, return code, latency and the delay from the intended start to the
+ * actual start (0 unless "measurement.interval" measures the intended start); their duration spans
+ * the DB call. With "jfr.threshold" set to a number of microseconds, only operations at least that
+ * slow are emitted. No event is created while no recording takes them. Recordings started by other
+ * means, e.g. -XX:StartFlightRecording, see the events too.
+ *
+ * JFR is used through method handles resolved once, as YCSB still runs on Java 8; the events need
+ * a JVM that has jdk.jfr.EventFactory (Java 12 and later). On older JVMs a warning is printed and
+ * the run goes on without events.
+ */
+public final class FlightRecorderEvents {
+  /**
+   * Whether to emit events and record the run.
+   */
+  public static final String ENABLED_PROPERTY = "jfr";
+
+  /**
+   * The default, which emits no events.
+   */
+  public static final String ENABLED_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The file the recording is written to at the end of the run.
+   */
+  public static final String FILE_PROPERTY = "jfr.file";
+
+  /**
+   * The default recording file.
+   */
+  public static final String FILE_PROPERTY_DEFAULT = "ycsb.jfr";
+
+  /**
+   * The JFR settings to record with.
+   */
+  public static final String SETTINGS_PROPERTY = "jfr.settings";
+
+  /**
+   * The default settings, which are cheap enough for production.
+   */
+  public static final String SETTINGS_PROPERTY_DEFAULT = "default";
+
+  /**
+   * The latency in microseconds below which operations are not emitted.
+   */
+  public static final String THRESHOLD_PROPERTY = "jfr.threshold";
+
+  /**
+   * The default threshold, which emits every operation.
+   */
+  public static final String THRESHOLD_PROPERTY_DEFAULT = "0";
+
+  /** The name of the events. */
+  public static final String EVENT_NAME = "site.ycsb.Operation";
+
+  private static volatile FlightRecorderEvents current;
+
+  private static final MethodType EVENT_ACTION = MethodType.methodType(void.class, Object.class);
+
+  /** () -> boolean, bound to the event type. */
+  private final MethodHandle isEnabled;
+  /** () -> Object, bound to the event factory. */
+  private final MethodHandle newEvent;
+  /** (Object) -> boolean. */
+  private final MethodHandle shouldCommit;
+  /** (Object) -> void. */
+  private final MethodHandle begin;
+  /** (Object) -> void. */
+  private final MethodHandle end;
+  /** (Object) -> void. */
+  private final MethodHandle commit;
+  /** (Object, int, Object) -> void. */
+  private final MethodHandle set;
+  private final long thresholdNanos;
+
+  private Object recording;
+  private Path file;
+
+  /**
+   * Define the event type.
+   *
+   * @param props The client properties.
+   * @throws ReflectiveOperationException if the JVM cannot define events at run time.
+   */
+  FlightRecorderEvents(Properties props) throws ReflectiveOperationException {
+    thresholdNanos = TimeUnit.MICROSECONDS.toNanos(Long.parseLong(props.getProperty(THRESHOLD_PROPERTY,
+        THRESHOLD_PROPERTY_DEFAULT)));
+
+    List<Object> eventAnnotations = new ArrayList<>();
+    eventAnnotations.add(annotation("jdk.jfr.Name", EVENT_NAME));
+    eventAnnotations.add(annotation("jdk.jfr.Label", "YCSB Operation"));
+    eventAnnotations.add(annotation("jdk.jfr.Category", new String[] {"YCSB"}));
+    eventAnnotations.add(annotation("jdk.jfr.Description", "A DB operation of a YCSB client thread"));
+    eventAnnotations.add(annotation("jdk.jfr.StackTrace", false));
+    // lets JFR itself drop faster operations before their fields are set
+    eventAnnotations.add(annotation("jdk.jfr.Threshold", thresholdNanos + " ns"));
+
+    List<Object> fields = new ArrayList<>();
+    fields.add(field(String.class, "operation", "Operation", null));
+    fields.add(field(String.class, "table", "Table", null));
+    fields.add(field(int.class, "keyHash", "Key Hash", null));
+    fields.add(field(String.class, "status", "Status", null));
+    fields.add(field(long.class, "latency", "Latency", "NANOSECONDS"));
+    fields.add(field(long.class, "intendedStartDelay", "Intended Start Delay", "NANOSECONDS"));
+
+    Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+    Object factory = factoryClass.getMethod("create", List.class, List.class).invoke(null, eventAnnotations, fields);
+    Object eventType = factoryClass.getMethod("getEventType").invoke(factory);
+
+    // typed handles are called with invokeExact, without argument arrays or boxed results
+    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    Class<?> eventClass = Class.forName("jdk.jfr.Event");
+    isEnabled = lookup.unreflect(Class.forName("jdk.jfr.EventType").getMethod("isEnabled")).bindTo(eventType);
+    newEvent = lookup.unreflect(factoryClass.getMethod("newEvent")).bindTo(factory)
+        .asType(MethodType.methodType(Object.class));
+    shouldCommit = lookup.unreflect(eventClass.getMethod("shouldCommit"))
+        .asType(MethodType.methodType(boolean.class, Object.class));
+    begin = lookup.unreflect(eventClass.getMethod("begin")).asType(EVENT_ACTION);
+    end = lookup.unreflect(eventClass.getMethod("end")).asType(EVENT_ACTION);
+    commit = lookup.unreflect(eventClass.getMethod("commit")).asType(EVENT_ACTION);
+    set = lookup.unreflect(eventClass.getMethod("set", int.class, Object.class))
+        .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+  }
+
+  private static Object annotation(String type, Object value) throws ReflectiveOperationException {
+    Constructor<?> c = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+    return c.newInstance(Class.forName(type).asSubclass(Annotation.class), value);
+  }
+
+  private static Object field(Class<?> type, String name, String label, String timespan)
+      throws ReflectiveOperationException {
+    List<Object> annotations = new ArrayList<>();
+    annotations.add(annotation("jdk.jfr.Label", label));
+    if (timespan != null) {
+      annotations.add(annotation("jdk.jfr.Timespan", timespan));
+    }
+    Constructor<?> c = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class,
+        List.class);
+    return c.newInstance(type, name, Collections.unmodifiableList(annotations));
+  }
+
+  /**
+   * Start emitting events and recording, if configured.
+   *
+   * @param props The client properties.
+   * @return The events, or null if they are not enabled or not supported by the JVM.
+   */
+  public static FlightRecorderEvents start(Properties props) {
+    if (!Boolean.parseBoolean(props.getProperty(ENABLED_PROPERTY, ENABLED_PROPERTY_DEFAULT))) {
+      return null;
+    }
+    try {
+      FlightRecorderEvents events = new FlightRecorderEvents(props);
+      events.startRecording(props.getProperty(SETTINGS_PROPERTY, SETTINGS_PROPERTY_DEFAULT),
+          Paths.get(props.getProperty(FILE_PROPERTY, FILE_PROPERTY_DEFAULT)));
+      current = events;
+      return events;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      System.err.println("WARNING: Java Flight Recorder events need a JVM with jdk.jfr.EventFactory (Java 12+),"
+          + " running without them: " + e);
+      return null;
+    }
+  }
+
+  /**
+   * @return The events started for this run, or null if there are none.
+   */
+  static FlightRecorderEvents getCurrent() {
+    return current;
+  }
+
+  private void startRecording(String settings, Path destination) throws ReflectiveOperationException {
+    Object configuration = Class.forName("jdk.jfr.Configuration").getMethod("getConfiguration", String.class)
+        .invoke(null, settings);
+    Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+    recording = recordingClass.getConstructor(configuration.getClass()).newInstance(configuration);
+    recordingClass.getMethod("setName", String.class).invoke(recording, "YCSB");
+    recordingClass.getMethod("start").invoke(recording);
+    file = destination;
+  }
+
+  /**
+   * Stop recording and write the recording to its file.
+   */
+  public void stop() {
+    current = null;
+    if (recording == null) {
+      return;
+    }
+    try {
+      Class<?> recordingClass = recording.getClass();
+      recordingClass.getMethod("stop").invoke(recording);
+      recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+      recordingClass.getMethod("close").invoke(recording);
+      System.err.println("Flight recording written to " + file.toAbsolutePath());
+    } catch (ReflectiveOperationException e) {
+      System.err.println("Could not write the flight recording to " + file + ": " + e);
+    }
+    recording = null;
+  }
+
+  /**
+   * Start the event of an operation about to be done.
+   *
+   * @return The event, to {@link #commit} once the operation returned, or null if no recording
+   * takes the events.
+   */
+  Object begin() {
+    try {
+      if (!(boolean) isEnabled.invokeExact()) {
+        return null;
+      }
+      Object event = (Object) newEvent.invokeExact();
+      begin.invokeExact(event);
+      return event;
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  /**
+   * End the event of an operation and emit it, unless the operation was faster than the threshold.
+   *
+   * @param event              The event {@link #begin()} returned.
+   * @param operation          The operation, e.g. "READ".
+   * @param table              The table operated on.
+   * @param key                The (first) key operated on.
+   * @param status             The return code.
+   * @param latencyNanos       The latency of the operation.
+   * @param intendedDelayNanos The time from the intended start of the operation to its start, or 0.
+   */
+  void commit(Object event, String operation, String table, String key, Status status, long latencyNanos,
+              long intendedDelayNanos) {
+    try {
+      end.invokeExact(event);
+      if (latencyNanos < thresholdNanos || !(boolean) shouldCommit.invokeExact(event)) {
+        return;
+      }
+      // only events that are emitted get their fields set, which EventFactory events take boxed
+      set.invokeExact(event, 0, (Object) operation);
+      set.invokeExact(event, 1, (Object) table);
+      set.invokeExact(event, 2, (Object) Integer.valueOf(key.hashCode()));
+      if (status != null) {
+        set.invokeExact(event, 3, (Object) status.getName());
+      }
+      set.invokeExact(event, 4, (Object) Long.valueOf(latencyNanos));
+      set.invokeExact(event, 5, (Object) Long.valueOf(intendedDelayNanos));
+      commit.invokeExact(event);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable t) {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    return new IllegalStateException(t);
+  }
+}
@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.HistogramCodec;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Merges the interval logs written with "hdrhistogram.fileoutput=true" and reports on them.
+ *
+ * Usage: HdrHistogramLogReport [-from seconds] [-to seconds] [-interval seconds] [-csv file]
+ * [-p name=value]... file.hdr...
+ *
+ * Logs of the same measurement, e.g. from several client processes or several runs, are merged
+ * by adding their histograms, never by averaging percentiles. Only intervals starting between
+ * -from and -to seconds after the start of their log are used, so a warm-up can be left out.
+ * The merged histogram of each measurement is written like a client run would, using the
+ * "exporter" and "exportfile" properties. The CSV has the count, mean, minimum, maximum and
+ * percentiles of each measurement per slot of -interval seconds (by default the interval length
+ * of the first log), merging the intervals of all logs that start in the same slot.
+ *
+ * The logs are parsed here rather than with HdrHistogram's HistogramLogReader, whose Base64
+ * decoding in the HdrHistogram version YCSB uses needs javax.xml.bind, which newer JVMs lack.
+ */
+public final class HdrHistogramLogReport {
+  private static final String NAME_COMMENT = "#[Logging for: ";
+  private static final String START_TIME_COMMENT = "#[StartTime: ";
+  private static final String BASE_TIME_COMMENT = "#[BaseTime: ";
+
+  /**
+   * One interval of a log.
+   */
+  static final class Interval {
+    private final String name;
+    private final double start;
+    private final double length;
+    private final Histogram histogram;
+
+    /**
+     * @param name      The measurement name.
+     * @param start     The start, in seconds since the start of the log.
+     * @param length    The length, in seconds.
+     * @param histogram The latencies recorded during the interval.
+     */
+    Interval(String name, double start, double length, Histogram histogram) {
+      this.name = name;
+      this.start = start;
+      this.length = length;
+      this.histogram = histogram;
+    }
+  }
+
+  private final double from;
+  private final double to;
+  private final List<Interval> intervals = new ArrayList<>();
+  private long slotLength;
+
+  /**
+   * @param from       Intervals starting earlier, in seconds since the start of their log, are left out.
+   * @param to         Intervals starting at or after this time are left out.
+   * @param slotLength The length of the CSV slots in whole seconds, or 0 for the interval length of the
+   *                   first log.
+   */
+  HdrHistogramLogReport(double from, double to, long slotLength) {
+    this.from = from;
+    this.to = to;
+    this.slotLength = slotLength;
+  }
+
+  /**
+   * Read the intervals of a log.
+   *
+   * @param log The log file.
+   * @return All intervals of the log.
+   */
+  static List<Interval> readLog(File log) throws IOException {
+    String name = log.getName();
+    if (name.endsWith(".hdr")) {
+      name = name.substring(0, name.length() - ".hdr".length());
+    }
+    double startTime = 0;
+    double baseTime = Double.NaN;
+    List<Interval> read = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(log),
+        StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(NAME_COMMENT)) {
+          name = line.substring(NAME_COMMENT.length(), line.lastIndexOf(']'));
+        } else if (line.startsWith(START_TIME_COMMENT)) {
+          startTime = leadingNumber(line.substring(START_TIME_COMMENT.length()));
+        } else if (line.startsWith(BASE_TIME_COMMENT)) {
+          baseTime = leadingNumber(line.substring(BASE_TIME_COMMENT.length()));
+        } else if (!line.isEmpty() && !line.startsWith("#") && !line.startsWith("\"")) {
+          String[] fields = line.split(",");
+          int first = 0;
+          if (fields[0].startsWith("Tag=")) {
+            first = 1;
+          }
+          if (fields.length < first + 4) {
+            throw new IOException("Malformed interval in " + log + ": " + line);
+          }
+          double timestamp = Double.parseDouble(fields[first]);
+          double length = Double.parseDouble(fields[first + 1]);
+          // timestamps are relative to the base time, which YCSB sets to the start time
+          if (!Double.isNaN(baseTime)) {
+            timestamp += baseTime - startTime;
+          }
+          read.add(new Interval(name, timestamp, length, HistogramCodec.decode(fields[first + 3])));
+        }
+      }
+    }
+    return read;
+  }
+
+  private static double leadingNumber(String s) {
+    int end = s.indexOf(' ');
+    if (end < 0) {
+      end = s.length();
+    }
+    return Double.parseDouble(s.substring(0, end));
+  }
+
+  /**
+   * Add the intervals of a log that start within the time window.
+   */
+  void add(File log) throws IOException {
+    for (Interval interval : readLog(log)) {
+      if (slotLength <= 0) {
+        slotLength = Math.max(Math.round(interval.length), 1);
+      }
+      if (interval.start >= from && interval.start < to) {
+        intervals.add(interval);
+      }
+    }
+  }
+
+  /**
+   * @return The merged latencies of each measurement, by name.
+   */
+  Map<String, Histogram> getTotals() {
+    Map<String, Histogram> totals = new TreeMap<>();
+    for (Interval interval : intervals) {
+      merge(totals, interval.name, interval.histogram);
+    }
+    return totals;
+  }
+
+  /**
+   * @return The merged latencies of each measurement by slot, keyed by the slot start in seconds.
+   */
+  Map<Long, Map<String, Histogram>> getSlots() {
+    Map<Long, Map<String, Histogram>> slots = new TreeMap<>();
+    for (Interval interval : intervals) {
+      // rounded, as logs of clients started a moment apart do not share interval boundaries
+      long slot = Math.round(interval.start / slotLength) * slotLength;
+      Map<String, Histogram> slotTotals = slots.get(slot);
+      if (slotTotals == null) {
+        slotTotals = new TreeMap<>();
+        slots.put(slot, slotTotals);
+      }
+      merge(slotTotals, interval.name, interval.histogram);
+    }
+    return slots;
+  }
+
+  private static void merge(Map<String, Histogram> totals, String name, Histogram h) {
+    Histogram total = totals.get(name);
+    if (total == null) {
+      // auto-resizing, as later intervals may hold larger values than the first
+      total = new Histogram(h.getNumberOfSignificantValueDigits());
+      totals.put(name, total);
+    }
+    total.add(h);
+  }
+
+  /**
+   * Export the merged latencies of every measurement.
+   */
+  void export(Properties props, MeasurementsExporter exporter) throws IOException {
+    Properties reportProps = new Properties();
+    reportProps.putAll(props);
+    reportProps.remove("hdrhistogram.fileoutput");
+    for (Map.Entry<String, Histogram> entry : getTotals().entrySet()) {
+      OneMeasurementHdrHistogram m = new OneMeasurementHdrHistogram(entry.getKey(), reportProps);
+      m.add(entry.getValue());
+      m.exportMeasurements(exporter);
+    }
+  }
+
+  /**
+   * Write the percentiles of each measurement per slot.
+   *
+   * @param percentiles The percentiles to write.
+   * @param unit        The latency unit, for the header.
+   * @param csv         Where to write.
+   */
+  void writeCsv(List<Double> percentiles, String unit, Writer csv) throws IOException {
+    StringBuilder header = new StringBuilder("measurement,start(s),count");
+    for (String column : new String[] {"mean", "min", "max"}) {
+      header.append(',').append(column).append('(').append(unit).append(')');
+    }
+    for (double p : percentiles) {
+      header.append(",p").append(formatPercentile(p)).append('(').append(unit).append(')');
+    }
+    csv.write(header.append('\n').toString());
+    for (Map.Entry<Long, Map<String, Histogram>> slot : getSlots().entrySet()) {
+      for (Map.Entry<String, Histogram> entry : slot.getValue().entrySet()) {
+        Histogram h = entry.getValue();
+        StringBuilder row = new StringBuilder();
+        row.append(entry.getKey()).append(',').append(slot.getKey()).append(',').append(h.getTotalCount())
+            .append(',').append(String.format(Locale.ROOT, "%.2f", h.getMean()))
+            .append(',').append(h.getMinValue()).append(',').append(h.getMaxValue());
+        for (double p : percentiles) {
+          row.append(',').append(h.getValueAtPercentile(p));
+        }
+        csv.write(row.append('\n').toString());
+      }
+    }
+  }
+
+  private static String formatPercentile(double p) {
+    if (p == Math.rint(p)) {
+      return Long.toString((long) p);
+    }
+    return Double.toString(p);
+  }
+
+  private static void usage() {
+    System.err.println("Usage: java " + HdrHistogramLogReport.class.getName()
+        + " [-from seconds] [-to seconds] [-interval seconds] [-csv file] [-p name=value]... file.hdr...");
+    System.err.println("  -from, -to:  only use intervals starting in this window after the start of their log");
+    System.err.println("  -interval:  the length of the CSV slots in whole seconds, by default that of the"
+        + " logged intervals");
+    System.err.println("  -csv file:  write percentiles per slot to a CSV file");
+    System.err.println("  -p name=value:  set a property, such as hdrhistogram.percentiles, exporter, exportfile"
+        + " or measurement.latencyunit");
+    System.exit(1);
+  }
+
+  public static void main(String[] args) throws IOException {
+    double from = 0;
+    double to = Double.POSITIVE_INFINITY;
+    long interval = 0;
+    String csvFile = null;
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementHdrHistogram.PERCENTILES_PROPERTY, RawLatencyLogReport.PERCENTILES_DEFAULT);
+    int i = 0;
+    while (i < args.length && args[i].startsWith("-")) {
+      if (i + 1 >= args.length) {
+        usage();
+      }
+      String value = args[i + 1];
+      switch (args[i]) {
+      case "-from":
+        from = Double.parseDouble(value);
+        break;
+      case "-to":
+        to = Double.parseDouble(value);
+        break;
+      case "-interval":
+        interval = Long.parseLong(value);
+        break;
+      case "-csv":
+        csvFile = value;
+        break;
+      case "-p":
+        int eq = value.indexOf('=');
+        if (eq <= 0) {
+          usage();
+        }
+        props.setProperty(value.substring(0, eq), value.substring(eq + 1));
+        break;
+      default:
+        usage();
+      }
+      i += 2;
+    }
+    if (i == args.length) {
+      usage();
+    }
+
+    HdrHistogramLogReport report = new HdrHistogramLogReport(from, to, interval);
+    for (; i < args.length; i++) {
+      report.add(new File(args[i]));
+    }
+    try (MeasurementsExporter exporter = Client.openExporter(props)) {
+      report.export(props, exporter);
+    }
+    if (csvFile != null) {
+      List<Double> percentiles = new ArrayList<>();
+      for (String p : props.getProperty(OneMeasurementHdrHistogram.PERCENTILES_PROPERTY).split(",")) {
+        percentiles.add(Double.parseDouble(p.trim()));
+      }
+      String unit = props.getProperty(OneMeasurement.LATENCY_UNIT_PROPERTY,
+          OneMeasurement.LATENCY_UNIT_PROPERTY_DEFAULT);
+      try (Writer csv = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(csvFile),
+          StandardCharsets.UTF_8))) {
+        report.writeCsv(percentiles, unit, csv);
+      }
+    }
+  }
+}
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Serves the live state of a run over HTTP in the Prometheus text exposition format, so a long
+ * benchmark can be scraped into the same dashboards as the database under test.
+ *
+ * Enabled by setting "metrics.port"; the endpoint listens on "metrics.address" (localhost by
+ * default) at {@value #PATH}. Each scrape reports:
+ * <UL>
+ * <LI>the operations done by all client threads, and the throughput since the previous scrape
+ * <LI>for each measurement that keeps a histogram (the default hdrhistogram type), the latency
+ * percentiles in "metrics.percentiles" over the whole run as a summary, and over the time since
+ * the previous scrape as a gauge, in seconds
+ * <LI>the return codes counted for each measurement
+ * <LI>the JVM statistics the status thread tracks: threads, used memory, system load and GC
+ * </UL>
+ */
+public final class MetricsEndpoint {
+  /**
+   * The port to serve metrics on. Metrics are not served if it is not set.
+   */
+  public static final String PORT_PROPERTY = "metrics.port";
+
+  /**
+   * The address to serve metrics on.
+   */
+  public static final String ADDRESS_PROPERTY = "metrics.address";
+
+  /**
+   * The default address, which only accepts local scrapes.
+   */
+  public static final String ADDRESS_PROPERTY_DEFAULT = "localhost";
+
+  /**
+   * The latency percentiles to report, comma separated.
+   */
+  public static final String PERCENTILES_PROPERTY = "metrics.percentiles";
+
+  /**
+   * The default percentiles.
+   */
+  public static final String PERCENTILES_PROPERTY_DEFAULT = "50,90,95,99,99.9,99.99";
+
+  /** The path metrics are served at. */
+  public static final String PATH = "/metrics";
+
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final HttpServer server;
+  private final List<ClientThread> clients;
+  private final Measurements measurements;
+  private final double unitsPerSecond;
+  private final List<Double> percentiles = new ArrayList<>();
+
+  // what the previous scrape saw, to report the time since then
+  private long lastScrapeNanos;
+  private long lastOps = 0;
+  private final Map<String, Histogram> lastTotals = new HashMap<>();
+
+  /**
+   * Create a new endpoint. Call {@link #start()} to serve it.
+   *
+   * @param props        The client properties.
+   * @param clients      The client threads whose operations are counted.
+   * @param measurements Where latencies are recorded.
+   */
+  MetricsEndpoint(Properties props, List<ClientThread> clients, Measurements measurements) throws IOException {
+    this.clients = clients;
+    this.measurements = measurements;
+    if ("ns".equals(props.getProperty(OneMeasurement.LATENCY_UNIT_PROPERTY))) {
+      unitsPerSecond = 1e9;
+    } else {
+      unitsPerSecond = 1e6;
+    }
+    for (String p : props.getProperty(PERCENTILES_PROPERTY, PERCENTILES_PROPERTY_DEFAULT).split(",")) {
+      percentiles.add(Double.parseDouble(p.trim()));
+    }
+    int port = Integer.parseInt(props.getProperty(PORT_PROPERTY));
+    String address = props.getProperty(ADDRESS_PROPERTY, ADDRESS_PROPERTY_DEFAULT);
+    server = HttpServer.create(new InetSocketAddress(address, port), 0);
+    server.createContext(PATH, this::handle);
+    lastScrapeNanos = System.nanoTime();
+  }
+
+  /**
+   * Start serving metrics, if configured.
+   *
+   * @param props   The client properties.
+   * @param clients The client threads whose operations are counted.
+   * @return The running endpoint, or null if "metrics.port" is not set.
+   */
+  public static MetricsEndpoint start(Properties props, List<ClientThread> clients) {
+    if (props.getProperty(PORT_PROPERTY) == null) {
+      return null;
+    }
+    try {
+      MetricsEndpoint endpoint = new MetricsEndpoint(props, clients, Measurements.getMeasurements());
+      endpoint.start();
+      System.err.println("Serving metrics on http://" + props.getProperty(ADDRESS_PROPERTY, ADDRESS_PROPERTY_DEFAULT)
+          + ":" + endpoint.getPort() + PATH);
+      return endpoint;
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not serve metrics on port " + props.getProperty(PORT_PROPERTY), e);
+    }
+  }
+
+  void start() {
+    server.start();
+  }
+
+  /**
+   * @return The port metrics are served on.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stop serving metrics.
+   */
+  public void stop() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * @return The current metrics in the Prometheus text format.
+   */
+  synchronized String scrape() {
+    StringBuilder sb = new StringBuilder();
+    long now = System.nanoTime();
+    long ops = 0;
+    for (ClientThread t : clients) {
+      ops += t.getOpsDone();
+    }
+    family(sb, "ycsb_operations_total", "counter", "Operations completed by all client threads.");
+    sb.append("ycsb_operations_total ").append(ops).append('\n');
+    family(sb, "ycsb_throughput_ops_per_second", "gauge", "Operations per second since the previous scrape.");
+    double seconds = Math.max(now - lastScrapeNanos, 1) / 1e9;
+    sb.append("ycsb_throughput_ops_per_second ").append((ops - lastOps) / seconds).append('\n');
+    lastScrapeNanos = now;
+    lastOps = ops;
+
+    Map<String, Histogram> totals = new TreeMap<>();
+    Map<String, Map<String, Integer>> statuses = new TreeMap<>();
+    for (OneMeasurement m : measurements.getOneMeasurements()) {
+      Histogram h = m.getTotalHistogram();
+      if (h != null) {
+        totals.put(m.getName(), h);
+      }
+      Map<String, Integer> counts = m.getStatusCounts();
+      if (!counts.isEmpty()) {
+        statuses.put(m.getName(), new TreeMap<>(counts));
+      }
+    }
+    latencies(sb, totals);
+    family(sb, "ycsb_operation_status_total", "counter", "Operations by return code.");
+    for (Map.Entry<String, Map<String, Integer>> entry : statuses.entrySet()) {
+      for (Map.Entry<String, Integer> status : entry.getValue().entrySet()) {
+        sb.append("ycsb_operation_status_total{measurement=\"").append(escape(entry.getKey()))
+            .append("\",status=\"").append(escape(status.getKey())).append("\"} ").append(status.getValue())
+            .append('\n');
+      }
+    }
+    jvm(sb);
+    return sb.toString();
+  }
+
+  /**
+   * Write the percentiles of each measurement over the run and since the previous scrape.
+   */
+  private void latencies(StringBuilder sb, Map<String, Histogram> totals) {
+    family(sb, "ycsb_latency_seconds", "summary", "Operation latency over the whole run.");
+    for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+      Histogram h = entry.getValue();
+      String label = "measurement=\"" + escape(entry.getKey()) + "\"";
+      if (h.getTotalCount() > 0) {
+        quantiles(sb, "ycsb_latency_seconds", label, h);
+      }
+      sb.append("ycsb_latency_seconds_sum{").append(label).append("} ")
+          .append(h.getMean() * h.getTotalCount() / unitsPerSecond).append('\n');
+      sb.append("ycsb_latency_seconds_count{").append(label).append("} ").append(h.getTotalCount()).append('\n');
+    }
+    family(sb, "ycsb_interval_latency_seconds", "gauge", "Operation latency since the previous scrape.");
+    for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+      Histogram interval = entry.getValue().copy();
+      Histogram last = lastTotals.get(entry.getKey());
+      if (last != null) {
+        interval.subtract(last);
+      }
+      lastTotals.put(entry.getKey(), entry.getValue());
+      if (interval.getTotalCount() > 0) {
+        quantiles(sb, "ycsb_interval_latency_seconds", "measurement=\"" + escape(entry.getKey()) + "\"", interval);
+      }
+    }
+  }
+
+  private void quantiles(StringBuilder sb, String name, String label, Histogram h) {
+    for (double p : percentiles) {
+      String quantile = new BigDecimal(Double.toString(p)).movePointLeft(2).stripTrailingZeros().toPlainString();
+      sb.append(name).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+          .append(h.getValueAtPercentile(p) / unitsPerSecond).append('\n');
+    }
+  }
+
+  private static void jvm(StringBuilder sb) {
+    family(sb, "ycsb_jvm_threads", "gauge", "Active threads.");
+    sb.append("ycsb_jvm_threads ").append(Utils.getActiveThreadCount()).append('\n');
+    family(sb, "ycsb_jvm_memory_used_bytes", "gauge", "Used heap memory.");
+    sb.append("ycsb_jvm_memory_used_bytes ").append(Utils.getUsedMemoryBytes()).append('\n');
+    family(sb, "ycsb_system_load_average", "gauge", "System load average, negative if not available.");
+    sb.append("ycsb_system_load_average ").append(Utils.getSystemLoadAverage()).append('\n');
+    family(sb, "ycsb_jvm_gc_collections_total", "counter", "Garbage collections of all collectors.");
+    sb.append("ycsb_jvm_gc_collections_total ").append(Utils.getGCTotalCollectionCount()).append('\n');
+    family(sb, "ycsb_jvm_gc_time_seconds_total", "counter", "Time spent in garbage collection.");
+    sb.append("ycsb_jvm_gc_time_seconds_total ").append(Utils.getGCTotalTime() / 1000.0).append('\n');
+  }
+
+  private static void family(StringBuilder sb, String name, String type, String help) {
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static String escape(String label) {
+    return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.MeasurementHandle;
+import site.ycsb.measurements.Measurements;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The measurement handles a DB wrapper records into, indexed by operation.
+ *
+ * Successful operations are recorded under the operation name and failed ones under
+ * "OPERATION-FAILED", or "OPERATION-STATUS" if the status is tracked separately, matching the
+ * names {@link Measurements} has always exported. Each name is resolved to a handle the first
+ * time it is used; after that, recording a successful operation is a single array access.
+ * Safe for use from several threads, as completions of asynchronous operations may be.
+ */
+final class OperationMeasurements {
+  /** The operations of a {@link DB}. */
+  enum Operation {
+    READ,
+    SCAN,
+    UPDATE,
+    INSERT,
+    DELETE,
+    CLEANUP
+  }
+
+  private static final int OPERATIONS = Operation.values().length;
+
+  /**
+   * A phase and the handle its measurement was resolved to.
+   */
+  private static final class PhaseHandle {
+    private final String name;
+    private final MeasurementHandle handle;
+
+    PhaseHandle(String name, MeasurementHandle handle) {
+      this.name = name;
+      this.handle = handle;
+    }
+  }
+
+  private final Measurements measurements;
+  private final boolean reportLatencyForEachError;
+  private final Set<String> latencyTrackedErrors;
+
+  private final MeasurementHandle[] ok = new MeasurementHandle[OPERATIONS];
+  private final MeasurementHandle[] failed = new MeasurementHandle[OPERATIONS];
+  private final PhaseHandle[][] phaseHandles = new PhaseHandle[OPERATIONS][];
+  private final ConcurrentHashMap<String, MeasurementHandle> tracked = new ConcurrentHashMap<>();
+
+  /**
+   * @param measurements              Where to record.
+   * @param reportLatencyForEachError Whether every failing status gets a measurement of its own.
+   * @param latencyTrackedErrors      The names of failing statuses that get a measurement of their own.
+   */
+  OperationMeasurements(Measurements measurements, boolean reportLatencyForEachError,
+                        Set<String> latencyTrackedErrors) {
+    this.measurements = measurements;
+    this.reportLatencyForEachError = reportLatencyForEachError;
+    this.latencyTrackedErrors = latencyTrackedErrors;
+  }
+
+  /**
+   * Record the latencies of an operation.
+   */
+  void measure(Operation op, Status result, long intendedStartTimeNanos,
+               long startTimeNanos, long endTimeNanos) {
+    MeasurementHandle h = latencyHandle(op, result);
+    h.measureNanos(endTimeNanos - startTimeNanos, result);
+    h.measureIntendedNanos(endTimeNanos - intendedStartTimeNanos, result);
+  }
+
+  /**
+   * Record the time an operation spent in each phase its binding marked, under
+   * "OPERATION.phase".
+   */
+  void measurePhases(Operation op, OperationPhases phases) {
+    for (int i = 0; i < phases.size(); i++) {
+      phaseHandle(op, i, phases.getName(i)).measureNanos(phases.getNanos(i));
+    }
+  }
+
+  private MeasurementHandle phaseHandle(Operation op, int index, String name) {
+    // a binding marks the same phases in the same order every time, so a phase is cached by its position
+    PhaseHandle[] cached = phaseHandles[op.ordinal()];
+    if (cached != null && index < cached.length) {
+      PhaseHandle p = cached[index];
+      if (p != null && p.name.equals(name)) {
+        return p.handle;
+      }
+    }
+    if (cached == null) {
+      cached = new PhaseHandle[Math.max(4, index + 1)];
+    } else if (index >= cached.length) {
+      cached = Arrays.copyOf(cached, Math.max(2 * cached.length, index + 1));
+    }
+    MeasurementHandle h = trackedHandle(op.name() + "." + name);
+    cached[index] = new PhaseHandle(name, h);
+    phaseHandles[op.ordinal()] = cached;
+    return h;
+  }
+
+  /**
+   * Count the return code of an operation, always under the plain operation name.
+   */
+  void reportStatus(Operation op, Status result) {
+    okHandle(op).reportStatus(result);
+  }
+
+  private MeasurementHandle latencyHandle(Operation op, Status result) {
+    if (result != null && result.isOk()) {
+      return okHandle(op);
+    }
+    if (result == null) {
+      result = Status.ERROR;
+    }
+    if (reportLatencyForEachError || latencyTrackedErrors.contains(result.getName())) {
+      return trackedHandle(op.name() + "-" + result.getName());
+    }
+    MeasurementHandle h = failed[op.ordinal()];
+    if (h == null) {
+      // racing threads resolve the same handle, which is safe to publish through its final fields
+      h = measurements.getHandle(op.name() + "-FAILED");
+      failed[op.ordinal()] = h;
+    }
+    return h;
+  }
+
+  private MeasurementHandle trackedHandle(String name) {
+    MeasurementHandle h = tracked.get(name);
+    if (h == null) {
+      h = measurements.getHandle(name);
+      tracked.putIfAbsent(name, h);
+    }
+    return h;
+  }
+
+  private MeasurementHandle okHandle(Operation op) {
+    MeasurementHandle h = ok[op.ordinal()];
+    if (h == null) {
+      h = measurements.getHandle(op.name());
+      ok[op.ordinal()] = h;
+    }
+    return h;
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.Arrays;
+
+/**
+ * Times the phases of an operation, such as encoding a request, waiting for the server and
+ * decoding the response, so client-side costs can be told apart from server time.
+ *
+ * A binding marks where each phase starts from within the operation:
+ * <pre>
+ *   OperationPhases.phase("encode");
+ *   byte[] request = serialize(values);
+ *   OperationPhases.phase("rpc");
+ *   byte[] response = client.call(request);
+ *   OperationPhases.phase("decode");
+ *   ...
+ * </pre>
+ * A phase lasts until the next one starts, {@link #endPhase()} is called or the operation
+ * returns; time before the first phase is not attributed to any phase. A phase entered several
+ * times is summed. With "measurement.phases=true", the {@link DBWrapper} records each phase as a
+ * measurement of its own named after the operation and phase, e.g. "READ.encode". Otherwise, and
+ * outside of a DB call on the calling thread, marking a phase does nothing.
+ */
+public final class OperationPhases {
+  /**
+   * Whether to record the phases bindings mark.
+   */
+  public static final String PHASES_PROPERTY = "measurement.phases";
+
+  /**
+   * The default, which leaves phases unrecorded.
+   */
+  public static final String PHASES_PROPERTY_DEFAULT = "false";
+
+  private static final ThreadLocal<OperationPhases> CURRENT = new ThreadLocal<OperationPhases>() {
+    @Override
+    protected OperationPhases initialValue() {
+      return new OperationPhases();
+    }
+  };
+
+  private boolean active = false;
+  private String[] names = new String[4];
+  private long[] nanos = new long[4];
+  private int size = 0;
+  private int current = -1;
+  private long currentStartNanos;
+
+  private OperationPhases() {
+  }
+
+  /**
+   * End the current phase of the operation in progress on this thread, if any, and start the
+   * named one.
+   *
+   * @param name The phase, e.g. "encode", "rpc" or "decode".
+   */
+  public static void phase(String name) {
+    OperationPhases phases = CURRENT.get();
+    if (phases.active) {
+      phases.start(name, System.nanoTime());
+    }
+  }
+
+  /**
+   * End the current phase of the operation in progress on this thread, if any, without starting
+   * another one.
+   */
+  public static void endPhase() {
+    OperationPhases phases = CURRENT.get();
+    if (phases.active) {
+      phases.end(System.nanoTime());
+    }
+  }
+
+  /**
+   * Start timing the phases of an operation on this thread.
+   *
+   * @return The phases of the operation, to {@link #finish} once it returned.
+   */
+  static OperationPhases begin() {
+    OperationPhases phases = CURRENT.get();
+    phases.active = true;
+    phases.size = 0;
+    phases.current = -1;
+    return phases;
+  }
+
+  /**
+   * Stop timing the operation, ending its current phase.
+   *
+   * @param nowNanos The time the operation returned.
+   */
+  void finish(long nowNanos) {
+    end(nowNanos);
+    active = false;
+  }
+
+  /**
+   * @return The number of distinct phases of the operation.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return The name of the i-th phase, in the order phases were first entered.
+   */
+  String getName(int i) {
+    return names[i];
+  }
+
+  /**
+   * @return The time spent in the i-th phase, in nanoseconds.
+   */
+  long getNanos(int i) {
+    return nanos[i];
+  }
+
+  private void start(String name, long nowNanos) {
+    end(nowNanos);
+    int i = 0;
+    while (i < size && !names[i].equals(name)) {
+      i++;
+    }
+    if (i == size) {
+      if (size == names.length) {
+        names = Arrays.copyOf(names, 2 * size);
+        nanos = Arrays.copyOf(nanos, 2 * size);
+      }
+      names[i] = name;
+      nanos[i] = 0;
+      size++;
+    }
+    current = i;
+    currentStartNanos = nowNanos;
+  }
+
+  private void end(long nowNanos) {
+    if (current >= 0) {
+      nanos[current] += nowNanos - currentStartNanos;
+      current = -1;
+    }
+  }
+}
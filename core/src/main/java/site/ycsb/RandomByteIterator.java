@@ -16,13 +16,13 @@
  */
 package site.ycsb;
 
-import java.util.concurrent.ThreadLocalRandom;
+import site.ycsb.generator.RandomStreams;
 
 /**
  *  A ByteIterator that generates a random sequence of bytes.
  */
 public class RandomByteIterator extends ByteIterator {
-  private final long len;
+  private long len;
   private long off;
   private int bufOff;
   private final byte[] buf;
@@ -33,7 +33,7 @@ public class RandomByteIterator extends ByteIterator {
   }
 
   private void fillBytesImpl(byte[] buffer, int base) {
-    int bytes = ThreadLocalRandom.current().nextInt();
+    int bytes = RandomStreams.current().nextInt();
 
     switch (buffer.length - base) {
     default:
@@ -101,6 +101,20 @@ public class RandomByteIterator extends ByteIterator {
     off = 0;
   }
 
+  /**
+   * Restart this iterator so that it produces len new random bytes. Lets callers reuse one
+   * instance across values instead of allocating a new iterator for each.
+   *
+   * @param length The number of bytes to produce.
+   */
+  public void reset(long length) {
+    len = length;
+    bufOff = buf.length;
+    off = 0;
+    fillBytes();
+    off = 0;
+  }
+
   /** Consumes remaining contents of this object, and returns them as a byte array. */
   public byte[] toArray() {
     long left = bytesLeft();
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.measurements.RawLatencyLog;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Summarizes a {@link RawLatencyLog} after the run, and optionally converts it to CSV.
+ *
+ * Usage: RawLatencyLogReport directory [-csv file] [-p name=value]...
+ *
+ * For each measurement in the log, writes the number of operations, the average, minimum and
+ * maximum latency, the percentiles in "hdrhistogram.percentiles" and the return code counts,
+ * in the same format as a run with measurementtype=hdrhistogram. The "exporter" and
+ * "exportfile" properties select the output, like for the client. Percentiles are accurate to
+ * three significant digits; memory use depends on the range of latencies, not on the number of
+ * records. The CSV has one line per record, segment after segment.
+ */
+public final class RawLatencyLogReport {
+  /** The percentiles reported if "hdrhistogram.percentiles" is not set. */
+  public static final String PERCENTILES_DEFAULT = "50,90,95,99,99.9,99.99";
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Map<String, Histogram> latencies = new TreeMap<>();
+  private final Map<String, Map<String, Integer>> statusCounts = new HashMap<>();
+
+  private RawLatencyLogReport() {
+  }
+
+  /**
+   * Read a log and optionally write each record to a CSV file.
+   *
+   * @param dir The log directory.
+   * @param csv Where the CSV is written, or null.
+   * @return The report of the log.
+   */
+  static RawLatencyLogReport read(File dir, Writer csv) throws IOException {
+    final RawLatencyLogReport report = new RawLatencyLogReport();
+    if (csv != null) {
+      csv.write("operation,timestamp(ms),status,latency(" + RawLatencyLog.readUnit(dir) + ")\n");
+    }
+    RawLatencyLog.read(dir, (operation, timestampMs, status, latency) -> {
+        report.add(operation, status, latency);
+        if (csv != null) {
+          String statusName = "";
+          if (status != null) {
+            statusName = status;
+          }
+          csv.write(operation + "," + timestampMs + "," + statusName + "," + latency + "\n");
+        }
+      });
+    return report;
+  }
+
+  private void add(String operation, String status, long latency) {
+    Histogram h = latencies.get(operation);
+    if (h == null) {
+      h = new Histogram(SIGNIFICANT_DIGITS);
+      latencies.put(operation, h);
+      statusCounts.put(operation, new HashMap<String, Integer>());
+    }
+    h.recordValue(latency);
+    if (status != null) {
+      statusCounts.get(operation).merge(status, 1, Integer::sum);
+    }
+  }
+
+  /**
+   * @return The latencies of each measurement, by name.
+   */
+  Map<String, Histogram> getLatencies() {
+    return latencies;
+  }
+
+  /**
+   * Export the summary of every measurement.
+   *
+   * @param props    The report properties, including the latency unit of the log.
+   * @param exporter Where to write.
+   */
+  void export(Properties props, MeasurementsExporter exporter) throws IOException {
+    for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+      OneMeasurementHdrHistogram m = new OneMeasurementHdrHistogram(entry.getKey(), props);
+      m.add(entry.getValue());
+      for (Map.Entry<String, Integer> status : statusCounts.get(entry.getKey()).entrySet()) {
+        m.reportStatus(new Status(status.getKey(), ""), status.getValue());
+      }
+      m.exportMeasurements(exporter);
+    }
+  }
+
+  private static void usage() {
+    System.err.println("Usage: java " + RawLatencyLogReport.class.getName()
+        + " directory [-csv file] [-p name=value]...");
+    System.err.println("  -csv file:  also write every record to a CSV file");
+    System.err.println("  -p name=value:  set a property, such as hdrhistogram.percentiles, exporter or exportfile");
+    System.exit(1);
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      usage();
+    }
+    File dir = new File(args[0]);
+    String csvFile = null;
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementHdrHistogram.PERCENTILES_PROPERTY, PERCENTILES_DEFAULT);
+    for (int i = 1; i < args.length; i += 2) {
+      if (i + 1 >= args.length) {
+        usage();
+      }
+      if (args[i].equals("-csv")) {
+        csvFile = args[i + 1];
+      } else if (args[i].equals("-p") && args[i + 1].indexOf('=') > 0) {
+        int eq = args[i + 1].indexOf('=');
+        props.setProperty(args[i + 1].substring(0, eq), args[i + 1].substring(eq + 1));
+      } else {
+        usage();
+      }
+    }
+    props.setProperty(OneMeasurement.LATENCY_UNIT_PROPERTY, RawLatencyLog.readUnit(dir));
+
+    RawLatencyLogReport report;
+    if (csvFile == null) {
+      report = read(dir, null);
+    } else {
+      try (Writer csv = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(csvFile),
+          StandardCharsets.UTF_8))) {
+        report = read(dir, csv);
+      }
+    }
+    try (MeasurementsExporter exporter = Client.openExporter(props)) {
+      report.export(props, exporter);
+    }
+  }
+}
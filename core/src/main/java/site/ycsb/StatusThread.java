@@ -17,11 +17,19 @@
 
 package site.ycsb;
 
+import org.HdrHistogram.Histogram;
 import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.IntervalExporter;
+import site.ycsb.measurements.exporter.IntervalStats;
+
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -44,6 +52,15 @@ public class StatusThread extends Thread {
   private final String label;
   private final boolean standardstatus;
 
+  // The target the clients follow, if it changes over time.
+  private TargetProfile profile;
+
+  // Where each interval is exported to, if anywhere, and what the previous interval saw.
+  private IntervalExporter intervalExporter;
+  private List<Double> intervalPercentiles;
+  private String latencyUnit;
+  private final Map<String, Histogram> lastTotals = new HashMap<>();
+
   // The interval for reporting status.
   private long sleeptimeNs;
 
@@ -95,6 +112,29 @@ public class StatusThread extends Thread {
     this.trackJVMStats = trackJVMStats;
   }
 
+  /**
+   * Report the current target of a profile with each status.
+   *
+   * @param targetProfile The target the clients follow.
+   */
+  public void setTargetProfile(TargetProfile targetProfile) {
+    profile = targetProfile;
+  }
+
+  /**
+   * Also export the throughput and latencies of each interval. The exporter is closed when the
+   * thread ends.
+   *
+   * @param exporter    Where to export intervals to.
+   * @param percentiles The latency percentiles to export.
+   * @param unit        The unit latencies are recorded in.
+   */
+  public void setIntervalExporter(IntervalExporter exporter, List<Double> percentiles, String unit) {
+    intervalExporter = exporter;
+    intervalPercentiles = percentiles;
+    latencyUnit = unit;
+  }
+
   /**
    * Run and periodically report status.
    */
@@ -129,6 +169,14 @@ public class StatusThread extends Thread {
     }
     // Print the final stats.
     computeStats(startTimeMs, startIntervalMs, System.currentTimeMillis(), lastTotalOps);
+
+    if (intervalExporter != null) {
+      try {
+        intervalExporter.close();
+      } catch (IOException e) {
+        System.err.println("Could not close the interval export: " + e);
+      }
+    }
   }
 
   /**
@@ -170,10 +218,19 @@ public class StatusThread extends Thread {
     if (totalops != 0) {
       msg.append(d.format(curthroughput)).append(" current ops/sec; ");
     }
+    double target = Double.NaN;
+    if (profile != null) {
+      target = profile.getTarget(System.nanoTime());
+      msg.append(d.format(target)).append(" target ops/sec; ");
+    }
     if (todoops != 0) {
       msg.append("est completion in ").append(RemainingFormatter.format(estremaining));
     }
 
+    if (intervalExporter != null) {
+      exportInterval(endIntervalMs, interval, endIntervalMs - startIntervalMs, totalops, totalops - lastTotalOps,
+          target);
+    }
     msg.append(Measurements.getMeasurements().getSummary());
 
     System.err.println(msg);
@@ -184,6 +241,38 @@ public class StatusThread extends Thread {
     return totalops;
   }
 
+  /**
+   * Exports the interval, with the latencies recorded since the previous one.
+   */
+  private void exportInterval(long endIntervalMs, long elapsedMs, long lengthMs, long totalops, long intervalops,
+                              double target) {
+    Map<String, Histogram> latencies = new HashMap<>();
+    for (OneMeasurement m : measurements.getOneMeasurements()) {
+      Histogram total = m.getTotalHistogram();
+      if (total == null) {
+        continue;
+      }
+      Histogram intervalLatencies = total.copy();
+      Histogram last = lastTotals.put(m.getName(), total);
+      if (last != null) {
+        intervalLatencies.subtract(last);
+      }
+      latencies.put(m.getName(), intervalLatencies);
+    }
+    // the status at the very start of the run covers no time
+    if (lengthMs <= 0) {
+      return;
+    }
+    IntervalStats stats = new IntervalStats(endIntervalMs, elapsedMs, lengthMs, totalops, intervalops, target);
+    stats.setLatencies(latencyUnit, intervalPercentiles, latencies);
+    try {
+      intervalExporter.write(stats);
+    } catch (IOException e) {
+      System.err.println("Could not export the interval, stopping the interval export: " + e);
+      intervalExporter = null;
+    }
+  }
+
   /**
    * Waits for all of the client to finish or the deadline to expire.
    *
@@ -221,7 +310,7 @@ public class StatusThread extends Thread {
     if (threads > maxThreads) {
       maxThreads = threads;
     }
-    measurements.measure("THREAD_COUNT", threads);
+    measurements.measureValue("THREAD_COUNT", threads);
 
     // TODO - once measurements allow for other number types, switch to using
     // the raw bytes. Otherwise we can track in MB to avoid negative values
@@ -233,14 +322,14 @@ public class StatusThread extends Thread {
     if (usedMem > maxUsedMem) {
       maxUsedMem = usedMem;
     }
-    measurements.measure("USED_MEM_MB", usedMem);
+    measurements.measureValue("USED_MEM_MB", usedMem);
 
     // Some JVMs may not implement this feature so if the value is less than
     // zero, just ommit it.
     final double systemLoad = Utils.getSystemLoadAverage();
     if (systemLoad >= 0) {
       // TODO - store the double if measurements allows for them
-      measurements.measure("SYS_LOAD_AVG", (int) systemLoad);
+      measurements.measureValue("SYS_LOAD_AVG", (int) systemLoad);
       if (systemLoad > maxLoadAvg) {
         maxLoadAvg = systemLoad;
       }
@@ -250,9 +339,9 @@ public class StatusThread extends Thread {
     }
 
     final long gcs = Utils.getGCTotalCollectionCount();
-    measurements.measure("GCS", (int) (gcs - lastGCCount));
+    measurements.measureValue("GCS", (int) (gcs - lastGCCount));
     final long gcTime = Utils.getGCTotalTime();
-    measurements.measure("GCS_TIME", (int) (gcTime - lastGCTime));
+    measurements.measureValue("GCS_TIME", (int) (gcTime - lastGCTime));
     lastGCCount = gcs;
     lastGCTime = gcTime;
   }
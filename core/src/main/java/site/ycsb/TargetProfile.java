@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A target throughput that changes over the course of a run.
+ *
+ * The rate moves between "target.profile.min" and "target" ops/sec, following the shape chosen
+ * with "target.profile":
+ * <UL>
+ * <LI><b>constant</b>: always "target" (default, no profile)
+ * <LI><b>ramp</b>: rises linearly from the minimum to the target over one period, then holds
+ * <LI><b>step</b>: a staircase of "target.profile.steps" steps of one period each, the k-th at
+ * min + k/steps * (target - min), then holds
+ * <LI><b>sine</b>: starts at the minimum, peaks at the target half a period later, and repeats
+ * <LI><b>spike</b>: stays at the minimum and jumps to the target for the last
+ * "target.profile.spikeduration" seconds of every period
+ * </UL>
+ * Periods are "target.profile.period" seconds long and count from the start of the run.
+ */
+public final class TargetProfile {
+  /**
+   * The shape of the target over time.
+   */
+  public static final String PROFILE_PROPERTY = "target.profile";
+
+  /**
+   * The default shape, a constant target.
+   */
+  public static final String PROFILE_PROPERTY_DEFAULT = "constant";
+
+  /**
+   * The lowest target in ops/sec.
+   */
+  public static final String MIN_PROPERTY = "target.profile.min";
+
+  /**
+   * The default lowest target.
+   */
+  public static final String MIN_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The length of a period of the profile in seconds.
+   */
+  public static final String PERIOD_PROPERTY = "target.profile.period";
+
+  /**
+   * The default period length.
+   */
+  public static final String PERIOD_PROPERTY_DEFAULT = "60";
+
+  /**
+   * The number of steps of the step profile.
+   */
+  public static final String STEPS_PROPERTY = "target.profile.steps";
+
+  /**
+   * The default number of steps.
+   */
+  public static final String STEPS_PROPERTY_DEFAULT = "5";
+
+  /**
+   * The length of each spike of the spike profile in seconds.
+   */
+  public static final String SPIKE_DURATION_PROPERTY = "target.profile.spikeduration";
+
+  /**
+   * The default spike length.
+   */
+  public static final String SPIKE_DURATION_PROPERTY_DEFAULT = "5";
+
+  /** Supported shapes. */
+  public enum Shape {
+    RAMP,
+    STEP,
+    SINE,
+    SPIKE
+  }
+
+  /** The time over which the target is treated as constant when spacing operations. */
+  private static final long SLICE_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final Shape shape;
+  private final double min;
+  private final double max;
+  private final double periodSec;
+  private final int steps;
+  private final double spikeSec;
+  private volatile long startNs;
+
+  /**
+   * @param shape     The shape of the profile.
+   * @param min       The lowest target in ops/sec.
+   * @param max       The highest target in ops/sec.
+   * @param periodSec The length of a period in seconds.
+   * @param steps     The number of steps, only used by {@link Shape#STEP}.
+   * @param spikeSec  The length of a spike in seconds, only used by {@link Shape#SPIKE}.
+   */
+  public TargetProfile(Shape shape, double min, double max, double periodSec, int steps, double spikeSec) {
+    if (max <= 0 || min < 0 || min > max) {
+      throw new IllegalArgumentException("Target profile needs 0 <= " + MIN_PROPERTY + " <= target and a "
+          + "positive target, was " + min + " and " + max);
+    }
+    if (periodSec <= 0 || steps < 1 || spikeSec < 0) {
+      throw new IllegalArgumentException("Target profile needs a positive period, at least one step and "
+          + "a spike duration of at least 0");
+    }
+    if (shape == Shape.SPIKE && min == 0 && spikeSec == 0) {
+      throw new IllegalArgumentException("A spike profile without spikes and a minimum of 0 never runs anything");
+    }
+    this.shape = shape;
+    this.min = min;
+    this.max = max;
+    this.periodSec = periodSec;
+    this.steps = steps;
+    this.spikeSec = spikeSec;
+    startNs = System.nanoTime();
+  }
+
+  /**
+   * Create the profile configured by the properties, if any.
+   *
+   * @param props  The client properties.
+   * @param target The highest target over all client threads, in ops/sec.
+   * @return The profile, or null if the target is constant.
+   */
+  public static TargetProfile fromProperties(Properties props, double target) {
+    String name = props.getProperty(PROFILE_PROPERTY, PROFILE_PROPERTY_DEFAULT);
+    if (name.equals(PROFILE_PROPERTY_DEFAULT) || target <= 0) {
+      return null;
+    }
+    return new TargetProfile(Shape.valueOf(name.trim().toUpperCase(Locale.ROOT)),
+        Double.parseDouble(props.getProperty(MIN_PROPERTY, MIN_PROPERTY_DEFAULT)),
+        target,
+        Double.parseDouble(props.getProperty(PERIOD_PROPERTY, PERIOD_PROPERTY_DEFAULT)),
+        Integer.parseInt(props.getProperty(STEPS_PROPERTY, STEPS_PROPERTY_DEFAULT)),
+        Double.parseDouble(props.getProperty(SPIKE_DURATION_PROPERTY, SPIKE_DURATION_PROPERTY_DEFAULT)));
+  }
+
+  /**
+   * Start the profile, i.e. make the given time the start of its first period.
+   *
+   * @param nowNs The start of the run, in {@link System#nanoTime()} units.
+   */
+  public void start(long nowNs) {
+    startNs = nowNs;
+  }
+
+  /**
+   * @param timeNs A point in time, in {@link System#nanoTime()} units.
+   * @return The target over all client threads at that time, in ops/sec.
+   */
+  public double getTarget(long timeNs) {
+    double t = Math.max(0, timeNs - startNs) / 1e9;
+    switch (shape) {
+    case RAMP:
+      if (t >= periodSec) {
+        return max;
+      }
+      return min + (max - min) * t / periodSec;
+    case STEP:
+      long step = Math.min((long) (t / periodSec) + 1, steps);
+      return min + (max - min) * step / steps;
+    case SINE:
+      return min + (max - min) * (1 - Math.cos(2 * Math.PI * t / periodSec)) / 2;
+    case SPIKE:
+      if (t % periodSec >= periodSec - spikeSec) {
+        return max;
+      }
+      return min;
+    default:
+      throw new AssertionError("Impossible to be here. Dead code reached. Bugs?");
+    }
+  }
+
+  /**
+   * The start time of the operation after one that started at the given time, for one of several
+   * equally paced streams of operations that together follow the target.
+   *
+   * @param previousNs The start of the previous operation, in {@link System#nanoTime()} units.
+   * @param streams    The number of streams sharing the target, e.g. client threads.
+   * @return The start of the next operation.
+   */
+  public long nextStart(long previousNs, int streams) {
+    // walk forward in slices of constant target until one operation of this stream is due, so
+    // that a low or zero target does not space operations out beyond the time it lasts
+    double due = streams;
+    long t = previousNs;
+    while (true) {
+      double target = getTarget(t);
+      if (target > 0 && 1e9 * due / target <= SLICE_NS) {
+        return t + (long) (1e9 * due / target);
+      }
+      due -= target * SLICE_NS / 1e9;
+      t += SLICE_NS;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Locale;
+
+/**
+ * The kind of thread client threads are run on, selected with the "threadmodel" property.
+ *
+ * Virtual threads are looked up reflectively so the client still builds and runs on Java 8;
+ * on JVMs without them, {@link #VIRTUAL} falls back to platform threads with a warning.
+ */
+public enum ThreadModel {
+  /** One operating system thread per client thread. */
+  PLATFORM,
+  /** One virtual thread per client thread, multiplexed over a small set of carrier threads. */
+  VIRTUAL;
+
+  /**
+   * Thread.ofVirtual().unstarted(Runnable), or null if this JVM has no virtual threads.
+   */
+  private static final MethodHandle NEW_VIRTUAL_THREAD = lookupVirtualThreadFactory();
+
+  private static MethodHandle lookupVirtualThreadFactory() {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+          MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+      MethodHandle unstarted = lookup.findVirtual(builderClass, "unstarted",
+          MethodType.methodType(Thread.class, Runnable.class));
+      return MethodHandles.foldArguments(unstarted.asType(unstarted.type().changeParameterType(0,
+          ofVirtual.type().returnType())), ofVirtual);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return Whether this JVM supports virtual threads.
+   */
+  public static boolean isVirtualSupported() {
+    return NEW_VIRTUAL_THREAD != null;
+  }
+
+  /**
+   * Parse the value of the "threadmodel" property.
+   *
+   * @param name "platform" or "virtual", case insensitive.
+   * @return The matching thread model.
+   * @throws IllegalArgumentException if the name is not a known thread model.
+   */
+  public static ThreadModel fromString(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Resolve this model against what the running JVM supports.
+   *
+   * @return {@link #PLATFORM} if virtual threads were requested but are not available.
+   */
+  public ThreadModel effective() {
+    if (this == VIRTUAL && !isVirtualSupported()) {
+      return PLATFORM;
+    }
+    return this;
+  }
+
+  /**
+   * Create a new, unstarted thread of this kind.
+   *
+   * @param task The task the thread runs.
+   * @return The unstarted thread.
+   */
+  public Thread newThread(Runnable task) {
+    if (effective() == PLATFORM) {
+      return new Thread(task);
+    }
+    try {
+      return (Thread) NEW_VIRTUAL_THREAD.invoke(task);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException("Could not create virtual thread", t);
+    }
+  }
+}
@@ -0,0 +1,403 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import org.apache.htrace.core.Tracer;
+import site.ycsb.generator.RandomStreams;
+import site.ycsb.generator.Zeta;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Searches for the highest throughput that keeps latency within a service level objective (SLO).
+ *
+ * Takes the same arguments as the {@link Client} running transactions against data loaded
+ * before. In the same JVM, it runs the transaction phase repeatedly for "search.window" seconds
+ * at a time, at different targets. It starts at "search.start" ops/sec and doubles the target
+ * until a trial misses the SLO, then bisects between the highest passing and lowest failing
+ * target until they are within "search.precision" of each other, for at most "search.maxtrials"
+ * trials. A trial passes if every measurement (other than CLEANUP) meets every percentile limit
+ * of "search.slo", e.g. "99:5000,99.9:20000" for a p99 of at most 5000 and a p99.9 of at most
+ * 20000 in the latency unit, and the clients kept up with the target within "search.tolerance".
+ * Use "measurement.interval=intended" to judge latencies from the intended start, which includes
+ * the time operations were queued behind slow ones.
+ *
+ * Latencies are read from the HdrHistograms of the measurements, so the measurement type must
+ * keep one, like the default hdrhistogram. The highest passing throughput and the latencies of
+ * that trial are exported like a client run.
+ */
+public final class ThroughputSearch {
+  /**
+   * The latency limits, as comma separated percentile:latency pairs.
+   */
+  public static final String SLO_PROPERTY = "search.slo";
+
+  /**
+   * The length of each trial, in seconds.
+   */
+  public static final String WINDOW_PROPERTY = "search.window";
+  public static final String WINDOW_PROPERTY_DEFAULT = "10";
+
+  /**
+   * The target of the first trial, in operations per second.
+   */
+  public static final String START_PROPERTY = "search.start";
+  public static final String START_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * How close, relative to the lowest failing target, the search gets to the highest passing one.
+   */
+  public static final String PRECISION_PROPERTY = "search.precision";
+  public static final String PRECISION_PROPERTY_DEFAULT = "0.05";
+
+  /**
+   * How far below the target a trial's throughput may be and still pass.
+   */
+  public static final String TOLERANCE_PROPERTY = "search.tolerance";
+  public static final String TOLERANCE_PROPERTY_DEFAULT = "0.05";
+
+  /**
+   * The most trials to run.
+   */
+  public static final String MAX_TRIALS_PROPERTY = "search.maxtrials";
+  public static final String MAX_TRIALS_PROPERTY_DEFAULT = "12";
+
+  /**
+   * The outcome of running at one target.
+   */
+  static final class Trial {
+    private final long target;
+    private final double throughput;
+    private final Map<String, Histogram> latencies;
+    private String failure;
+
+    /**
+     * @param target     The target, in operations per second.
+     * @param throughput The throughput reached, in operations per second.
+     * @param latencies  The latencies of the trial, by measurement name.
+     */
+    Trial(long target, double throughput, Map<String, Histogram> latencies) {
+      this.target = target;
+      this.throughput = throughput;
+      this.latencies = latencies;
+    }
+
+    long getTarget() {
+      return target;
+    }
+
+    double getThroughput() {
+      return throughput;
+    }
+
+    Map<String, Histogram> getLatencies() {
+      return latencies;
+    }
+
+    /**
+     * @return Why the trial failed, or null if it passed.
+     */
+    String getFailure() {
+      return failure;
+    }
+  }
+
+  private final Map<Double, Long> slo = new LinkedHashMap<>();
+  private final long start;
+  private final double precision;
+  private final double tolerance;
+  private final int maxTrials;
+  private final List<Trial> trials = new ArrayList<>();
+
+  /**
+   * @param props The search properties.
+   */
+  ThroughputSearch(Properties props) {
+    String limits = props.getProperty(SLO_PROPERTY);
+    if (limits == null) {
+      throw new IllegalArgumentException(SLO_PROPERTY + " must be set, e.g. 99:5000");
+    }
+    for (String limit : limits.split(",")) {
+      String[] pair = limit.trim().split(":");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Malformed " + SLO_PROPERTY + " " + limit + ", expected percentile:latency");
+      }
+      slo.put(Double.parseDouble(pair[0].trim()), Long.parseLong(pair[1].trim()));
+    }
+    start = Long.parseLong(props.getProperty(START_PROPERTY, START_PROPERTY_DEFAULT));
+    precision = Double.parseDouble(props.getProperty(PRECISION_PROPERTY, PRECISION_PROPERTY_DEFAULT));
+    tolerance = Double.parseDouble(props.getProperty(TOLERANCE_PROPERTY, TOLERANCE_PROPERTY_DEFAULT));
+    maxTrials = Integer.parseInt(props.getProperty(MAX_TRIALS_PROPERTY, MAX_TRIALS_PROPERTY_DEFAULT));
+  }
+
+  /**
+   * Search for the highest target that passes.
+   *
+   * @param runner Runs a trial at a target.
+   * @return The passing trial with the highest target, or null if none passed.
+   */
+  Trial search(LongFunction<Trial> runner) {
+    Trial best = null;
+    long failing = 0;
+    long target = start;
+    // double until a trial fails, then bisect
+    while (trials.size() < maxTrials) {
+      Trial trial = runner.apply(target);
+      judge(trial);
+      trials.add(trial);
+      System.err.println(describe(trial));
+      if (trial.failure == null) {
+        best = trial;
+      } else {
+        failing = target;
+      }
+      if (failing == 0) {
+        target *= 2;
+      } else {
+        long passing = 0;
+        if (best != null) {
+          passing = best.target;
+        }
+        if (failing - passing <= precision * failing) {
+          break;
+        }
+        target = (passing + failing) / 2;
+        if (target < 1) {
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Decide whether a trial passed.
+   */
+  void judge(Trial trial) {
+    if (trial.throughput < (1 - tolerance) * trial.target) {
+      trial.failure = "throughput below target";
+      return;
+    }
+    for (Map.Entry<String, Histogram> entry : trial.latencies.entrySet()) {
+      if (entry.getValue().getTotalCount() == 0) {
+        continue;
+      }
+      for (Map.Entry<Double, Long> limit : slo.entrySet()) {
+        long latency = entry.getValue().getValueAtPercentile(limit.getKey());
+        if (latency > limit.getValue()) {
+          trial.failure = entry.getKey() + " p" + limit.getKey() + " " + latency + " > " + limit.getValue();
+          return;
+        }
+      }
+    }
+  }
+
+  private String describe(Trial trial) {
+    DecimalFormat d = new DecimalFormat("#.##");
+    StringBuilder sb = new StringBuilder("Trial ").append(trials.size()).append(": target ").append(trial.target)
+        .append(" ops/sec, reached ").append(d.format(trial.throughput)).append(" ops/sec;");
+    for (Map.Entry<String, Histogram> entry : trial.latencies.entrySet()) {
+      if (entry.getValue().getTotalCount() == 0) {
+        continue;
+      }
+      sb.append(' ').append(entry.getKey());
+      for (double p : slo.keySet()) {
+        sb.append(" p").append(p).append('=').append(entry.getValue().getValueAtPercentile(p));
+      }
+      sb.append(';');
+    }
+    if (trial.failure == null) {
+      return sb.append(" PASSED").toString();
+    }
+    return sb.append(" FAILED: ").append(trial.failure).toString();
+  }
+
+  /**
+   * @return The trials run so far, in order.
+   */
+  List<Trial> getTrials() {
+    return trials;
+  }
+
+  /**
+   * Export the outcome of the search like a client run.
+   *
+   * @param props The client properties.
+   * @param best  The passing trial with the highest target, or null.
+   */
+  void export(Properties props, Trial best, MeasurementsExporter exporter) throws IOException {
+    exporter.write("SEARCH", "Trials", trials.size());
+    if (best == null) {
+      exporter.write("SEARCH", "MaxThroughput(ops/sec)", 0.0);
+      return;
+    }
+    exporter.write("SEARCH", "Target(ops/sec)", best.target);
+    exporter.write("SEARCH", "MaxThroughput(ops/sec)", best.throughput);
+    Properties exportProps = new Properties();
+    exportProps.putAll(props);
+    exportProps.remove("hdrhistogram.fileoutput");
+    for (Map.Entry<String, Histogram> entry : new TreeMap<>(best.latencies).entrySet()) {
+      OneMeasurementHdrHistogram m = new OneMeasurementHdrHistogram(entry.getKey(), exportProps);
+      m.add(entry.getValue());
+      m.exportMeasurements(exporter);
+    }
+  }
+
+  /**
+   * @return The latencies recorded so far, by measurement name, leaving out CLEANUP.
+   */
+  private static Map<String, Histogram> totals(Measurements measurements) {
+    Map<String, Histogram> totals = new HashMap<>();
+    for (OneMeasurement m : measurements.getOneMeasurements()) {
+      Histogram h = m.getTotalHistogram();
+      if (h != null && !m.getName().endsWith("CLEANUP")) {
+        totals.put(m.getName(), h);
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * Run the transaction phase once at a target.
+   */
+  private static Trial runTrial(Properties props, Workload workload, Tracer tracer, long target) {
+    int threadcount = Integer.parseInt(props.getProperty(Client.THREAD_COUNT_PROPERTY, "1"));
+    long window = Long.parseLong(props.getProperty(WINDOW_PROPERTY, WINDOW_PROPERTY_DEFAULT));
+    Properties trialProps = new Properties();
+    trialProps.putAll(props);
+    trialProps.setProperty(Client.DO_TRANSACTIONS_PROPERTY, "true");
+    // trials are bounded by time, so a target the system cannot reach does not stretch one out
+    trialProps.setProperty(Client.OPERATION_COUNT_PROPERTY, "0");
+    trialProps.setProperty(Client.TARGET_PROPERTY, Long.toString(target));
+
+    ThreadModel threadmodel = Client.getThreadModel(trialProps);
+    String dbname = trialProps.getProperty(Client.DB_PROPERTY, "site.ycsb.BasicDB");
+    CountDownLatch completeLatch = new CountDownLatch(threadcount);
+    List<ClientThread> clients = Client.initDb(dbname, trialProps, threadcount,
+        target / (double) threadcount / 1000.0, workload, tracer, completeLatch);
+
+    Measurements measurements = Measurements.getMeasurements();
+    Map<String, Histogram> before = totals(measurements);
+    // the trial is timed from when every client has initialized its binding
+    CountDownLatch startLatch = new CountDownLatch(clients.size());
+    List<Thread> threads = new ArrayList<>();
+    for (ClientThread client : clients) {
+      client.setStartLatch(startLatch);
+      threads.add(threadmodel.newThread(client));
+    }
+    for (Thread t : threads) {
+      t.start();
+    }
+    try {
+      startLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during a trial", e);
+    }
+    long st = System.nanoTime();
+    long deadline = st + TimeUnit.SECONDS.toNanos(window);
+    try {
+      for (Thread t : threads) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+          TimeUnit.NANOSECONDS.timedJoin(t, remaining);
+        }
+      }
+      // the workload is shared by all trials, so each client is stopped rather than the workload
+      for (ClientThread client : clients) {
+        client.requestStop();
+      }
+      for (Thread t : threads) {
+        t.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during a trial", e);
+    }
+    long en = System.nanoTime();
+    long ops = 0;
+    for (ClientThread client : clients) {
+      ops += client.getOpsDone();
+    }
+
+    Map<String, Histogram> latencies = new HashMap<>();
+    for (Map.Entry<String, Histogram> entry : totals(measurements).entrySet()) {
+      Histogram h = entry.getValue();
+      Histogram previous = before.get(entry.getKey());
+      if (previous != null) {
+        h.subtract(previous);
+      }
+      latencies.put(entry.getKey(), h);
+    }
+    return new Trial(target, ops * 1e9 / Math.max(en - st, 1), latencies);
+  }
+
+  public static void main(String[] args) {
+    Properties props = Client.parseArguments(args);
+    ThroughputSearch search;
+    try {
+      search = new ThroughputSearch(props);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.exit(1);
+      return;
+    }
+
+    Thread warningthread = Client.setupWarningThread();
+    warningthread.start();
+    Measurements.setProperties(props);
+    Zeta.setProperties(props);
+    RandomStreams.setProperties(props);
+    Workload workload = Client.getWorkload(props);
+    Tracer tracer = Client.getTracer(props, workload);
+    Client.initWorkload(props, warningthread, workload, tracer);
+
+    System.err.println("Searching for the highest throughput within " + props.getProperty(SLO_PROPERTY) + ".");
+    Trial best = search.search(target -> runTrial(props, workload, tracer, target));
+    try {
+      workload.cleanup();
+    } catch (WorkloadException e) {
+      e.printStackTrace();
+    }
+
+    try (MeasurementsExporter exporter = Client.openExporter(props)) {
+      search.export(props, best, exporter);
+    } catch (IOException e) {
+      System.err.println("Could not export the search result, error: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(-1);
+    }
+    System.exit(0);
+  }
+}
@@ -16,31 +16,46 @@
  */
 package site.ycsb.generator;
 
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * A CounterGenerator that reports generated integers via lastInt()
  * only after they have been acknowledged.
+ *
+ * Acknowledged ids are marked in bitset segments of {@value #WINDOW_SIZE} ids, which are created
+ * as ids are acknowledged and dropped once the limit has passed them, so any number of ids may be
+ * awaiting acknowledgement. An id is marked by setting its bit with a CAS, and the limit is moved
+ * over the marked ids following it with a CAS, by whichever thread finds them; no thread waits
+ * for another.
  */
 public class AcknowledgedCounterGenerator extends CounterGenerator {
-  /** The size of the window of pending id ack's. 2^20 = {@value} */
+  /** The number of ids in a segment of the window. 2^20 = {@value} */
   static final int WINDOW_SIZE = Integer.rotateLeft(1, 20);
 
-  /** The mask to use to turn an id into a slot in {@link #window}. */
-  private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+  /** The shift to turn an id into the number of its segment. */
+  private static final int SEGMENT_SHIFT = 20;
 
-  private final ReentrantLock lock;
-  private final boolean[] window;
-  private volatile long limit;
+  /** The mask to turn an id into its bit in a segment. */
+  private static final int SEGMENT_MASK = WINDOW_SIZE - 1;
+
+  /** The shift to turn a bit into the index of its word. */
+  private static final int WORD_SHIFT = 6;
+
+  private final ConcurrentMap<Long, AtomicLongArray> segments;
+  private final AtomicLong limit;
+  private final AtomicLong maxInFlight;
 
   /**
    * Create a counter that starts at countstart.
    */
   public AcknowledgedCounterGenerator(long countstart) {
     super(countstart);
-    lock = new ReentrantLock();
-    window = new boolean[WINDOW_SIZE];
-    limit = countstart - 1;
+    segments = new ConcurrentHashMap<>();
+    limit = new AtomicLong(countstart - 1);
+    maxInFlight = new AtomicLong();
   }
 
   /**
@@ -49,39 +64,89 @@ public class AcknowledgedCounterGenerator extends CounterGenerator {
    */
   @Override
   public Long lastValue() {
-    return limit;
+    return limit.get();
+  }
+
+  /**
+   * @return The number of generated counter values after the highest acknowledged one, i.e. ids
+   * handed out whose acknowledgement, or that of an id before them, is still pending.
+   */
+  public long getInFlight() {
+    return super.lastValue() - limit.get();
+  }
+
+  /**
+   * @return The highest {@link #getInFlight()} seen by {@link #acknowledge(long)}.
+   */
+  public long getMaxInFlight() {
+    return maxInFlight.get();
   }
 
   /**
    * Make a generated counter value available via lastInt().
    */
   public void acknowledge(long value) {
-    final int currentSlot = (int)(value & WINDOW_MASK);
-    if (window[currentSlot]) {
-      throw new RuntimeException("Too many unacknowledged insertion keys.");
+    if (value <= limit.get()) {
+      throw new IllegalStateException("Insertion key " + value + " was already acknowledged.");
+    }
+    Long index = value >> SEGMENT_SHIFT;
+    AtomicLongArray segment = segments.get(index);
+    if (segment == null) {
+      segment = segments.computeIfAbsent(index, i -> new AtomicLongArray(WINDOW_SIZE >> WORD_SHIFT));
     }
+    int word = (int) (value & SEGMENT_MASK) >>> WORD_SHIFT;
+    long bit = 1L << value;
+    long bits;
+    do {
+      bits = segment.get(word);
+      if ((bits & bit) != 0) {
+        throw new IllegalStateException("Insertion key " + value + " was already acknowledged.");
+      }
+    } while (!segment.compareAndSet(word, bits, bits | bit));
 
-    window[currentSlot] = true;
+    advance();
 
-    if (lock.tryLock()) {
-      // move a contiguous sequence from the window
-      // over to the "limit" variable
-      try {
-        // Only loop through the entire window at most once.
-        long beforeFirstSlot = (limit & WINDOW_MASK);
-        long index;
-        for (index = limit + 1; index != beforeFirstSlot; ++index) {
-          int slot = (int)(index & WINDOW_MASK);
-          if (!window[slot]) {
-            break;
-          }
+    long inFlight = getInFlight();
+    if (inFlight > maxInFlight.get()) {
+      maxInFlight.accumulateAndGet(inFlight, Math::max);
+    }
+  }
 
-          window[slot] = false;
+  /**
+   * Move the limit over the contiguous acknowledged ids after it. A thread that fails to move it
+   * tries again, so an acknowledgement is never left behind by a thread that looked too early.
+   */
+  private void advance() {
+    while (true) {
+      long current = limit.get();
+      long end = lastMarked(current + 1);
+      if (end == current) {
+        return;
+      }
+      if (limit.compareAndSet(current, end)) {
+        // drop the segments the limit has passed
+        for (long index = (current + 1) >> SEGMENT_SHIFT; index < (end + 1) >> SEGMENT_SHIFT; index++) {
+          segments.remove(index);
         }
+      }
+    }
+  }
 
-        limit = index - 1;
-      } finally {
-        lock.unlock();
+  /**
+   * @return The last of the contiguous marked ids from first on, or first - 1 if first is not marked.
+   */
+  private long lastMarked(long first) {
+    long id = first;
+    while (true) {
+      AtomicLongArray segment = segments.get(id >> SEGMENT_SHIFT);
+      if (segment == null) {
+        return id - 1;
+      }
+      int word = (int) (id & SEGMENT_MASK) >>> WORD_SHIFT;
+      int run = Long.numberOfTrailingZeros(~(segment.get(word) >>> id));
+      id += run;
+      if (run == 0 || (id & 63) != 0) {
+        return id - 1;
       }
     }
   }
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+/**
+ * Samples indexes in proportion to a fixed set of weights in constant time, using Walker's alias
+ * method as built by Vose. Each of the n columns of the table is split between its own index, with
+ * probability {@code prob[i]}, and one alias index; a sample takes one random double, whose integer
+ * part picks the column and whose fraction picks between the index and its alias.
+ *
+ * The table is immutable once built, so it may be shared between threads.
+ */
+final class AliasTable {
+  private final double[] prob;
+  private final int[] alias;
+
+  /**
+   * Build the table.
+   *
+   * @param weights The weight of each index; not negative, and not all zero.
+   */
+  AliasTable(double[] weights) {
+    int n = weights.length;
+    double sum = 0;
+    for (double weight : weights) {
+      if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Weights must be finite and not negative: " + weight);
+      }
+      sum += weight;
+    }
+    if (sum <= 0) {
+      throw new IllegalArgumentException("At least one weight must be positive");
+    }
+
+    prob = new double[n];
+    alias = new int[n];
+    // Scale the weights to average 1, then fill each column below 1 (small) with a column above it (large).
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smalls = 0;
+    int larges = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / sum;
+      if (scaled[i] < 1) {
+        small[smalls++] = i;
+      } else {
+        large[larges++] = i;
+      }
+    }
+    while (smalls > 0 && larges > 0) {
+      int s = small[--smalls];
+      int l = large[--larges];
+      prob[s] = scaled[s];
+      alias[s] = l;
+      scaled[l] = (scaled[l] + scaled[s]) - 1;
+      if (scaled[l] < 1) {
+        small[smalls++] = l;
+      } else {
+        large[larges++] = l;
+      }
+    }
+    // What is left is 1 up to rounding errors.
+    while (larges > 0) {
+      int l = large[--larges];
+      prob[l] = 1;
+      alias[l] = l;
+    }
+    while (smalls > 0) {
+      int s = small[--smalls];
+      prob[s] = 1;
+      alias[s] = s;
+    }
+  }
+
+  /**
+   * @return The number of indexes.
+   */
+  int size() {
+    return prob.length;
+  }
+
+  /**
+   * @return A random index.
+   */
+  int next() {
+    return sample(RandomStreams.current().nextDouble());
+  }
+
+  /**
+   * @param u A uniform random number in [0, 1).
+   * @return The index u maps to.
+   */
+  int sample(double u) {
+    double column = u * prob.length;
+    int i = (int) column;
+    if (i >= prob.length) {
+      i = prob.length - 1;
+    }
+    if (column - i < prob[i]) {
+      return i;
+    }
+    return alias[i];
+  }
+}
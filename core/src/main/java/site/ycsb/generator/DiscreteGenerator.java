@@ -18,13 +18,16 @@
 package site.ycsb.generator;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Generates a distribution by choosing from a discrete set of values.
+ *
+ * The weights are frozen into an {@link AliasTable} on the first call to {@link #nextValue()} after
+ * values were added, so drawing a value takes one random number and one table lookup however many
+ * values there are.
  */
 public class DiscreteGenerator extends Generator<String> {
   private static class Pair {
@@ -37,9 +40,28 @@ public class DiscreteGenerator extends Generator<String> {
     }
   }
 
-  private final Collection<Pair> values = new ArrayList<>();
+  private final List<Pair> values = new ArrayList<>();
+  private volatile Table table;
   private String lastvalue;
 
+  /**
+   * The values and the alias table sampling their indexes.
+   */
+  private static final class Table {
+    private final String[] values;
+    private final AliasTable alias;
+
+    Table(List<Pair> pairs) {
+      values = new String[pairs.size()];
+      double[] weights = new double[pairs.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = pairs.get(i).value;
+        weights[i] = pairs.get(i).weight;
+      }
+      alias = new AliasTable(weights);
+    }
+  }
+
   public DiscreteGenerator() {
     lastvalue = null;
   }
@@ -49,25 +71,18 @@ public class DiscreteGenerator extends Generator<String> {
    */
   @Override
   public String nextValue() {
-    double sum = 0;
-
-    for (Pair p : values) {
-      sum += p.weight;
+    Table t = table;
+    if (t == null) {
+      t = freeze();
     }
+    return t.values[t.alias.next()];
+  }
 
-    double val = ThreadLocalRandom.current().nextDouble();
-
-    for (Pair p : values) {
-      double pw = p.weight / sum;
-      if (val < pw) {
-        return p.value;
-      }
-
-      val -= pw;
+  private synchronized Table freeze() {
+    if (table == null) {
+      table = new Table(values);
     }
-
-    throw new AssertionError("oops. should not get here.");
-
+    return table;
   }
 
   /**
@@ -83,8 +98,9 @@ public class DiscreteGenerator extends Generator<String> {
     return lastvalue;
   }
 
-  public void addValue(double weight, String value) {
+  public synchronized void addValue(double weight, String value) {
     values.add(new Pair(weight, value));
+    table = null;
   }
 
 }
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import site.ycsb.Utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates keys whose popularity moves across the key space over time, like the hot set of a
+ * cache in production. A rank generator, e.g. a {@link ZipfianGenerator} or
+ * {@link HotspotIntegerGenerator} over [0, n), says how popular a key is to be, with rank 0 the most
+ * popular; the rank is then shifted by an offset that grows with the time since the generator was
+ * created, wrapping around the n keys, and optionally scrambled with a hash.
+ *
+ * Unscrambled, the hot region is a contiguous range of keys sliding along the key space.
+ * Scrambled, the hot keys are scattered, and each step of the offset replaces one key of every
+ * popularity rank by another, so the hot set is gradually replaced. The offset grows by the
+ * velocity, in keys per second, either continuously or in jumps every interval.
+ */
+public class DriftingKeyGenerator extends NumberGenerator {
+  private final long min;
+  private final long items;
+  private final NumberGenerator ranks;
+  private final boolean scramble;
+  private final double keysPerNano;
+  private final long jumpNanos;
+  private final long start;
+
+  /**
+   * Create a generator of keys between min and max (inclusive).
+   *
+   * @param min      The smallest key to generate.
+   * @param max      The largest key to generate.
+   * @param ranks    Generates the popularity rank of a key, in [0, max - min].
+   * @param scramble Whether to scatter the keys of neighbouring ranks across the key space.
+   * @param velocity The number of keys per second the popularity moves by.
+   * @param interval The seconds between moves of the popularity, or 0 to move it continuously.
+   * @throws IllegalArgumentException if the velocity or the interval is negative or not finite.
+   */
+  public DriftingKeyGenerator(long min, long max, NumberGenerator ranks, boolean scramble, double velocity,
+                              double interval) {
+    if (!(velocity >= 0) || Double.isInfinite(velocity)) {
+      throw new IllegalArgumentException("Velocity must be finite and not negative: " + velocity);
+    }
+    if (!(interval >= 0) || Double.isInfinite(interval)) {
+      throw new IllegalArgumentException("Interval must be finite and not negative: " + interval);
+    }
+    this.min = min;
+    items = max - min + 1;
+    this.ranks = ranks;
+    this.scramble = scramble;
+    keysPerNano = velocity / TimeUnit.SECONDS.toNanos(1);
+    jumpNanos = (long) (interval * TimeUnit.SECONDS.toNanos(1));
+    start = System.nanoTime();
+  }
+
+  /**
+   * @param elapsedNanos The time since the generator was created.
+   * @return The offset the ranks are shifted by at that time.
+   */
+  long offset(long elapsedNanos) {
+    long elapsed = elapsedNanos;
+    if (jumpNanos > 0) {
+      elapsed -= elapsed % jumpNanos;
+    }
+    return (long) (elapsed * keysPerNano) % items;
+  }
+
+  /**
+   * @param rank         The popularity rank of a key.
+   * @param elapsedNanos The time since the generator was created.
+   * @return The key of that rank at that time.
+   */
+  long key(long rank, long elapsedNanos) {
+    long index = (rank + offset(elapsedNanos)) % items;
+    if (scramble) {
+      index = Utils.fnvhash64(index) % items;
+    }
+    return min + index;
+  }
+
+  @Override
+  public Long nextValue() {
+    long ret = key(ranks.nextValue().longValue(), System.nanoTime() - start);
+    setLastValue(ret);
+    return ret;
+  }
+
+  /**
+   * As the popularity moves across all keys, over time the mean is the middle of the range.
+   */
+  @Override
+  public double mean() {
+    return min + (items - 1) / 2.0;
+  }
+}
@@ -17,8 +17,6 @@
 
 package site.ycsb.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * A generator of an exponential distribution. It produces a sequence
  * of time intervals according to an exponential
@@ -66,7 +64,7 @@ public class ExponentialGenerator extends NumberGenerator {
    */
   @Override
   public Double nextValue() {
-    return -Math.log(ThreadLocalRandom.current().nextDouble()) / gamma;
+    return -Math.log(RandomStreams.current().nextDouble()) / gamma;
   }
 
   @Override
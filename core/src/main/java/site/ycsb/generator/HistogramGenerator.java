@@ -20,7 +20,6 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Generate integers according to a histogram distribution.  The histogram
@@ -31,6 +30,7 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * The minimum value this distribution returns is blockSize (not zero).
  *
+ * Buckets are drawn from an {@link AliasTable}, in constant time however many there are.
  */
 public class HistogramGenerator extends NumberGenerator {
 
@@ -39,6 +39,7 @@ public class HistogramGenerator extends NumberGenerator {
   private long area;
   private long weightedArea = 0;
   private double meanSize = 0;
+  private AliasTable table;
 
   public HistogramGenerator(String histogramfile) throws IOException {
     try (BufferedReader in = new BufferedReader(new FileReader(histogramfile))) {
@@ -78,27 +79,20 @@ public class HistogramGenerator extends NumberGenerator {
   }
 
   private void init() {
+    double[] weights = new double[buckets.length];
     for (int i = 0; i < buckets.length; i++) {
       area += buckets[i];
       weightedArea += i * buckets[i];
+      weights[i] = buckets[i];
     }
+    table = new AliasTable(weights);
     // calculate average file size
     meanSize = ((double) blockSize) * ((double) weightedArea) / (area);
   }
 
   @Override
   public Long nextValue() {
-    int number = ThreadLocalRandom.current().nextInt((int) area);
-    int i;
-
-    for (i = 0; i < (buckets.length - 1); i++) {
-      number -= buckets[i];
-      if (number <= 0) {
-        return (i + 1) * blockSize;
-      }
-    }
-
-    return i * blockSize;
+    return (table.next() + 1) * blockSize;
   }
 
   @Override
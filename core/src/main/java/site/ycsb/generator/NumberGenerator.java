@@ -22,20 +22,40 @@ package site.ycsb.generator;
  *
  */
 public abstract class NumberGenerator extends Generator<Number> {
-  private Number lastVal;
+  /**
+   * Kept per thread, so that client threads drawing from a shared generator do not write to it.
+   */
+  private final ThreadLocal<Number> lastVal = new ThreadLocal<>();
+
+  /**
+   * The first value generated on any thread, for threads which have not generated one yet. Generators
+   * primed in their constructor, like {@link SkewedLatestGenerator}, set it there.
+   */
+  private volatile Number firstVal;
 
   /**
    * Set the last value generated. NumberGenerator subclasses must use this call
    * to properly set the last value, or the {@link #lastValue()} calls won't work.
    */
   protected void setLastValue(Number last) {
-    lastVal = last;
+    lastVal.set(last);
+    if (firstVal == null) {
+      firstVal = last;
+    }
   }
 
 
+  /**
+   * @return The last value generated by the calling thread or, if it has not generated one yet, the
+   * first value generated on any thread; null before any value was generated.
+   */
   @Override
   public Number lastValue() {
-    return lastVal;
+    Number last = lastVal.get();
+    if (last == null) {
+      return firstVal;
+    }
+    return last;
   }
 
   /**
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import site.ycsb.Client;
+import site.ycsb.Coordinator;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The source of random numbers of the generators, the workloads and the random values they write.
+ *
+ * Unseeded, the default, this is {@link ThreadLocalRandom}. With the "seed" property set, every
+ * client thread draws from a stream of its own: stream w * t + i + 1 for the thread with id i of
+ * coordinator worker w (0 without a coordinator) running t threads, where stream k is a
+ * SplittableRandom seeded with the mix of seed + k times the golden gamma, the way SplittableRandom
+ * derives seeds itself. Other threads, such as the main thread while the workload initializes,
+ * draw from stream 0. Streams are not shared, also not between the workers of a coordinated run,
+ * so two runs with the same seed and thread count draw the same numbers on each thread, and so
+ * read, update and scan the same keys and space out open-loop arrivals alike; inserts still take
+ * their keys from a counter shared between the threads, whose interleaving depends on timing.
+ *
+ * The client configures this with {@link #setProperties(Properties)}, and each client thread calls
+ * {@link #bind(int)} before it starts.
+ */
+public final class RandomStreams {
+  /**
+   * The seed of the streams.
+   */
+  public static final String SEED_PROPERTY = "seed";
+
+  /** The increment between the seeds of streams, 2^64 divided by the golden ratio. */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private static volatile Long seed;
+  private static volatile int firstStream;
+
+  private static final ThreadLocal<Random> STREAM = ThreadLocal.withInitial(() -> stream(0));
+
+  private RandomStreams() {
+    // not used
+  }
+
+  /**
+   * Configure the seed, and the streams of this process from its coordinator worker index.
+   *
+   * @param props The client properties.
+   */
+  public static void setProperties(Properties props) {
+    String s = props.getProperty(SEED_PROPERTY);
+    if (s == null) {
+      seed = null;
+    } else {
+      seed = Long.parseLong(s);
+    }
+    int worker = Integer.parseInt(props.getProperty(Coordinator.WORKER_PROPERTY, "0"));
+    int threads = Integer.parseInt(props.getProperty(Client.THREAD_COUNT_PROPERTY, "1"));
+    firstStream = worker * threads + 1;
+  }
+
+  /**
+   * Start the stream of a client thread over, if seeded.
+   *
+   * @param threadid The id of the client thread calling this.
+   */
+  public static void bind(int threadid) {
+    if (seed != null) {
+      STREAM.set(stream(firstStream + threadid));
+    }
+  }
+
+  /**
+   * @return The random number generator of the calling thread.
+   */
+  public static Random current() {
+    if (seed == null) {
+      return ThreadLocalRandom.current();
+    }
+    return STREAM.get();
+  }
+
+  private static Random stream(int index) {
+    return new SplittableStream(new SplittableRandom(mix64(seed + index * GOLDEN_GAMMA)));
+  }
+
+  /**
+   * The 64-bit finalizer SplittableRandom mixes its seeds with (Stafford's variant 13).
+   */
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * A Random drawing from a SplittableRandom, without the atomic seed updates of Random.
+   */
+  private static final class SplittableStream extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private final SplittableRandom random;
+
+    private SplittableStream(SplittableRandom random) {
+      this.random = random;
+    }
+
+    @Override
+    protected int next(int bits) {
+      return random.nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+      return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+      return random.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+      return random.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+      return random.nextBoolean();
+    }
+  }
+}
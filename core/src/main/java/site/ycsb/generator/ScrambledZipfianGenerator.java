@@ -75,7 +75,7 @@ zipfian constant
 
   /**
    * Create a zipfian generator for items between min and max (inclusive) for the specified zipfian constant. If you
-   * use a zipfian constant other than 0.99, this will take a long time to complete because we need to recompute zeta.
+   * use a zipfian constant other than 0.99, zeta is computed for it as configured with {@link Zeta}.
    *
    * @param min             The smallest integer to generate in the sequence.
    * @param max             The largest integer to generate in the sequence.
@@ -17,8 +17,6 @@
 
 package site.ycsb.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * Generates longs randomly uniform from an interval.
  */
@@ -41,7 +39,7 @@ public class UniformLongGenerator extends NumberGenerator {
 
   @Override
   public Long nextValue() {
-    long ret = Math.abs(ThreadLocalRandom.current().nextLong()) % interval  + lb;
+    long ret = Math.abs(RandomStreams.current().nextLong()) % interval  + lb;
     setLastValue(ret);
 
     return ret;
@@ -17,8 +17,6 @@
 
 package site.ycsb.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * A generator of a zipfian distribution. It produces a sequence of items, such that some items are more popular than
  * others, according to a zipfian distribution. When you construct an instance of this class, you specify the number
@@ -30,12 +28,11 @@ import java.util.concurrent.ThreadLocalRandom;
  * popular, and so on (or min is the most popular, min+1 the next most popular, etc.) If you don't want this clustering,
  * and instead want the popular items scattered throughout the item space, then use ScrambledZipfianGenerator instead.
  *
- * Be aware: initializing this generator may take a long time if there are lots of items to choose from (e.g. over a
- * minute for 100 million objects). This is because certain mathematical values need to be computed to properly
- * generate a zipfian skew, and one of those values (zeta) is a sum sequence from 1 to n, where n is the itemcount.
- * Note that if you increase the number of items in the set, we can compute a new zeta incrementally, so it should be
- * fast unless you have added millions of items. However, if you decrease the number of items, we recompute zeta from
- * scratch, so this can take a long time.
+ * Certain mathematical values need to be computed to properly generate a zipfian skew, and one of those values (zeta)
+ * is a sum sequence from 1 to n, where n is the itemcount. {@link Zeta} sums it exactly for small item counts and
+ * approximates it for large ones (see "zipfian.zeta"), so initializing this generator is fast however many items
+ * there are. If you increase the number of items in the set, we compute the new zeta incrementally. However, if you
+ * decrease the number of items, we recompute zeta from scratch.
  *
  * The algorithm used here is from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994.
  */
@@ -168,7 +165,7 @@ public class ZipfianGenerator extends NumberGenerator {
    * @param theta The zipfian constant.
    */
   static double zetastatic(long n, double theta) {
-    return zetastatic(0, n, theta, 0);
+    return Zeta.zeta(n, theta);
   }
 
   /**
@@ -196,15 +193,7 @@ public class ZipfianGenerator extends NumberGenerator {
    * @param initialsum The value of zeta we are computing incrementally from.
    */
   static double zetastatic(long st, long n, double theta, double initialsum) {
-    double sum = initialsum;
-    for (long i = st; i < n; i++) {
-
-      sum += 1 / (Math.pow(i + 1, theta));
-    }
-
-    //System.out.println("countforzeta="+countforzeta);
-
-    return sum;
+    return Zeta.zeta(st, n, theta, initialsum);
   }
 
   /****************************************************************************************/
@@ -247,7 +236,7 @@ public class ZipfianGenerator extends NumberGenerator {
       }
     }
 
-    double u = ThreadLocalRandom.current().nextDouble();
+    double u = RandomStreams.current().nextDouble();
     double uz = u * zetan;
 
     if (uz < 1.0) {
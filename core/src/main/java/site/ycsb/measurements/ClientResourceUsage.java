@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.DecimalFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The CPU time and heap allocations of the client itself, to compare how much load generator a
+ * binding needs per operation.
+ *
+ * Each operation is charged the CPU time and allocations of its calling thread from the start of
+ * the DB call to its return, which covers the binding and its driver but not the workload; each
+ * client thread is charged everything it did from start to end, workload included. Both are
+ * read from the JVM's {@link ThreadMXBean}. Allocated bytes need a JVM that implements
+ * com.sun.management.ThreadMXBean, such as HotSpot; on others, and for threads the JVM does not
+ * measure (such as virtual threads on some JVMs), only what can be measured is reported.
+ */
+public final class ClientResourceUsage {
+  private static final long UNKNOWN = -1;
+
+  /**
+   * What the operations of one type used.
+   */
+  private static final class Usage {
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder cpuOperations = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder allocatedOperations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private void add(long ops, long cpu, long bytes) {
+      operations.add(ops);
+      if (cpu >= 0) {
+        cpuOperations.add(ops);
+        cpuNanos.add(cpu);
+      }
+      if (bytes >= 0) {
+        allocatedOperations.add(ops);
+        allocatedBytes.add(bytes);
+      }
+    }
+
+    /**
+     * @return operations, operations with CPU time, CPU time, operations with allocations, allocations.
+     */
+    private long[] snapshot() {
+      return new long[] {operations.sum(), cpuOperations.sum(), cpuNanos.sum(), allocatedOperations.sum(),
+          allocatedBytes.sum()};
+    }
+  }
+
+  /**
+   * Where the calling thread was when its current operation started.
+   */
+  private static final class Start {
+    private long cpuNanos;
+    private long allocatedBytes;
+  }
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final com.sun.management.ThreadMXBean allocations;
+  private final ConcurrentHashMap<String, Usage> operations = new ConcurrentHashMap<>();
+  private final Usage clientThreads = new Usage();
+  private final ThreadLocal<Start> start = new ThreadLocal<Start>() {
+    @Override
+    protected Start initialValue() {
+      return new Start();
+    }
+  };
+
+  // what the previous summary saw, by operation
+  private final Map<String, long[]> lastSummary = new TreeMap<>();
+
+  ClientResourceUsage() {
+    if (threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+      threads.setThreadCpuTimeEnabled(true);
+    }
+    com.sun.management.ThreadMXBean sunThreads = null;
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      sunThreads = (com.sun.management.ThreadMXBean) threads;
+      if (!sunThreads.isThreadAllocatedMemorySupported()) {
+        sunThreads = null;
+      } else if (!sunThreads.isThreadAllocatedMemoryEnabled()) {
+        sunThreads.setThreadAllocatedMemoryEnabled(true);
+      }
+    }
+    allocations = sunThreads;
+  }
+
+  /**
+   * @return The CPU time of the calling thread in nanoseconds, or -1 if not measured.
+   */
+  private long cpuNanos() {
+    try {
+      return threads.getCurrentThreadCpuTime();
+    } catch (UnsupportedOperationException e) {
+      return UNKNOWN;
+    }
+  }
+
+  /**
+   * @return The bytes allocated by the calling thread, or -1 if not measured.
+   */
+  private long allocatedBytes() {
+    if (allocations == null) {
+      return UNKNOWN;
+    }
+    return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Note the start of an operation on the calling thread.
+   */
+  public void startOperation() {
+    Start s = start.get();
+    s.cpuNanos = cpuNanos();
+    s.allocatedBytes = allocatedBytes();
+  }
+
+  /**
+   * Charge what the calling thread used since {@link #startOperation()} to an operation.
+   *
+   * @param operation The operation name, e.g. "READ".
+   */
+  public void endOperation(String operation) {
+    long cpu = cpuNanos();
+    long bytes = allocatedBytes();
+    Start s = start.get();
+    Usage usage = operations.get(operation);
+    if (usage == null) {
+      operations.putIfAbsent(operation, new Usage());
+      usage = operations.get(operation);
+    }
+    usage.add(1, difference(s.cpuNanos, cpu), difference(s.allocatedBytes, bytes));
+  }
+
+  /**
+   * Charge everything the calling client thread used to the client threads, at the end of its
+   * run.
+   *
+   * @param ops The operations the thread did.
+   */
+  public void endClientThread(long ops) {
+    clientThreads.add(ops, cpuNanos(), allocatedBytes());
+  }
+
+  private static long difference(long before, long after) {
+    if (before < 0 || after < 0) {
+      return UNKNOWN;
+    }
+    return after - before;
+  }
+
+  /**
+   * @return The CPU time and allocations per operation of each type since the previous summary.
+   */
+  public synchronized String getSummary() {
+    DecimalFormat d = new DecimalFormat("#.##");
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Usage> entry : new TreeMap<>(operations).entrySet()) {
+      long[] now = entry.getValue().snapshot();
+      long[] last = lastSummary.get(entry.getKey());
+      if (last == null) {
+        last = new long[now.length];
+      }
+      lastSummary.put(entry.getKey(), now);
+      if (now[0] == last[0]) {
+        continue;
+      }
+      sb.append("[CLIENT-").append(entry.getKey()).append(":");
+      if (now[1] > last[1]) {
+        sb.append(" CpuTime(us/op)=").append(d.format((now[2] - last[2]) / 1000.0 / (now[1] - last[1])));
+      }
+      if (now[3] > last[3]) {
+        sb.append(" Allocated(bytes/op)=").append(d.format((now[4] - last[4]) / (double) (now[3] - last[3])));
+      }
+      sb.append("] ");
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Export the CPU time and allocations per operation of each type, and of the client threads
+   * over the whole run.
+   */
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    for (Map.Entry<String, Usage> entry : new TreeMap<>(operations).entrySet()) {
+      export(exporter, entry.getKey(), entry.getValue().snapshot(), "ClientCpuTime", "ClientAllocated");
+    }
+    long[] total = clientThreads.snapshot();
+    if (total[0] > 0) {
+      if (total[1] > 0) {
+        exporter.write("CLIENT_THREADS", "CpuTime(ms)", total[2] / 1000000);
+      }
+      if (total[3] > 0) {
+        exporter.write("CLIENT_THREADS", "Allocated(MB)", total[4] / (1024 * 1024));
+      }
+      export(exporter, "CLIENT_THREADS", total, "CpuTime", "Allocated");
+    }
+  }
+
+  private static void export(MeasurementsExporter exporter, String metric, long[] usage, String cpu,
+                             String allocated) throws IOException {
+    if (usage[1] > 0) {
+      exporter.write(metric, cpu + "(us/op)", usage[2] / 1000.0 / usage[1]);
+    }
+    if (usage[3] > 0) {
+      exporter.write(metric, allocated + "(bytes/op)", usage[4] / (double) usage[3]);
+    }
+  }
+}
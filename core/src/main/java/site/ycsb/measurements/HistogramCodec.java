@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+
+/**
+ * Converts HdrHistograms to and from the compressed, Base64 encoded form used both by the
+ * histogram logs of "hdrhistogram.fileoutput" and between coordinator and workers.
+ */
+public final class HistogramCodec {
+
+  private HistogramCodec() {
+    // not used
+  }
+
+  /**
+   * @return The histogram, compressed and Base64 encoded.
+   */
+  public static String encode(Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+  }
+
+  /**
+   * @param encoded A histogram from {@link #encode} or a histogram log.
+   * @return The decoded histogram.
+   * @throws IOException if it is not a valid encoded histogram.
+   */
+  public static Histogram decode(String encoded) throws IOException {
+    try {
+      return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+    } catch (DataFormatException | IllegalArgumentException e) {
+      throw new IOException("Could not decode histogram", e);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import site.ycsb.Status;
+
+/**
+ * A measurement name resolved against {@link Measurements} once, so recording a value does not
+ * look anything up. Obtained from {@link Measurements#getHandle(String)}; all handles for the
+ * same name share the same underlying measurements.
+ */
+public final class MeasurementHandle {
+  private final String name;
+  private final OneMeasurement measurement;
+  private final OneMeasurement intended;
+  private final OneMeasurement status;
+
+  /**
+   * @param name        The measurement name.
+   * @param measurement Where latencies from the actual start are recorded, or null to drop them.
+   * @param intended    Where latencies from the intended start are recorded, or null to drop them.
+   * @param status      Where return codes are counted.
+   */
+  MeasurementHandle(String name, OneMeasurement measurement, OneMeasurement intended, OneMeasurement status) {
+    this.name = name;
+    this.measurement = measurement;
+    this.intended = intended;
+    this.status = status;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Report a latency measured from the actual start of an operation.
+   */
+  public void measure(int latency) {
+    if (measurement != null) {
+      record(measurement, latency);
+    }
+  }
+
+  /**
+   * Report a latency measured from the intended start of an operation.
+   */
+  public void measureIntended(int latency) {
+    if (intended != null) {
+      record(intended, latency);
+    }
+  }
+
+  /**
+   * Report a latency in nanoseconds measured from the actual start of an operation.
+   */
+  public void measureNanos(long latencyNanos) {
+    if (measurement != null) {
+      recordNanos(measurement, latencyNanos, null);
+    }
+  }
+
+  /**
+   * Report a latency in nanoseconds measured from the intended start of an operation.
+   */
+  public void measureIntendedNanos(long latencyNanos) {
+    if (intended != null) {
+      recordNanos(intended, latencyNanos, null);
+    }
+  }
+
+  /**
+   * Report a latency in nanoseconds measured from the actual start of an operation, together with
+   * its return code.
+   */
+  public void measureNanos(long latencyNanos, Status result) {
+    if (measurement != null) {
+      recordNanos(measurement, latencyNanos, result);
+    }
+  }
+
+  /**
+   * Report a latency in nanoseconds measured from the intended start of an operation, together
+   * with its return code.
+   */
+  public void measureIntendedNanos(long latencyNanos, Status result) {
+    if (intended != null) {
+      recordNanos(intended, latencyNanos, result);
+    }
+  }
+
+  /**
+   * Report the return code of an operation.
+   */
+  public void reportStatus(Status result) {
+    status.reportStatus(result);
+  }
+
+  private static void recordNanos(OneMeasurement m, long latencyNanos, Status result) {
+    try {
+      m.measureNanos(latencyNanos, result);
+    } catch (java.lang.ArrayIndexOutOfBoundsException e) {
+      Measurements.ignoreMeasurementError(e);
+    }
+  }
+
+  private static void record(OneMeasurement m, int latency) {
+    try {
+      m.measure(latency);
+    } catch (java.lang.ArrayIndexOutOfBoundsException e) {
+      Measurements.ignoreMeasurementError(e);
+    }
+  }
+}
@@ -21,8 +21,12 @@ import site.ycsb.Status;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
 
 /**
  * Collects latency measurements, and reports them when requested.
@@ -36,8 +40,10 @@ public class Measurements {
     HDRHISTOGRAM,
     HDRHISTOGRAM_AND_HISTOGRAM,
     HDRHISTOGRAM_AND_RAW,
+    HDRHISTOGRAM_AND_RAWLOG,
     TIMESERIES,
-    RAW
+    RAW,
+    RAWLOG
   }
 
   public static final String MEASUREMENT_TYPE_PROPERTY = "measurementtype";
@@ -49,6 +55,12 @@ public class Measurements {
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY = "measurement.trackjvm";
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT = "false";
 
+  /**
+   * Whether to measure the CPU time and allocations of the client per operation.
+   */
+  public static final String MEASUREMENT_CLIENT_RESOURCES_PROPERTY = "measurement.clientresources";
+  public static final String MEASUREMENT_CLIENT_RESOURCES_PROPERTY_DEFAULT = "false";
+
   private static Measurements singleton = null;
   private static Properties measurementproperties = null;
 
@@ -68,9 +80,13 @@ public class Measurements {
 
   private final ConcurrentHashMap<String, OneMeasurement> opToMesurementMap;
   private final ConcurrentHashMap<String, OneMeasurement> opToIntendedMesurementMap;
+  private final ConcurrentHashMap<String, MeasurementHandle> opToHandleMap;
   private final MeasurementType measurementType;
   private final int measurementInterval;
   private final Properties props;
+  private final Properties valueProps;
+  private RawLatencyLog rawLatencyLog;
+  private final ClientResourceUsage resourceUsage;
 
   /**
    * Create a new object with the specified properties.
@@ -78,8 +94,12 @@ public class Measurements {
   public Measurements(Properties props) {
     opToMesurementMap = new ConcurrentHashMap<>();
     opToIntendedMesurementMap = new ConcurrentHashMap<>();
+    opToHandleMap = new ConcurrentHashMap<>();
 
     this.props = props;
+    // values which are not latencies are kept as they are, whatever unit latencies are kept in
+    valueProps = new Properties(props);
+    valueProps.setProperty(OneMeasurement.LATENCY_UNIT_PROPERTY, OneMeasurement.LATENCY_UNIT_PROPERTY_DEFAULT);
 
     String mTypeString = this.props.getProperty(MEASUREMENT_TYPE_PROPERTY, MEASUREMENT_TYPE_PROPERTY_DEFAULT);
     switch (mTypeString) {
@@ -101,6 +121,12 @@ public class Measurements {
     case "raw":
       measurementType = MeasurementType.RAW;
       break;
+    case "rawlog":
+      measurementType = MeasurementType.RAWLOG;
+      break;
+    case "hdrhistogram+rawlog":
+      measurementType = MeasurementType.HDRHISTOGRAM_AND_RAWLOG;
+      break;
     default:
       throw new IllegalArgumentException("unknown " + MEASUREMENT_TYPE_PROPERTY + "=" + mTypeString);
     }
@@ -119,31 +145,97 @@ public class Measurements {
     default:
       throw new IllegalArgumentException("unknown " + MEASUREMENT_INTERVAL + "=" + mIntervalString);
     }
+
+    if (Boolean.parseBoolean(this.props.getProperty(MEASUREMENT_CLIENT_RESOURCES_PROPERTY,
+        MEASUREMENT_CLIENT_RESOURCES_PROPERTY_DEFAULT))) {
+      resourceUsage = new ClientResourceUsage();
+    } else {
+      resourceUsage = null;
+    }
+  }
+
+  /**
+   * A value of the workload reported with the measurements.
+   */
+  private static final class Gauge {
+    private final String measurement;
+    private final String metric;
+    private final LongSupplier value;
+
+    Gauge(String measurement, String metric, LongSupplier value) {
+      this.measurement = measurement;
+      this.metric = metric;
+      this.value = value;
+    }
+  }
+
+  private final List<Gauge> gauges = new CopyOnWriteArrayList<>();
+
+  /**
+   * Report a value of the workload, such as the number of operations it has pending, with each
+   * status and at the end of the run.
+   *
+   * @param measurement The measurement it is reported under, e.g. "INSERT-INFLIGHT".
+   * @param metric      The name of the value, e.g. "Max".
+   * @param value       Reads the current value.
+   */
+  public void addGauge(String measurement, String metric, LongSupplier value) {
+    gauges.add(new Gauge(measurement, metric, value));
+  }
+
+  /**
+   * @return Where to charge the CPU time and allocations of the client, or null if they are not
+   * measured.
+   */
+  public ClientResourceUsage getResourceUsage() {
+    return resourceUsage;
   }
 
   private OneMeasurement constructOneMeasurement(String name) {
+    return constructOneMeasurement(name, props);
+  }
+
+  private OneMeasurement constructOneMeasurement(String name, Properties properties) {
     switch (measurementType) {
     case HISTOGRAM:
-      return new OneMeasurementHistogram(name, props);
+      return new OneMeasurementHistogram(name, properties);
     case HDRHISTOGRAM:
-      return new OneMeasurementHdrHistogram(name, props);
+      return new OneMeasurementHdrHistogram(name, properties);
     case HDRHISTOGRAM_AND_HISTOGRAM:
       return new TwoInOneMeasurement(name,
-          new OneMeasurementHdrHistogram("Hdr" + name, props),
-          new OneMeasurementHistogram("Bucket" + name, props));
+          new OneMeasurementHdrHistogram("Hdr" + name, properties),
+          new OneMeasurementHistogram("Bucket" + name, properties));
     case HDRHISTOGRAM_AND_RAW:
       return new TwoInOneMeasurement(name,
-          new OneMeasurementHdrHistogram("Hdr" + name, props),
-          new OneMeasurementRaw("Raw" + name, props));
+          new OneMeasurementHdrHistogram("Hdr" + name, properties),
+          new OneMeasurementRaw("Raw" + name, properties));
     case TIMESERIES:
-      return new OneMeasurementTimeSeries(name, props);
+      return new OneMeasurementTimeSeries(name, properties);
     case RAW:
-      return new OneMeasurementRaw(name, props);
+      return new OneMeasurementRaw(name, properties);
+    case RAWLOG:
+      return new OneMeasurementRawLog(name, properties, getRawLatencyLog());
+    case HDRHISTOGRAM_AND_RAWLOG:
+      return new TwoInOneMeasurement(name,
+          new OneMeasurementHdrHistogram("Hdr" + name, properties),
+          new OneMeasurementRawLog("Raw" + name, properties, getRawLatencyLog()));
     default:
       throw new AssertionError("Impossible to be here. Dead code reached. Bugs?");
     }
   }
 
+  /**
+   * @return The log shared by all raw log measurements, created on first use.
+   */
+  private synchronized RawLatencyLog getRawLatencyLog() {
+    if (rawLatencyLog == null) {
+      String unit = props.getProperty(OneMeasurement.LATENCY_UNIT_PROPERTY,
+          OneMeasurement.LATENCY_UNIT_PROPERTY_DEFAULT);
+      rawLatencyLog = new RawLatencyLog(props, unit);
+    }
+    return rawLatencyLog;
+  }
+
   static class StartTimeHolder {
     protected long time;
 
@@ -176,6 +268,17 @@ public class Measurements {
     return tlIntendedStartTime.get().startTime();
   }
 
+  /**
+   * Report an ArrayIndexOutOfBoundsException thrown while recording a measurement, which is then
+   * ignored.
+   */
+  static void ignoreMeasurementError(ArrayIndexOutOfBoundsException e) {
+    // This seems like a terribly hacky way to cover up for a bug in the measurement code
+    System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
+    e.printStackTrace();
+    e.printStackTrace(System.out);
+  }
+
   /**
    * Report a single value of a single metric. E.g. for read latency, operation="READ" and latency is the measured
    * value.
@@ -188,10 +291,7 @@ public class Measurements {
       OneMeasurement m = getOpMeasurement(operation);
       m.measure(latency);
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
-      // This seems like a terribly hacky way to cover up for a bug in the measurement code
-      System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
-      e.printStackTrace();
-      e.printStackTrace(System.out);
+      ignoreMeasurementError(e);
     }
   }
 
@@ -207,13 +307,52 @@ public class Measurements {
       OneMeasurement m = getOpIntendedMeasurement(operation);
       m.measure(latency);
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
-      // This seems like a terribly hacky way to cover up for a bug in the measurement code
-      System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
-      e.printStackTrace();
-      e.printStackTrace(System.out);
+      ignoreMeasurementError(e);
+    }
+  }
+
+  /**
+   * Report a single value which is not a latency, such as a thread count, under its own name. The
+   * value is kept as it is whatever "measurement.latencyunit" is, and recorded whichever latencies
+   * "measurement.interval" asks for.
+   */
+  public void measureValue(String name, int value) {
+    OneMeasurement m = opToMesurementMap.get(name);
+    if (m == null) {
+      m = constructOneMeasurement(name, valueProps);
+      OneMeasurement oldM = opToMesurementMap.putIfAbsent(name, m);
+      if (oldM != null) {
+        m = oldM;
+      }
+    }
+    try {
+      m.measure(value);
+    } catch (java.lang.ArrayIndexOutOfBoundsException e) {
+      ignoreMeasurementError(e);
     }
   }
 
+  /**
+   * Report a single latency of a single metric in nanoseconds. Measurements keep it at the
+   * resolution of "measurement.latencyunit".
+   */
+  public void measureNanos(String operation, long latencyNanos) {
+    if (measurementInterval == 1) {
+      return;
+    }
+    getOpMeasurement(operation).measureNanos(latencyNanos);
+  }
+
+  /**
+   * Report a single latency from the intended start of an operation in nanoseconds.
+   */
+  public void measureIntendedNanos(String operation, long latencyNanos) {
+    if (measurementInterval == 0) {
+      return;
+    }
+    getOpIntendedMeasurement(operation).measureNanos(latencyNanos);
+  }
+
   private OneMeasurement getOpMeasurement(String operation) {
     OneMeasurement m = opToMesurementMap.get(operation);
     if (m == null) {
@@ -239,6 +378,37 @@ public class Measurements {
     return m;
   }
 
+  /**
+   * Resolve an operation to a handle for recording its latencies and return codes. Callers on a
+   * hot path should keep the handle instead of calling this for every operation.
+   *
+   * Both the latency and the intended latency measurement the "measurement.interval" asks for are
+   * created up front, under the same names {@link #measure} and {@link #measureIntended} use.
+   */
+  public MeasurementHandle getHandle(String operation) {
+    MeasurementHandle h = opToHandleMap.get(operation);
+    if (h == null) {
+      OneMeasurement m = null;
+      OneMeasurement intended = null;
+      if (measurementInterval != 1) {
+        m = getOpMeasurement(operation);
+      }
+      if (measurementInterval != 0) {
+        intended = getOpIntendedMeasurement(operation);
+      }
+      OneMeasurement status = m;
+      if (measurementInterval == 1) {
+        status = intended;
+      }
+      h = new MeasurementHandle(operation, m, intended, status);
+      MeasurementHandle oldH = opToHandleMap.putIfAbsent(operation, h);
+      if (oldH != null) {
+        h = oldH;
+      }
+    }
+    return h;
+  }
+
   /**
    * Report a return code for a single DB operation.
    */
@@ -262,6 +432,21 @@ public class Measurements {
     for (OneMeasurement measurement : opToIntendedMesurementMap.values()) {
       measurement.exportMeasurements(exporter);
     }
+    if (resourceUsage != null) {
+      resourceUsage.exportMeasurements(exporter);
+    }
+    for (Gauge gauge : gauges) {
+      exporter.write(gauge.measurement, gauge.metric, gauge.value.getAsLong());
+    }
+  }
+
+  /**
+   * @return Every measurement created so far, of latencies from the actual and from the intended start.
+   */
+  public List<OneMeasurement> getOneMeasurements() {
+    List<OneMeasurement> all = new ArrayList<>(opToMesurementMap.values());
+    all.addAll(opToIntendedMesurementMap.values());
+    return all;
   }
 
   /**
@@ -275,6 +460,25 @@ public class Measurements {
     for (OneMeasurement m : opToIntendedMesurementMap.values()) {
       ret += m.getSummary() + " ";
     }
+    if (resourceUsage != null) {
+      ret += resourceUsage.getSummary();
+    }
+    String measurement = null;
+    for (Gauge gauge : gauges) {
+      if (gauge.measurement.equals(measurement)) {
+        ret += " ";
+      } else {
+        if (measurement != null) {
+          ret += "] ";
+        }
+        measurement = gauge.measurement;
+        ret += "[" + measurement + ": ";
+      }
+      ret += gauge.metric + "=" + gauge.value.getAsLong();
+    }
+    if (measurement != null) {
+      ret += "] ";
+    }
     return ret;
   }
 
@@ -17,11 +17,14 @@
 
 package site.ycsb.measurements;
 
+import org.HdrHistogram.Histogram;
 import site.ycsb.Status;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -30,8 +33,20 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public abstract class OneMeasurement {
 
+  /**
+   * The name of the property for the unit latencies are kept and exported in: "us" (default) or
+   * "ns". Nanoseconds resolve sub-microsecond operations of in-memory stores.
+   */
+  public static final String LATENCY_UNIT_PROPERTY = "measurement.latencyunit";
+
+  /**
+   * The default value for the measurement.latencyunit property.
+   */
+  public static final String LATENCY_UNIT_PROPERTY_DEFAULT = "us";
+
   private final String name;
   private final ConcurrentHashMap<Status, AtomicInteger> returncodes;
+  private final boolean nanos;
 
   public String getName() {
     return name;
@@ -43,16 +58,101 @@ public abstract class OneMeasurement {
   public OneMeasurement(String name) {
     this.name = name;
     this.returncodes = new ConcurrentHashMap<>();
+    this.nanos = false;
+  }
+
+  /**
+   * @param name measurement name
+   * @param props properties, for the latency unit
+   */
+  public OneMeasurement(String name, Properties props) {
+    this.name = name;
+    this.returncodes = new ConcurrentHashMap<>();
+    String unit = props.getProperty(LATENCY_UNIT_PROPERTY, LATENCY_UNIT_PROPERTY_DEFAULT);
+    switch (unit) {
+    case "us":
+      nanos = false;
+      break;
+    case "ns":
+      nanos = true;
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + LATENCY_UNIT_PROPERTY + "=" + unit);
+    }
   }
 
+  /**
+   * Record a latency given in microseconds.
+   */
   public abstract void measure(int latency);
 
+  /**
+   * Record a latency given in nanoseconds. Measurements kept in microseconds truncate it, exactly
+   * like callers of {@link #measure(int)} used to.
+   */
+  public void measureNanos(long latencyNanos) {
+    measure((int) Math.min(latencyNanos / 1000, Integer.MAX_VALUE));
+  }
+
+  /**
+   * Record a latency given in nanoseconds together with the return code of the operation. Only
+   * measurements which keep individual operations use the return code.
+   */
+  public void measureNanos(long latencyNanos, Status status) {
+    measureNanos(latencyNanos);
+  }
+
+  /**
+   * @return The unit latencies are kept in, "us" or "ns", for labeling exported values.
+   */
+  protected final String unit() {
+    if (nanos) {
+      return "ns";
+    }
+    return "us";
+  }
+
+  /**
+   * Convert a latency in microseconds to the unit latencies are kept in.
+   */
+  protected final long fromMicros(int latencyMicros) {
+    if (nanos) {
+      return latencyMicros * 1000L;
+    }
+    return latencyMicros;
+  }
+
+  /**
+   * Convert a latency in nanoseconds to the unit latencies are kept in.
+   */
+  protected final long fromNanos(long latencyNanos) {
+    if (nanos) {
+      return latencyNanos;
+    }
+    return latencyNanos / 1000;
+  }
+
   public abstract String getSummary();
 
+  /**
+   * @return A copy of all latencies recorded so far, or null if this measurement does not keep a
+   * histogram of them.
+   */
+  public Histogram getTotalHistogram() {
+    return null;
+  }
+
   /**
    * No need for synchronization, using CHM to deal with that.
    */
   public void reportStatus(Status status) {
+    reportStatus(status, 1);
+  }
+
+  /**
+   * Count several operations with the same return code at once.
+   */
+  public void reportStatus(Status status, int count) {
     AtomicInteger counter = returncodes.get(status);
 
     if (counter == null) {
@@ -63,7 +163,18 @@ public abstract class OneMeasurement {
       }
     }
 
-    counter.incrementAndGet();
+    counter.addAndGet(count);
+  }
+
+  /**
+   * @return The number of operations reported so far for each return code, by status name.
+   */
+  public Map<String, Integer> getStatusCounts() {
+    Map<String, Integer> counts = new HashMap<>();
+    for (Map.Entry<Status, AtomicInteger> entry : returncodes.entrySet()) {
+      counts.put(entry.getKey().getName(), entry.getValue().get());
+    }
+    return counts;
   }
 
   /**
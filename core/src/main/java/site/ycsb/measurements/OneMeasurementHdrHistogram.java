@@ -22,6 +22,7 @@ import org.HdrHistogram.Histogram;
 import org.HdrHistogram.HistogramIterationValue;
 import org.HdrHistogram.HistogramLogWriter;
 import org.HdrHistogram.Recorder;
+import org.HdrHistogram.SingleWriterRecorder;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -31,10 +32,15 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Take measurements and maintain a HdrHistogram of a given metric, such as READ LATENCY.
  *
+ * By default all threads record into one shared {@link Recorder}. With "hdrhistogram.perthread"
+ * each thread records into its own {@link SingleWriterRecorder}, and the threads' histograms are
+ * only merged when a summary or the final export is taken, so recording threads never write to
+ * the same counts.
  */
 public class OneMeasurementHdrHistogram extends OneMeasurement {
 
@@ -42,9 +48,18 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
   private final PrintStream log;
   private final HistogramLogWriter histogramLogWriter;
 
+  /** The shared recorder, or null when each thread has its own. */
   private final Recorder histogram;
+  private final ThreadLocal<ThreadRecorder> threadRecorder;
+  private final List<ThreadRecorder> threadRecorders = new CopyOnWriteArrayList<>();
   private Histogram totalHistogram;
 
+  /**
+   * Intervals taken to bring the total up to date between two summaries, which the next summary
+   * still has to cover. Null if there are none.
+   */
+  private Histogram unsummarized;
+
   /**
    * The name of the property for deciding what percentile values to output.
    */
@@ -60,6 +75,27 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
    */
   public static final String VERBOSE_PROPERTY = "measurement.histogram.verbose";
 
+  /**
+   * The name of the property for recording into one histogram per thread.
+   */
+  public static final String PER_THREAD_PROPERTY = "hdrhistogram.perthread";
+
+  /**
+   * The default value for the hdrhistogram.perthread property.
+   */
+  public static final String PER_THREAD_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The name of the property for also exporting the histogram of each thread, which shows
+   * imbalanced threads. Only used together with hdrhistogram.perthread.
+   */
+  public static final String PER_THREAD_EXPORT_PROPERTY = "hdrhistogram.perthread.export";
+
+  /**
+   * The default value for the hdrhistogram.perthread.export property.
+   */
+  public static final String PER_THREAD_EXPORT_PROPERTY_DEFAULT = "false";
+
   /**
    * Whether or not to emit the histogram buckets.
    */
@@ -67,8 +103,18 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
   
   private final List<Double> percentiles;
 
+  private final boolean exportPerThread;
+
+  /**
+   * The recorder of one thread, and its total if it is exported.
+   */
+  private static final class ThreadRecorder {
+    private final SingleWriterRecorder recorder = new SingleWriterRecorder(3);
+    private Histogram total;
+  }
+
   public OneMeasurementHdrHistogram(String name, Properties props) {
-    super(name);
+    super(name, props);
     percentiles = getPercentileValues(props.getProperty(PERCENTILES_PROPERTY, PERCENTILES_PROPERTY_DEFAULT));
     verbose = Boolean.valueOf(props.getProperty(VERBOSE_PROPERTY, String.valueOf(false)));
     boolean shouldLog = Boolean.parseBoolean(props.getProperty("hdrhistogram.fileoutput", "false"));
@@ -90,38 +136,62 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
       histogramLogWriter.setBaseTime(now);
       histogramLogWriter.outputLegend();
     }
-    histogram = new Recorder(3);
+    boolean perThread = Boolean.parseBoolean(props.getProperty(PER_THREAD_PROPERTY, PER_THREAD_PROPERTY_DEFAULT));
+    exportPerThread = perThread && Boolean.parseBoolean(props.getProperty(PER_THREAD_EXPORT_PROPERTY,
+        PER_THREAD_EXPORT_PROPERTY_DEFAULT));
+    if (perThread) {
+      histogram = null;
+      threadRecorder = new ThreadLocal<ThreadRecorder>() {
+        @Override
+        protected ThreadRecorder initialValue() {
+          ThreadRecorder t = new ThreadRecorder();
+          threadRecorders.add(t);
+          return t;
+        }
+      };
+    } else {
+      histogram = new Recorder(3);
+      threadRecorder = null;
+    }
   }
 
   /**
    * It appears latency is reported in micros.
-   * Using {@link Recorder} to support concurrent updates to histogram.
    */
   public void measure(int latencyInMicros) {
-    histogram.recordValue(latencyInMicros);
+    record(fromMicros(latencyInMicros));
+  }
+
+  @Override
+  public void measureNanos(long latencyNanos) {
+    record(fromNanos(latencyNanos));
+  }
+
+  /**
+   * Using {@link Recorder} to support concurrent updates to histogram, or a
+   * {@link SingleWriterRecorder} of the calling thread.
+   */
+  private void record(long latency) {
+    if (histogram != null) {
+      histogram.recordValue(latency);
+    } else {
+      threadRecorder.get().recorder.recordValue(latency);
+    }
   }
 
   /**
    * This is called from a main thread, on orderly termination.
    */
   @Override
-  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    // accumulate the last interval which was not caught by status thread
-    Histogram intervalHistogram = getIntervalHistogramAndAccumulate();
+  public synchronized void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    // accumulate the last interval which was not caught by status thread, with any a scrape held back from it
+    Histogram intervalHistogram = takeSummaryInterval();
     if (histogramLogWriter != null) {
       histogramLogWriter.outputIntervalHistogram(intervalHistogram);
       // we can close now
       log.close();
     }
-    exporter.write(getName(), "Operations", totalHistogram.getTotalCount());
-    exporter.write(getName(), "AverageLatency(us)", totalHistogram.getMean());
-    exporter.write(getName(), "MinLatency(us)", totalHistogram.getMinValue());
-    exporter.write(getName(), "MaxLatency(us)", totalHistogram.getMaxValue());
-
-    for (Double percentile : percentiles) {
-      exporter.write(getName(), ordinal(percentile) + "PercentileLatency(us)",
-          totalHistogram.getValueAtPercentile(percentile));
-    }
+    exportLatencies(exporter, getName(), totalHistogram);
 
     exportStatusCounts(exporter);
 
@@ -138,6 +208,27 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
         exporter.write(getName(), Integer.toString(value), (double)v.getCountAtValueIteratedTo());
       }
     }
+
+    if (exportPerThread) {
+      for (int i = 0; i < threadRecorders.size(); i++) {
+        Histogram threadTotal = threadRecorders.get(i).total;
+        if (threadTotal != null) {
+          exportLatencies(exporter, getName() + "-thread" + i, threadTotal);
+        }
+      }
+    }
+  }
+
+  private void exportLatencies(MeasurementsExporter exporter, String name, Histogram h) throws IOException {
+    exporter.write(name, "Operations", h.getTotalCount());
+    exporter.write(name, "AverageLatency(" + unit() + ")", h.getMean());
+    exporter.write(name, "MinLatency(" + unit() + ")", h.getMinValue());
+    exporter.write(name, "MaxLatency(" + unit() + ")", h.getMaxValue());
+
+    for (Double percentile : percentiles) {
+      exporter.write(name, ordinal(percentile) + "PercentileLatency(" + unit() + ")",
+          h.getValueAtPercentile(percentile));
+    }
   }
 
   /**
@@ -149,7 +240,7 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
    */
   @Override
   public String getSummary() {
-    Histogram intervalHistogram = getIntervalHistogramAndAccumulate();
+    Histogram intervalHistogram = takeSummaryInterval();
     // we use the summary interval as the histogram file interval.
     if (histogramLogWriter != null) {
       histogramLogWriter.outputIntervalHistogram(intervalHistogram);
@@ -164,17 +255,94 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
         + d.format(intervalHistogram.getValueAtPercentile(99.99)) + "]";
   }
 
-  private Histogram getIntervalHistogramAndAccumulate() {
-    Histogram intervalHistogram = histogram.getIntervalHistogram();
+  /**
+   * @return A copy of all latencies recorded so far, including the current interval. Does not
+   * change what the next summary covers.
+   */
+  @Override
+  public synchronized Histogram getTotalHistogram() {
+    holdForSummary(getIntervalHistogramAndAccumulate());
+    return totalHistogram.copy();
+  }
+
+  /**
+   * Add latencies recorded elsewhere, such as by another client process, to the total.
+   */
+  public synchronized void add(Histogram other) {
+    holdForSummary(getIntervalHistogramAndAccumulate());
+    totalHistogram.add(other);
+  }
+
+  private void holdForSummary(Histogram interval) {
+    if (unsummarized == null) {
+      unsummarized = interval;
+    } else {
+      unsummarized.add(interval);
+      unsummarized.setEndTimeStamp(interval.getEndTimeStamp());
+    }
+  }
+
+  /**
+   * @return The latencies recorded since the previous summary.
+   */
+  private synchronized Histogram takeSummaryInterval() {
+    Histogram interval = getIntervalHistogramAndAccumulate();
+    if (unsummarized == null) {
+      return interval;
+    }
+    Histogram held = unsummarized;
+    unsummarized = null;
+    held.add(interval);
+    held.setEndTimeStamp(interval.getEndTimeStamp());
+    return held;
+  }
+
+  private synchronized Histogram getIntervalHistogramAndAccumulate() {
+    Histogram intervalHistogram;
+    if (histogram != null) {
+      intervalHistogram = histogram.getIntervalHistogram();
+    } else {
+      intervalHistogram = mergeThreadIntervals();
+    }
     // add this to the total time histogram.
     if (totalHistogram == null) {
-      totalHistogram = intervalHistogram;
+      // a copy, as the interval may still be added to before a summary reports it
+      totalHistogram = intervalHistogram.copy();
     } else {
       totalHistogram.add(intervalHistogram);
     }
     return intervalHistogram;
   }
 
+  /**
+   * Take the interval histogram of every thread and merge them into one covering all of them.
+   */
+  private Histogram mergeThreadIntervals() {
+    Histogram merged = new Histogram(3);
+    long start = Long.MAX_VALUE;
+    long end = Long.MIN_VALUE;
+    for (ThreadRecorder t : threadRecorders) {
+      Histogram interval = t.recorder.getIntervalHistogram();
+      merged.add(interval);
+      start = Math.min(start, interval.getStartTimeStamp());
+      end = Math.max(end, interval.getEndTimeStamp());
+      if (exportPerThread) {
+        if (t.total == null) {
+          t.total = interval;
+        } else {
+          t.total.add(interval);
+        }
+      }
+    }
+    if (threadRecorders.isEmpty()) {
+      start = System.currentTimeMillis();
+      end = start;
+    }
+    merged.setStartTimeStamp(start);
+    merged.setEndTimeStamp(end);
+    return merged;
+  }
+
   /**
    * Helper method to parse the given percentile value string.
    *
@@ -22,6 +22,9 @@ import site.ycsb.measurements.exporter.MeasurementsExporter;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.Properties;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Take measurements and maintain a histogram of a given metric, such as READ LATENCY.
@@ -38,105 +41,119 @@ public class OneMeasurementHistogram extends OneMeasurement {
   private final int buckets;
 
   /**
-   * Groups operations in discrete blocks of 1ms width.
+   * The width of a bucket: 1ms, in the unit latencies are kept in. Buckets stay a millisecond wide
+   * with nanoseconds, so "histogram.buckets" covers the same range in either unit.
    */
-  private long[] histogram;
+  private final long bucketWidth;
+
+  /**
+   * Groups operations in discrete blocks of 1ms.
+   */
+  private final LongAdder[] histogram;
 
   /**
    * Counts all operations outside the histogram's range.
    */
-  private long histogramoverflow;
+  private final LongAdder histogramoverflow = new LongAdder();
 
   /**
    * The total number of reported operations.
    */
-  private long operations;
+  private final LongAdder operations = new LongAdder();
 
   /**
    * The sum of each latency measurement over all operations.
-   * Calculated in ms.
    */
-  private long totallatency;
+  private final LongAdder totallatency = new LongAdder();
 
   /**
    * The sum of each latency measurement squared over all operations. 
    * Used to calculate variance of latency.
-   * Calculated in ms. 
    */
-  private double totalsquaredlatency;
+  private final DoubleAdder totalsquaredlatency = new DoubleAdder();
 
   /**
    * Whether or not to emit the histogram buckets.
    */
   private final boolean verbose;
   
-  //keep a windowed version of these stats for printing status
-  private long windowoperations;
-  private long windowtotallatency;
+  //the totals at the last status, the window for printing status is what was added since
+  private long windowstartoperations;
+  private long windowstartlatency;
 
-  private int min;
-  private int max;
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
 
   public OneMeasurementHistogram(String name, Properties props) {
-    super(name);
+    super(name, props);
     buckets = Integer.parseInt(props.getProperty(BUCKETS, BUCKETS_DEFAULT));
+    bucketWidth = fromMicros(1000);
     verbose = Boolean.valueOf(props.getProperty(VERBOSE_PROPERTY, String.valueOf(false)));
-    histogram = new long[buckets];
-    histogramoverflow = 0;
-    operations = 0;
-    totallatency = 0;
-    totalsquaredlatency = 0;
-    windowoperations = 0;
-    windowtotallatency = 0;
-    min = -1;
-    max = -1;
+    histogram = new LongAdder[buckets];
+    for (int i = 0; i < buckets; i++) {
+      histogram[i] = new LongAdder();
+    }
+    windowstartoperations = 0;
+    windowstartlatency = 0;
   }
 
   /* (non-Javadoc)
    * @see site.ycsb.OneMeasurement#measure(int)
    */
-  public synchronized void measure(int latency) {
-    //latency reported in us and collected in bucket by ms.
-    if (latency / 1000 >= buckets) {
-      histogramoverflow++;
-    } else {
-      histogram[latency / 1000]++;
-    }
-    operations++;
-    totallatency += latency;
-    totalsquaredlatency += ((double) latency) * ((double) latency);
-    windowoperations++;
-    windowtotallatency += latency;
-
-    if ((min < 0) || (latency < min)) {
-      min = latency;
-    }
+  public void measure(int latency) {
+    record(fromMicros(latency));
+  }
 
-    if ((max < 0) || (latency > max)) {
-      max = latency;
+  @Override
+  public void measureNanos(long latencyNanos) {
+    record(fromNanos(latencyNanos));
+  }
+
+  /**
+   * Lock free: every statistic is a striped counter, so client threads do not wait for each
+   * other even when they hit the same bucket.
+   */
+  private void record(long latency) {
+    //latency collected in buckets of 1ms.
+    if (latency / bucketWidth >= buckets) {
+      histogramoverflow.increment();
+    } else {
+      histogram[(int) (latency / bucketWidth)].increment();
     }
+    totallatency.add(latency);
+    totalsquaredlatency.add(((double) latency) * ((double) latency));
+    min.accumulate(latency);
+    max.accumulate(latency);
+    // counted last, so a concurrent status never sees an operation without its latency
+    operations.increment();
   }
 
   @Override
   public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    double mean = totallatency / ((double) operations);
-    double variance = totalsquaredlatency / ((double) operations) - (mean * mean);
-    exporter.write(getName(), "Operations", operations);
-    exporter.write(getName(), "AverageLatency(us)", mean);
-    exporter.write(getName(), "LatencyVariance(us)", variance);
-    exporter.write(getName(), "MinLatency(us)", min);
-    exporter.write(getName(), "MaxLatency(us)", max);
+    long ops = operations.sum();
+    double mean = totallatency.sum() / ((double) ops);
+    double variance = totalsquaredlatency.sum() / ((double) ops) - (mean * mean);
+    exporter.write(getName(), "Operations", ops);
+    exporter.write(getName(), "AverageLatency(" + unit() + ")", mean);
+    exporter.write(getName(), "LatencyVariance(" + unit() + ")", variance);
+    if (ops == 0) {
+      exporter.write(getName(), "MinLatency(" + unit() + ")", -1L);
+      exporter.write(getName(), "MaxLatency(" + unit() + ")", -1L);
+    } else {
+      exporter.write(getName(), "MinLatency(" + unit() + ")", min.get());
+      exporter.write(getName(), "MaxLatency(" + unit() + ")", max.get());
+    }
 
     long opcounter=0;
     boolean done95th = false;
     for (int i = 0; i < buckets; i++) {
-      opcounter += histogram[i];
-      if ((!done95th) && (((double) opcounter) / ((double) operations) >= 0.95)) {
-        exporter.write(getName(), "95thPercentileLatency(us)", i * 1000);
+      opcounter += histogram[i].sum();
+      if ((!done95th) && (((double) opcounter) / ((double) ops) >= 0.95)) {
+        exporter.write(getName(), "95thPercentileLatency(" + unit() + ")", i * bucketWidth);
         done95th = true;
       }
-      if (((double) opcounter) / ((double) operations) >= 0.99) {
-        exporter.write(getName(), "99thPercentileLatency(us)", i * 1000);
+      if (((double) opcounter) / ((double) ops) >= 0.99) {
+        exporter.write(getName(), "99thPercentileLatency(" + unit() + ")", i * bucketWidth);
         break;
       }
     }
@@ -145,22 +162,28 @@ public class OneMeasurementHistogram extends OneMeasurement {
 
     if (verbose) {
       for (int i = 0; i < buckets; i++) {
-        exporter.write(getName(), Integer.toString(i), histogram[i]);
+        exporter.write(getName(), Integer.toString(i), histogram[i].sum());
       }
       
-      exporter.write(getName(), ">" + buckets, histogramoverflow);
+      exporter.write(getName(), ">" + buckets, histogramoverflow.sum());
     }
   }
 
+  /**
+   * Reads the counters without stopping writers. Only called by the single status thread.
+   */
   @Override
   public String getSummary() {
+    long ops = operations.sum();
+    long latency = totallatency.sum();
+    long windowoperations = ops - windowstartoperations;
     if (windowoperations == 0) {
       return "";
     }
     DecimalFormat d = new DecimalFormat("#.##");
-    double report = ((double) windowtotallatency) / ((double) windowoperations);
-    windowtotallatency = 0;
-    windowoperations = 0;
-    return "[" + getName() + " AverageLatency(us)=" + d.format(report) + "]";
+    double report = ((double) (latency - windowstartlatency)) / ((double) windowoperations);
+    windowstartoperations = ops;
+    windowstartlatency = latency;
+    return "[" + getName() + " AverageLatency(" + unit() + ")=" + d.format(report) + "]";
   }
 }
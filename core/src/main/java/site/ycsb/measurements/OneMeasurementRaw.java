@@ -40,9 +40,9 @@ public class OneMeasurementRaw extends OneMeasurement {
    */
   class RawDataPoint {
     private final long timestamp;
-    private final int value;
+    private final long value;
 
-    public RawDataPoint(int value) {
+    public RawDataPoint(long value) {
       this.timestamp = System.currentTimeMillis();
       this.value = value;
     }
@@ -51,7 +51,7 @@ public class OneMeasurementRaw extends OneMeasurement {
       return timestamp;
     }
 
-    public int value() {
+    public long value() {
       return value;
     }
   }
@@ -102,7 +102,7 @@ public class OneMeasurementRaw extends OneMeasurement {
   private long windowTotalLatency = 0;
 
   public OneMeasurementRaw(String name, Properties props) {
-    super(name);
+    super(name, props);
 
     String outputFilePath = props.getProperty(OUTPUT_FILE_PATH, OUTPUT_FILE_PATH_DEFAULT);
     if (!outputFilePath.isEmpty()) {
@@ -130,7 +130,16 @@ public class OneMeasurementRaw extends OneMeasurement {
   }
 
   @Override
-  public synchronized void measure(int latency) {
+  public void measure(int latency) {
+    record(fromMicros(latency));
+  }
+
+  @Override
+  public void measureNanos(long latencyNanos) {
+    record(fromNanos(latencyNanos));
+  }
+
+  private synchronized void record(long latency) {
     totalLatency += latency;
     windowTotalLatency += latency;
     windowOperations++;
@@ -145,7 +154,7 @@ public class OneMeasurementRaw extends OneMeasurement {
     // stdout.
 
     outputStream.println(getName() +
-        " latency raw data: op, timestamp(ms), latency(us)");
+        " latency raw data: op, timestamp(ms), latency(" + unit() + ")");
     for (RawDataPoint point : measurements) {
       outputStream.println(
           String.format("%s,%d,%d", getName(), point.timeStamp(),
@@ -158,8 +167,12 @@ public class OneMeasurementRaw extends OneMeasurement {
     int totalOps = measurements.size();
     exporter.write(getName(), "Total Operations", totalOps);
     if (totalOps > 0 && !noSummaryStats) {
+      String unitName = "microseconds";
+      if (unit().equals("ns")) {
+        unitName = "nanoseconds";
+      }
       exporter.write(getName(),
-          "Below is a summary of latency in microseconds:", -1);
+          "Below is a summary of latency in " + unitName + ":", -1);
       exporter.write(getName(), "Average",
           (double) totalLatency / (double) totalOps);
 
@@ -195,8 +208,8 @@ public class OneMeasurementRaw extends OneMeasurement {
       return "";
     }
 
-    String toReturn = String.format("%s count: %d, average latency(us): %.2f",
-        getName(), windowOperations,
+    String toReturn = String.format("%s count: %d, average latency(%s): %.2f",
+        getName(), windowOperations, unit(),
         (double) windowTotalLatency / (double) windowOperations);
 
     windowTotalLatency = 0;
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import site.ycsb.Status;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams every measurement into a {@link RawLatencyLog} instead of keeping it in memory, so
+ * full latency traces can be taken of runs of any length. Only the count, average, minimum and
+ * maximum are exported; percentiles and CSV are computed offline by {@link site.ycsb.RawLatencyLogReport},
+ * or online by combining this type with HdrHistogram.
+ */
+public class OneMeasurementRawLog extends OneMeasurement {
+  private final RawLatencyLog log;
+  private final int id;
+
+  private final LongAdder operations = new LongAdder();
+  private final LongAdder totalLatency = new LongAdder();
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+  // A window of stats to print summary for at the next getSummary() call.
+  private final LongAdder windowOperations = new LongAdder();
+  private final LongAdder windowTotalLatency = new LongAdder();
+
+  /**
+   * @param name  The measurement name.
+   * @param props The measurement properties.
+   * @param log   The log shared by all measurements, with the same latency unit.
+   */
+  public OneMeasurementRawLog(String name, Properties props, RawLatencyLog log) {
+    super(name, props);
+    this.log = log;
+    this.id = log.register(name);
+  }
+
+  @Override
+  public void measure(int latency) {
+    record(fromMicros(latency), null);
+  }
+
+  @Override
+  public void measureNanos(long latencyNanos) {
+    record(fromNanos(latencyNanos), null);
+  }
+
+  @Override
+  public void measureNanos(long latencyNanos, Status status) {
+    record(fromNanos(latencyNanos), status);
+  }
+
+  private void record(long latency, Status status) {
+    log.write(id, status, latency);
+    operations.increment();
+    totalLatency.add(latency);
+    min.accumulate(latency);
+    max.accumulate(latency);
+    windowOperations.increment();
+    windowTotalLatency.add(latency);
+  }
+
+  /**
+   * Closes the log, as exporting happens once all operations are done.
+   */
+  @Override
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    log.close();
+    long count = operations.sum();
+    exporter.write(getName(), "Operations", count);
+    if (count > 0) {
+      exporter.write(getName(), "AverageLatency(" + unit() + ")", (double) totalLatency.sum() / count);
+      exporter.write(getName(), "MinLatency(" + unit() + ")", min.get());
+      exporter.write(getName(), "MaxLatency(" + unit() + ")", max.get());
+    }
+    exportStatusCounts(exporter);
+  }
+
+  @Override
+  public String getSummary() {
+    long windowCount = windowOperations.sumThenReset();
+    long windowTotal = windowTotalLatency.sumThenReset();
+    if (windowCount == 0) {
+      return "";
+    }
+    return String.format("%s count: %d, average latency(%s): %.2f",
+        getName(), windowCount, unit(), (double) windowTotal / (double) windowCount);
+  }
+}
@@ -21,8 +21,15 @@ import site.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import java.util.Vector;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 class SeriesUnit {
   /**
@@ -40,6 +47,10 @@ class SeriesUnit {
 
 /**
  * A time series measurement of a metric, such as READ LATENCY.
+ *
+ * Each thread sums the latencies of the time unit it is recording into on its own, so recording
+ * takes no lock. When a thread moves on to the next unit it folds the completed one into the
+ * series shared by all threads, so memory does not grow with the number of threads.
  */
 public class OneMeasurementTimeSeries extends OneMeasurement {
 
@@ -49,98 +60,174 @@ public class OneMeasurementTimeSeries extends OneMeasurement {
   public static final String GRANULARITY = "timeseries.granularity";
   public static final String GRANULARITY_DEFAULT = "1000";
 
+  /**
+   * The operation count and latency sum of the time unit a single thread is recording into. Only
+   * written by its thread.
+   */
+  private final class ThreadSeries {
+    private int unit = -1;
+    private long count;
+    private long sum;
+
+    void add(int current, long latency) {
+      if (current != unit) {
+        if (count > 0) {
+          fold(unit, count, sum);
+        }
+        unit = current;
+        count = 0;
+        sum = 0;
+      }
+      count++;
+      sum += latency;
+    }
+  }
+
   private final int granularity;
-  private final Vector<SeriesUnit> measurements;
 
-  private long start = -1;
-  private long currentunit = -1;
-  private long count = 0;
-  private long sum = 0;
-  private long operations = 0;
-  private long totallatency = 0;
+  /** The time of the first measurement, or -1 before it. Units are counted from here. */
+  private final AtomicLong start = new AtomicLong(-1);
+  private final List<ThreadSeries> series = new CopyOnWriteArrayList<>();
+  /** The operation count and latency sum of each unit threads have completed, by unit number. */
+  private final Map<Integer, long[]> completed = new TreeMap<>();
+  private final ThreadLocal<ThreadSeries> threadSeries = new ThreadLocal<ThreadSeries>() {
+    @Override
+    protected ThreadSeries initialValue() {
+      ThreadSeries s = new ThreadSeries();
+      series.add(s);
+      return s;
+    }
+  };
+
+  private final LongAdder operations = new LongAdder();
+  private final LongAdder totallatency = new LongAdder();
 
-  //keep a windowed version of these stats for printing status
-  private int windowoperations = 0;
-  private long windowtotallatency = 0;
+  //the totals at the last status, the window for printing status is what was added since
+  private long windowstartoperations = 0;
+  private long windowstartlatency = 0;
 
-  private int min = -1;
-  private int max = -1;
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
 
   public OneMeasurementTimeSeries(String name, Properties props) {
-    super(name);
+    super(name, props);
     granularity = Integer.parseInt(props.getProperty(GRANULARITY, GRANULARITY_DEFAULT));
-    measurements = new Vector<>();
   }
 
-  private synchronized void checkEndOfUnit(boolean forceend) {
+  /**
+   * @return The number of the time unit the current time falls into.
+   */
+  private int currentUnit() {
     long now = System.currentTimeMillis();
-
-    if (start < 0) {
-      currentunit = 0;
-      start = now;
-    }
-
-    long unit = ((now - start) / granularity) * granularity;
-
-    if ((unit > currentunit) || (forceend)) {
-      double avg = ((double) sum) / ((double) count);
-      measurements.add(new SeriesUnit(currentunit, avg));
-
-      currentunit = unit;
-
-      count = 0;
-      sum = 0;
+    long first = start.get();
+    if (first < 0) {
+      start.compareAndSet(-1, now);
+      first = start.get();
     }
+    return (int) (Math.max(now - first, 0) / granularity);
   }
 
   @Override
   public void measure(int latency) {
-    checkEndOfUnit(false);
+    record(fromMicros(latency));
+  }
+
+  @Override
+  public void measureNanos(long latencyNanos) {
+    record(fromNanos(latencyNanos));
+  }
 
-    count++;
-    sum += latency;
-    totallatency += latency;
-    operations++;
-    windowoperations++;
-    windowtotallatency += latency;
+  private void record(long latency) {
+    threadSeries.get().add(currentUnit(), latency);
+    totallatency.add(latency);
+    min.accumulate(latency);
+    max.accumulate(latency);
+    // counted last, so a concurrent status never sees an operation without its latency
+    operations.increment();
+  }
 
-    if (latency > max) {
-      max = latency;
+  /**
+   * Add the operations of a unit a thread has completed to the shared series.
+   */
+  private void fold(int unit, long count, long sum) {
+    synchronized (completed) {
+      long[] totals = completed.get(unit);
+      if (totals == null) {
+        totals = new long[2];
+        completed.put(unit, totals);
+      }
+      totals[0] += count;
+      totals[1] += sum;
     }
+  }
 
-    if ((latency < min) || (min < 0)) {
-      min = latency;
+  /**
+   * Fold the open unit of every thread into the shared series and average each unit that has
+   * measurements.
+   */
+  private List<SeriesUnit> mergeSeries() {
+    for (ThreadSeries s : series) {
+      if (s.count > 0) {
+        fold(s.unit, s.count, s.sum);
+        s.count = 0;
+        s.sum = 0;
+      }
+    }
+    List<SeriesUnit> measurements = new ArrayList<>();
+    synchronized (completed) {
+      for (Map.Entry<Integer, long[]> entry : completed.entrySet()) {
+        long[] totals = entry.getValue();
+        measurements.add(new SeriesUnit((long) entry.getKey() * granularity,
+            ((double) totals[1]) / ((double) totals[0])));
+      }
     }
+    if (measurements.isEmpty()) {
+      // the first unit is reported even without measurements
+      measurements.add(new SeriesUnit(0, Double.NaN));
+    }
+    return measurements;
   }
 
-
+  /**
+   * Called once all operations are done, so every thread's open unit is complete.
+   */
   @Override
   public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    checkEndOfUnit(true);
-
-    exporter.write(getName(), "Operations", operations);
-    exporter.write(getName(), "AverageLatency(us)", (((double) totallatency) / ((double) operations)));
-    exporter.write(getName(), "MinLatency(us)", min);
-    exporter.write(getName(), "MaxLatency(us)", max);
+    long ops = operations.sum();
+    exporter.write(getName(), "Operations", ops);
+    exporter.write(getName(), "AverageLatency(" + unit() + ")", (((double) totallatency.sum()) / ((double) ops)));
+    if (ops == 0) {
+      exporter.write(getName(), "MinLatency(" + unit() + ")", -1L);
+      exporter.write(getName(), "MaxLatency(" + unit() + ")", -1L);
+    } else {
+      exporter.write(getName(), "MinLatency(" + unit() + ")", min.get());
+      exporter.write(getName(), "MaxLatency(" + unit() + ")", max.get());
+    }
 
     // TODO: 95th and 99th percentile latency
 
     exportStatusCounts(exporter);
-    for (SeriesUnit unit : measurements) {
+    for (SeriesUnit unit : mergeSeries()) {
       exporter.write(getName(), Long.toString(unit.time), unit.average);
     }
   }
 
+  /**
+   * Reads the counters without stopping writers. Only called by the single status thread.
+   */
   @Override
   public String getSummary() {
+    long ops = operations.sum();
+    long latency = totallatency.sum();
+    long windowoperations = ops - windowstartoperations;
     if (windowoperations == 0) {
       return "";
     }
     DecimalFormat d = new DecimalFormat("#.##");
-    double report = ((double) windowtotallatency) / ((double) windowoperations);
-    windowtotallatency = 0;
-    windowoperations = 0;
-    return "[" + getName() + " AverageLatency(us)=" + d.format(report) + "]";
+    double report = ((double) (latency - windowstartlatency)) / ((double) windowoperations);
+    windowstartoperations = ops;
+    windowstartlatency = latency;
+    return "[" + getName() + " AverageLatency(" + unit() + ")=" + d.format(report) + "]";
   }
 
 }
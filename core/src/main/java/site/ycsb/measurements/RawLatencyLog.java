@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import site.ycsb.Status;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A binary log of every latency measurement, streamed to disk while the benchmark runs.
+ *
+ * Each thread writes fixed-width records into a segment file of its own through a private buffer,
+ * so recording takes no lock and memory use does not grow with the number of operations. A record
+ * is {@value #RECORD_BYTES} bytes: the time it was written (milliseconds since the epoch, long),
+ * the measurement (int), the return code (int, -1 if unknown) and the latency (long). The
+ * names behind the measurement and return code ids, and the latency unit, are appended to
+ * {@value #NAMES_FILE} as they come up, so a log cut short by a crash can still be read.
+ *
+ * Records are in order of time within a segment, but not across segments. Use {@link #read} or
+ * {@link site.ycsb.RawLatencyLogReport} to process a log.
+ */
+public final class RawLatencyLog implements Closeable {
+  /**
+   * The directory the log is written to. Segments of an earlier log in it are removed.
+   */
+  public static final String DIRECTORY_PROPERTY = "measurement.rawlog.dir";
+
+  /**
+   * The default log directory.
+   */
+  public static final String DIRECTORY_PROPERTY_DEFAULT = "rawlog";
+
+  /**
+   * The size of the buffer in front of each segment, in bytes.
+   */
+  public static final String BUFFER_SIZE_PROPERTY = "measurement.rawlog.buffersize";
+
+  /**
+   * The default buffer size.
+   */
+  public static final String BUFFER_SIZE_PROPERTY_DEFAULT = "65536";
+
+  /** The size of one record. */
+  public static final int RECORD_BYTES = 24;
+
+  /** The file naming the measurements and return codes of the log. */
+  public static final String NAMES_FILE = "names.tsv";
+
+  /** The return code id of records whose return code is not known. */
+  public static final int UNKNOWN_STATUS = -1;
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".bin";
+
+  /**
+   * Receives the records of a log.
+   */
+  public interface Visitor {
+    /**
+     * @param operation   The measurement name, e.g. "READ" or "Intended-READ".
+     * @param timestampMs When the record was written, in milliseconds since the epoch.
+     * @param status      The return code name, or null if unknown.
+     * @param latency     The latency, in the unit of the log.
+     */
+    void record(String operation, long timestampMs, String status, long latency) throws IOException;
+  }
+
+  /**
+   * The segment of one thread. Only that thread writes to it until the log is closed.
+   */
+  private static final class Segment {
+    private final DataOutputStream out;
+
+    Segment(File file, int bufferSize) throws IOException {
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), bufferSize));
+    }
+  }
+
+  private final File directory;
+  private final int bufferSize;
+  private final List<String> operations = new CopyOnWriteArrayList<>();
+  private final ConcurrentHashMap<Status, Integer> statusIds = new ConcurrentHashMap<>();
+  private final List<Segment> segments = new ArrayList<>();
+  private final AtomicInteger nextSegment = new AtomicInteger();
+  private final ThreadLocal<Segment> threadSegment = new ThreadLocal<>();
+  private final PrintWriter names;
+  private volatile boolean closed = false;
+
+  /**
+   * @param props The measurement properties.
+   * @param unit  The latency unit of the records, "us" or "ns".
+   */
+  public RawLatencyLog(Properties props, String unit) {
+    this.directory = new File(props.getProperty(DIRECTORY_PROPERTY, DIRECTORY_PROPERTY_DEFAULT));
+    this.bufferSize = Integer.parseInt(props.getProperty(BUFFER_SIZE_PROPERTY, BUFFER_SIZE_PROPERTY_DEFAULT));
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new RuntimeException("Failed to create raw latency log directory " + directory);
+    }
+    for (File f : segmentFiles(directory)) {
+      if (!f.delete()) {
+        throw new RuntimeException("Failed to remove old raw latency log segment " + f);
+      }
+    }
+    try {
+      names = new PrintWriter(new OutputStreamWriter(
+          new FileOutputStream(new File(directory, NAMES_FILE)), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to open raw latency log names " + NAMES_FILE + " in " + directory, e);
+    }
+    appendName("unit\t" + unit);
+    System.err.println("Raw latency log: will write per-thread segments to " + directory);
+  }
+
+  /**
+   * Append a line to the names file and flush it, so the names of all records written so far are on disk.
+   */
+  private synchronized void appendName(String line) {
+    if (closed) {
+      return;
+    }
+    names.println(line);
+    names.flush();
+    if (names.checkError()) {
+      throw new RuntimeException("Failed to write raw latency log names " + NAMES_FILE + " in " + directory);
+    }
+  }
+
+  /**
+   * @return The directory the log is written to.
+   */
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Register a measurement name.
+   *
+   * @return The id its records are written with.
+   */
+  public synchronized int register(String operation) {
+    operations.add(operation);
+    int id = operations.size() - 1;
+    appendName("operation\t" + id + "\t" + operation);
+    return id;
+  }
+
+  /**
+   * Append a record to the segment of the calling thread. Records written after the log was
+   * closed are dropped.
+   *
+   * @param operation The measurement id from {@link #register}.
+   * @param status    The return code, or null if unknown.
+   * @param latency   The latency, in the unit of the log.
+   */
+  public void write(int operation, Status status, long latency) {
+    Segment segment = threadSegment.get();
+    if (segment == null) {
+      segment = openSegment();
+      if (segment == null) {
+        return;
+      }
+    }
+    try {
+      segment.out.writeLong(System.currentTimeMillis());
+      segment.out.writeInt(operation);
+      segment.out.writeInt(statusId(status));
+      segment.out.writeLong(latency);
+    } catch (IOException e) {
+      if (!closed) {
+        throw new RuntimeException("Failed to write raw latency log segment", e);
+      }
+    }
+  }
+
+  private int statusId(Status status) {
+    if (status == null) {
+      return UNKNOWN_STATUS;
+    }
+    Integer id = statusIds.get(status);
+    if (id == null) {
+      synchronized (statusIds) {
+        id = statusIds.get(status);
+        if (id == null) {
+          id = statusIds.size();
+          statusIds.put(status, id);
+          appendName("status\t" + id + "\t" + status.getName());
+        }
+      }
+    }
+    return id;
+  }
+
+  private synchronized Segment openSegment() {
+    if (closed) {
+      return null;
+    }
+    File file = new File(directory, SEGMENT_PREFIX + nextSegment.getAndIncrement() + SEGMENT_SUFFIX);
+    try {
+      Segment segment = new Segment(file, bufferSize);
+      segments.add(segment);
+      threadSegment.set(segment);
+      return segment;
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to open raw latency log segment " + file, e);
+    }
+  }
+
+  /**
+   * Flush and close all segments and the names file. Called once all operations are done; closing
+   * again does nothing.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (Segment segment : segments) {
+      segment.out.close();
+    }
+    names.close();
+  }
+
+  /**
+   * @return The latency unit of the log in the directory, "us" or "ns".
+   */
+  public static String readUnit(File dir) throws IOException {
+    return readNames(dir).get("unit").get(0);
+  }
+
+  /**
+   * Read all records of the log in a directory, one segment after the other.
+   *
+   * @param dir     The log directory.
+   * @param visitor Receives each record.
+   */
+  public static void read(File dir, Visitor visitor) throws IOException {
+    Map<String, List<String>> names = readNames(dir);
+    List<String> operationNames = names.get("operation");
+    List<String> statusNames = names.get("status");
+    for (File f : segmentFiles(dir)) {
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+        while (true) {
+          long timestamp;
+          try {
+            timestamp = in.readLong();
+          } catch (EOFException e) {
+            break;
+          }
+          int operation = in.readInt();
+          int status = in.readInt();
+          long latency = in.readLong();
+          String statusName = null;
+          if (status != UNKNOWN_STATUS) {
+            statusName = statusNames.get(status);
+          }
+          visitor.record(operationNames.get(operation), timestamp, statusName, latency);
+        }
+      }
+    }
+  }
+
+  /**
+   * Parse the names file into the unit and the measurement and return code names, by id.
+   */
+  private static Map<String, List<String>> readNames(File dir) throws IOException {
+    Map<String, List<String>> names = new HashMap<>();
+    names.put("unit", new ArrayList<String>());
+    names.put("operation", new ArrayList<String>());
+    names.put("status", new ArrayList<String>());
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new FileInputStream(new File(dir, NAMES_FILE)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split("\t", 3);
+        List<String> kind = names.get(fields[0]);
+        if (kind == null) {
+          throw new IOException("Unexpected line in " + NAMES_FILE + ": " + line);
+        }
+        if (fields.length == 2) {
+          kind.add(fields[1]);
+        } else {
+          int id = Integer.parseInt(fields[1]);
+          while (kind.size() <= id) {
+            kind.add(null);
+          }
+          kind.set(id, fields[2]);
+        }
+      }
+    }
+    return names;
+  }
+
+  private static File[] segmentFiles(File dir) {
+    File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+    if (files == null) {
+      return new File[0];
+    }
+    Arrays.sort(files);
+    return files;
+  }
+}
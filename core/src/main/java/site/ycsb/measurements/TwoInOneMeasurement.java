@@ -17,6 +17,7 @@
 
 package site.ycsb.measurements;
 
+import org.HdrHistogram.Histogram;
 import site.ycsb.Status;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 
@@ -53,6 +54,30 @@ public class TwoInOneMeasurement extends OneMeasurement {
     thing2.measure(latencyInMicros);
   }
 
+  @Override
+  public void measureNanos(long latencyNanos) {
+    thing1.measureNanos(latencyNanos);
+    thing2.measureNanos(latencyNanos);
+  }
+
+  @Override
+  public void measureNanos(long latencyNanos, Status status) {
+    thing1.measureNanos(latencyNanos, status);
+    thing2.measureNanos(latencyNanos, status);
+  }
+
+  /**
+   * @return The histogram of the first measurement which keeps one.
+   */
+  @Override
+  public Histogram getTotalHistogram() {
+    Histogram h = thing1.getTotalHistogram();
+    if (h == null) {
+      h = thing2.getTotalHistogram();
+    }
+    return h;
+  }
+
   /**
    * This is called from a main thread, on orderly termination.
    */
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements.exporter;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Export each interval as CSV rows: one for all operations, under the measurement name
+ * "OVERALL", and one per measurement with its count, throughput and latencies. Latency columns of
+ * the OVERALL row and of measurements without operations in the interval are empty.
+ */
+public class CSVIntervalExporter implements IntervalExporter {
+  private final BufferedWriter bw;
+  private boolean headerWritten = false;
+
+  public CSVIntervalExporter(OutputStream os) {
+    this.bw = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void write(IntervalStats interval) throws IOException {
+    if (!headerWritten) {
+      writeHeader(interval);
+      headerWritten = true;
+    }
+    StringBuilder prefix = new StringBuilder();
+    prefix.append(interval.getTimestampMs()).append(',').append(interval.getElapsedMs()).append(',');
+    String target = "";
+    if (!Double.isNaN(interval.getTarget())) {
+      target = format(interval.getTarget());
+    }
+
+    StringBuilder row = new StringBuilder(prefix).append("OVERALL,").append(interval.getIntervalOperations())
+        .append(',').append(format(interval.getThroughput())).append(',').append(target).append(",,,");
+    for (int i = 0; i < interval.getPercentiles().size(); i++) {
+      row.append(',');
+    }
+    writeRow(row);
+
+    for (Map.Entry<String, Histogram> entry : interval.getLatencies().entrySet()) {
+      Histogram h = entry.getValue();
+      row = new StringBuilder(prefix).append(entry.getKey()).append(',').append(h.getTotalCount()).append(',')
+          .append(format(interval.rate(h.getTotalCount()))).append(",,");
+      if (h.getTotalCount() > 0) {
+        row.append(format(h.getMean())).append(',').append(h.getMinValue()).append(',').append(h.getMaxValue());
+        for (double p : interval.getPercentiles()) {
+          row.append(',').append(h.getValueAtPercentile(p));
+        }
+      } else {
+        row.append(",,");
+        for (int i = 0; i < interval.getPercentiles().size(); i++) {
+          row.append(',');
+        }
+      }
+      writeRow(row);
+    }
+    // flushed per interval, so the file can be followed while the run goes on
+    bw.flush();
+  }
+
+  private void writeHeader(IntervalStats interval) throws IOException {
+    String unit = interval.getLatencyUnit();
+    StringBuilder header = new StringBuilder(
+        "timestamp(ms),elapsed(ms),measurement,count,throughput(ops/sec),target(ops/sec)");
+    for (String column : new String[] {"mean", "min", "max"}) {
+      header.append(',').append(column).append('(').append(unit).append(')');
+    }
+    for (double p : interval.getPercentiles()) {
+      header.append(',').append(IntervalStats.percentileName(p)).append('(').append(unit).append(')');
+    }
+    writeRow(header);
+  }
+
+  private void writeRow(StringBuilder row) throws IOException {
+    bw.write(row.toString());
+    bw.newLine();
+  }
+
+  private static String format(double d) {
+    return String.format(Locale.ROOT, "%.2f", d);
+  }
+
+  @Override
+  public void close() throws IOException {
+    bw.close();
+  }
+}
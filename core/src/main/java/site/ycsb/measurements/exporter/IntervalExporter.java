@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Used to export the throughput and latencies of each status interval into a machine readable
+ * time series, for example JSON lines or CSV. Implementations have a constructor taking the
+ * {@link java.io.OutputStream} to write to.
+ */
+public interface IntervalExporter extends Closeable {
+  /**
+   * Write an interval.
+   *
+   * @param interval What happened during the interval.
+   * @throws IOException if writing failed
+   */
+  void write(IntervalStats interval) throws IOException;
+}
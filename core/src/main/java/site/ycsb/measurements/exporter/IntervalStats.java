@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements.exporter;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What happened during one status interval of a run.
+ */
+public final class IntervalStats {
+  private final long timestampMs;
+  private final long elapsedMs;
+  private final long lengthMs;
+  private final long operations;
+  private final long intervalOperations;
+  private final double target;
+  private String latencyUnit = "us";
+  private List<Double> percentiles = Collections.emptyList();
+  private Map<String, Histogram> latencies = Collections.emptyMap();
+
+  /**
+   * @param timestampMs        The end of the interval, in milliseconds since the epoch.
+   * @param elapsedMs          The time from the start of the run to the end of the interval.
+   * @param lengthMs           The length of the interval.
+   * @param operations         The operations done since the start of the run.
+   * @param intervalOperations The operations done during the interval.
+   * @param target             The target throughput at the end of the interval, or NaN if there is none.
+   */
+  public IntervalStats(long timestampMs, long elapsedMs, long lengthMs, long operations, long intervalOperations,
+                       double target) {
+    this.timestampMs = timestampMs;
+    this.elapsedMs = elapsedMs;
+    this.lengthMs = lengthMs;
+    this.operations = operations;
+    this.intervalOperations = intervalOperations;
+    this.target = target;
+  }
+
+  /**
+   * Set the latencies recorded during the interval.
+   *
+   * @param unit           The unit latencies are recorded in, "us" or "ns".
+   * @param percentileList The latency percentiles to report.
+   * @param histograms     The latencies, by measurement name.
+   */
+  public void setLatencies(String unit, List<Double> percentileList, Map<String, Histogram> histograms) {
+    latencyUnit = unit;
+    percentiles = Collections.unmodifiableList(percentileList);
+    latencies = Collections.unmodifiableMap(new TreeMap<>(histograms));
+  }
+
+  public long getTimestampMs() {
+    return timestampMs;
+  }
+
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  public long getLengthMs() {
+    return lengthMs;
+  }
+
+  public long getOperations() {
+    return operations;
+  }
+
+  public long getIntervalOperations() {
+    return intervalOperations;
+  }
+
+  /**
+   * @return The operations per second during the interval.
+   */
+  public double getThroughput() {
+    return rate(intervalOperations);
+  }
+
+  /**
+   * @return The count per second during the interval.
+   */
+  public double rate(long count) {
+    return 1000.0 * count / lengthMs;
+  }
+
+  public double getTarget() {
+    return target;
+  }
+
+  public String getLatencyUnit() {
+    return latencyUnit;
+  }
+
+  public List<Double> getPercentiles() {
+    return percentiles;
+  }
+
+  /**
+   * @return The latencies recorded during the interval, sorted by measurement name. Only
+   * measurements that keep a HdrHistogram are included.
+   */
+  public Map<String, Histogram> getLatencies() {
+    return latencies;
+  }
+
+  /**
+   * @return A percentile as a column or field name, e.g. "p99.9".
+   */
+  public static String percentileName(double p) {
+    if (p == Math.rint(p)) {
+      return "p" + (long) p;
+    }
+    return "p" + p;
+  }
+}
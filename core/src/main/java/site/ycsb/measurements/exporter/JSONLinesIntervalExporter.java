@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements.exporter;
+
+import org.HdrHistogram.Histogram;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Export each interval as a JSON object on a line of its own, e.g.
+ * <pre>
+ * {"timestamp":1792220010000,"elapsed(ms)":10000,"interval(ms)":10000,"operations":51234,
+ *  "interval_operations":51234,"throughput(ops/sec)":5123.4,"latency_unit":"us",
+ *  "measurements":{"READ":{"count":25601,"throughput(ops/sec)":2560.1,"mean":212.3,"min":95,
+ *  "max":10431,"p50":198,"p99":615}}}
+ * </pre>
+ * "target(ops/sec)" is added when the run follows a target profile.
+ */
+public class JSONLinesIntervalExporter implements IntervalExporter {
+  private final JsonFactory factory = new JsonFactory();
+  private final BufferedWriter bw;
+
+  public JSONLinesIntervalExporter(OutputStream os) {
+    bw = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+    // a generator per line, as one generator separates root values by spaces
+    factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  @Override
+  public void write(IntervalStats interval) throws IOException {
+    JsonGenerator g = factory.createJsonGenerator(bw);
+    g.writeStartObject();
+    g.writeNumberField("timestamp", interval.getTimestampMs());
+    g.writeNumberField("elapsed(ms)", interval.getElapsedMs());
+    g.writeNumberField("interval(ms)", interval.getLengthMs());
+    g.writeNumberField("operations", interval.getOperations());
+    g.writeNumberField("interval_operations", interval.getIntervalOperations());
+    g.writeNumberField("throughput(ops/sec)", interval.getThroughput());
+    if (!Double.isNaN(interval.getTarget())) {
+      g.writeNumberField("target(ops/sec)", interval.getTarget());
+    }
+    g.writeStringField("latency_unit", interval.getLatencyUnit());
+    g.writeObjectFieldStart("measurements");
+    for (Map.Entry<String, Histogram> entry : interval.getLatencies().entrySet()) {
+      Histogram h = entry.getValue();
+      g.writeObjectFieldStart(entry.getKey());
+      g.writeNumberField("count", h.getTotalCount());
+      g.writeNumberField("throughput(ops/sec)", interval.rate(h.getTotalCount()));
+      if (h.getTotalCount() > 0) {
+        g.writeNumberField("mean", h.getMean());
+        g.writeNumberField("min", h.getMinValue());
+        g.writeNumberField("max", h.getMaxValue());
+        for (double p : interval.getPercentiles()) {
+          g.writeNumberField(IntervalStats.percentileName(p), h.getValueAtPercentile(p));
+        }
+      }
+      g.writeEndObject();
+    }
+    g.writeEndObject();
+    g.writeEndObject();
+    g.close();
+    bw.newLine();
+    // flushed per interval, so the file can be followed while the run goes on
+    bw.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    bw.close();
+  }
+}
@@ -20,10 +20,13 @@ package site.ycsb.workloads;
 import site.ycsb.*;
 import site.ycsb.generator.*;
 import site.ycsb.generator.UniformLongGenerator;
+import site.ycsb.measurements.MeasurementHandle;
 import site.ycsb.measurements.Measurements;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 
 /**
  * The core benchmark scenario. Represents a set of clients doing simple CRUD operations. The
@@ -45,7 +48,13 @@ import java.util.*;
  * <LI><b>readmodifywriteproportion</b>: what proportion of operations should be read a record,
  * modify it, write it back (default: 0)
  * <LI><b>requestdistribution</b>: what distribution should be used to select the records to operate
- * on - uniform, zipfian, hotspot, sequential, exponential or latest (default: uniform)
+ * on - uniform, zipfian, hotspot, sequential, exponential, latest or drifting (default: uniform)
+ * <LI><b>drift.distribution</b>: for the drifting request distribution, how popular keys are - zipfian
+ * (scattered) or hotspot (a contiguous hot region) (default: zipfian)
+ * <LI><b>drift.velocity</b>: for the drifting request distribution, the number of keys per second the
+ * popularity moves by (default: 100)
+ * <LI><b>drift.mode</b>: for the drifting request distribution, whether the popularity moves gradually
+ * or abruptly, every drift.interval seconds (default: gradual)
  * <LI><b>minscanlength</b>: for scans, what is the minimum number of records to scan (default: 1)
  * <LI><b>maxscanlength</b>: for scans, what is the maximum number of records to scan (default: 1000)
  * <LI><b>scanlengthdistribution</b>: for scans, what distribution should be used to choose the
@@ -54,6 +63,9 @@ import java.util.*;
  * YCSB instance (default: 0)
  * <LI><b>insertcount</b>: for parallel loads and runs, defines the number of records for this
  * YCSB instance (default: recordcount)
+ * <LI><b>transactioninsertstart</b>: for parallel runs, the first record inserted during the transaction
+ * phase; instances inserting at the same time need ranges of their own, and each of them only reads the
+ * loaded records and those it inserted itself (default: recordcount)
  * <LI><b>zeropadding</b>: for generating a record sequence compatible with string sort order by
  * 0 padding the record number. Controls the number of 0s to use for padding. (default: 1)
  * For example for row 5, with zeropadding=1 you get 'user5' key and with zeropading=8 you get
@@ -63,6 +75,9 @@ import java.util.*;
  * order ("hashed") (default: hashed)
  * <LI><b>fieldnameprefix</b>: what should be a prefix for field names, the shorter may decrease the
  * required storage size (default: "field")
+ * <LI><b>reuseobjects</b>: should each client thread reuse its field maps, sets, value iterators and key
+ * buffers across operations instead of allocating new ones; only for bindings that do not keep them after a
+ * call returns, and never with async.window above 1 (default: false)
  * </ul>
  */
 public class CoreWorkload extends Workload {
@@ -289,6 +304,11 @@ public class CoreWorkload extends Workload {
    */
   public static final String SCAN_LENGTH_DISTRIBUTION_PROPERTY_DEFAULT = "uniform";
 
+  /**
+   * The name of the property for the first record inserted during the transaction phase.
+   */
+  public static final String TRANSACTION_INSERT_START_PROPERTY = "transactioninsertstart";
+
   /**
    * The name of the property for the order to insert records. Options are "ordered" or "hashed"
    */
@@ -319,6 +339,46 @@ public class CoreWorkload extends Workload {
    */
   public static final String HOTSPOT_OPN_FRACTION_DEFAULT = "0.8";
 
+  /**
+   * How popular keys are with the drifting request distribution: "zipfian" or "hotspot".
+   */
+  public static final String DRIFT_DISTRIBUTION_PROPERTY = "drift.distribution";
+
+  /**
+   * Default drifting popularity.
+   */
+  public static final String DRIFT_DISTRIBUTION_PROPERTY_DEFAULT = "zipfian";
+
+  /**
+   * The number of keys per second the popularity moves by with the drifting request distribution.
+   */
+  public static final String DRIFT_VELOCITY_PROPERTY = "drift.velocity";
+
+  /**
+   * Default drift velocity.
+   */
+  public static final String DRIFT_VELOCITY_PROPERTY_DEFAULT = "100";
+
+  /**
+   * Whether the popularity moves "gradual"ly or "abrupt"ly with the drifting request distribution.
+   */
+  public static final String DRIFT_MODE_PROPERTY = "drift.mode";
+
+  /**
+   * Default drift mode.
+   */
+  public static final String DRIFT_MODE_PROPERTY_DEFAULT = "gradual";
+
+  /**
+   * The seconds between moves of the popularity with drift.mode=abrupt.
+   */
+  public static final String DRIFT_INTERVAL_PROPERTY = "drift.interval";
+
+  /**
+   * Default drift interval.
+   */
+  public static final String DRIFT_INTERVAL_PROPERTY_DEFAULT = "60";
+
   /**
    * How many times to retry when insertion of a single item to a DB fails.
    */
@@ -341,11 +401,33 @@ public class CoreWorkload extends Workload {
    */
   public static final String FIELD_NAME_PREFIX_DEFAULT = "field";
 
+  /**
+   * The name of the property for reusing per-thread objects across operations.
+   * <p>
+   * Bindings must not hold on to the maps, sets or iterators passed to them once an operation
+   * returns; some do, e.g. by caching or batching the values map, so this is off by default.
+   */
+  public static final String REUSE_OBJECTS_PROPERTY = "reuseobjects";
+
+  /**
+   * The default value for the reuseobjects property.
+   */
+  public static final String REUSE_OBJECTS_PROPERTY_DEFAULT = "false";
+
+  /**
+   * Number of characters of a key in front of the key number.
+   */
+  private static final String KEY_PREFIX = "user";
+
   protected NumberGenerator keysequence;
   protected DiscreteGenerator operationchooser;
   protected NumberGenerator keychooser;
   protected NumberGenerator fieldchooser;
   protected AcknowledgedCounterGenerator transactioninsertkeysequence;
+  /**
+   * The distance from the key number after the loaded records to the first one inserted by transactions.
+   */
+  protected long transactioninsertgap;
   protected NumberGenerator scanlength;
   protected boolean orderedinserts;
   protected long fieldcount;
@@ -353,8 +435,15 @@ public class CoreWorkload extends Workload {
   protected int zeropadding;
   protected int insertionRetryLimit;
   protected int insertionRetryInterval;
+  protected boolean reuseobjects;
 
   private Measurements measurements = Measurements.getMeasurements();
+  private MeasurementHandle readmodifywrite;
+
+  /**
+   * Shared by threads that have no state of their own; it never reuses anything.
+   */
+  private final ThreadState allocatingstate = new ThreadState(false);
 
   protected static NumberGenerator getFieldLengthGenerator(Properties p) throws WorkloadException {
     NumberGenerator fieldlengthgenerator;
@@ -420,7 +509,7 @@ public class CoreWorkload extends Workload {
     long insertstart =
         Long.parseLong(p.getProperty(INSERT_START_PROPERTY, INSERT_START_PROPERTY_DEFAULT));
     long insertcount=
-        Integer.parseInt(p.getProperty(INSERT_COUNT_PROPERTY, String.valueOf(recordcount - insertstart)));
+        Long.parseLong(p.getProperty(INSERT_COUNT_PROPERTY, String.valueOf(recordcount - insertstart)));
     // Confirm valid values for insertstart and insertcount in relation to recordcount
     if (recordcount < (insertstart + insertcount)) {
       System.err.println("Invalid combination of insertstart, insertcount and recordcount.");
@@ -455,7 +544,17 @@ public class CoreWorkload extends Workload {
     keysequence = new CounterGenerator(insertstart);
     operationchooser = createOperationGenerator(p);
 
+    long transactioninsertstart = Long.parseLong(p.getProperty(TRANSACTION_INSERT_START_PROPERTY,
+        String.valueOf(recordcount)));
+    // inserted records are numbered on from the loaded ones and shifted to their range when written, so the
+    // keys to read stay contiguous even when other instances insert in between
+    transactioninsertgap = transactioninsertstart - recordcount;
     transactioninsertkeysequence = new AcknowledgedCounterGenerator(recordcount);
+    if (Double.parseDouble(p.getProperty(INSERT_PROPORTION_PROPERTY, INSERT_PROPORTION_PROPERTY_DEFAULT)) > 0) {
+      // inserted keys become readable once every key before them is acknowledged; report how far behind that is
+      measurements.addGauge("INSERT-INFLIGHT", "Current", transactioninsertkeysequence::getInFlight);
+      measurements.addGauge("INSERT-INFLIGHT", "Max", transactioninsertkeysequence::getMaxInFlight);
+    }
     if (requestdistrib.compareTo("uniform") == 0) {
       keychooser = new UniformLongGenerator(insertstart, insertstart + insertcount - 1);
     } else if (requestdistrib.compareTo("exponential") == 0) {
@@ -480,8 +579,8 @@ public class CoreWorkload extends Workload {
       // the keyspace doesn't change from the perspective of the scrambled zipfian generator
       final double insertproportion = Double.parseDouble(
           p.getProperty(INSERT_PROPORTION_PROPERTY, INSERT_PROPORTION_PROPERTY_DEFAULT));
-      int opcount = Integer.parseInt(p.getProperty(Client.OPERATION_COUNT_PROPERTY));
-      int expectednewkeys = (int) ((opcount) * insertproportion * 2.0); // 2 is fudge factor
+      long opcount = Long.parseLong(p.getProperty(Client.OPERATION_COUNT_PROPERTY));
+      long expectednewkeys = (long) ((opcount) * insertproportion * 2.0); // 2 is fudge factor
 
       keychooser = new ScrambledZipfianGenerator(insertstart, insertstart + insertcount + expectednewkeys);
     } else if (requestdistrib.compareTo("latest") == 0) {
@@ -493,6 +592,8 @@ public class CoreWorkload extends Workload {
           Double.parseDouble(p.getProperty(HOTSPOT_OPN_FRACTION, HOTSPOT_OPN_FRACTION_DEFAULT));
       keychooser = new HotspotIntegerGenerator(insertstart, insertstart + insertcount - 1,
           hotsetfraction, hotopnfraction);
+    } else if (requestdistrib.equals("drifting")) {
+      keychooser = createDriftingKeyChooser(p, insertstart, insertstart + insertcount - 1);
     } else {
       throw new WorkloadException("Unknown request distribution \"" + requestdistrib + "\"");
     }
@@ -512,34 +613,78 @@ public class CoreWorkload extends Workload {
         INSERTION_RETRY_LIMIT, INSERTION_RETRY_LIMIT_DEFAULT));
     insertionRetryInterval = Integer.parseInt(p.getProperty(
         INSERTION_RETRY_INTERVAL, INSERTION_RETRY_INTERVAL_DEFAULT));
+
+    // with more than one operation in flight, the binding still uses the objects of earlier operations
+    int asyncwindow = Integer.parseInt(p.getProperty(AsyncDBAdapter.WINDOW_PROPERTY,
+        AsyncDBAdapter.WINDOW_PROPERTY_DEFAULT));
+    reuseobjects = Boolean.parseBoolean(p.getProperty(REUSE_OBJECTS_PROPERTY, REUSE_OBJECTS_PROPERTY_DEFAULT))
+        && asyncwindow <= 1;
+    if (asyncwindow > 1 && insertionRetryLimit > 0) {
+      // the client thread only learns whether an insert failed after it moved on
+      throw new WorkloadException(INSERTION_RETRY_LIMIT + " needs " + AsyncDBAdapter.WINDOW_PROPERTY
+          + "=1, was " + asyncwindow);
+    }
+  }
+
+  /**
+   * Initialize the reusable objects of a client thread. Returns a {@link ThreadState}.
+   */
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    return new ThreadState(reuseobjects);
   }
 
   protected String buildKeyName(long keynum) {
+    return buildKeyName(keynum, new char[keyBufferLength()]);
+  }
+
+  private int keyBufferLength() {
+    // room for the prefix, the padding and the 19 digits and sign of a long
+    return KEY_PREFIX.length() + Math.max(zeropadding, 20);
+  }
+
+  /**
+   * Format a key into the end of the given buffer. Only the returned String is allocated.
+   */
+  private String buildKeyName(long keynum, char[] buffer) {
     if (!orderedinserts) {
       keynum = Utils.hash(keynum);
     }
-    String value = Long.toString(keynum);
-    int fill = zeropadding - value.length();
-    String prekey = "user";
-    for (int i = 0; i < fill; i++) {
-      prekey += '0';
+    int end = buffer.length;
+    int pos = end;
+    long rest = keynum;
+    do {
+      pos--;
+      buffer[pos] = (char) ('0' + Math.abs(rest % 10));
+      rest /= 10;
+    } while (rest != 0);
+    if (keynum < 0) {
+      pos--;
+      buffer[pos] = '-';
+    }
+    for (int fill = zeropadding - (end - pos); fill > 0; fill--) {
+      pos--;
+      buffer[pos] = '0';
     }
-    return prekey + value;
+    pos -= KEY_PREFIX.length();
+    KEY_PREFIX.getChars(0, KEY_PREFIX.length(), buffer, pos);
+    return new String(buffer, pos, end - pos);
   }
 
   /**
    * Builds a value for a randomly chosen field.
    */
-  private HashMap<String, ByteIterator> buildSingleValue(String key) {
-    HashMap<String, ByteIterator> value = new HashMap<>();
+  private HashMap<String, ByteIterator> buildSingleValue(String key, ThreadState state) {
+    int fieldindex = fieldchooser.nextValue().intValue();
+    String fieldkey = fieldnames.get(fieldindex);
+    HashMap<String, ByteIterator> value = state.singleValue(fieldindex);
 
-    String fieldkey = fieldnames.get(fieldchooser.nextValue().intValue());
     ByteIterator data;
     if (dataintegrity) {
       data = new StringByteIterator(buildDeterministicValue(key, fieldkey));
     } else {
       // fill with random data
-      data = new RandomByteIterator(fieldlengthgenerator.nextValue().longValue());
+      data = state.randomValue(fieldindex, fieldlengthgenerator.nextValue().longValue());
     }
     value.put(fieldkey, data);
 
@@ -549,16 +694,17 @@ public class CoreWorkload extends Workload {
   /**
    * Builds values for all fields.
    */
-  private HashMap<String, ByteIterator> buildValues(String key) {
-    HashMap<String, ByteIterator> values = new HashMap<>();
+  private HashMap<String, ByteIterator> buildValues(String key, ThreadState state) {
+    HashMap<String, ByteIterator> values = state.allValues();
 
-    for (String fieldkey : fieldnames) {
+    for (int i = 0; i < fieldnames.size(); i++) {
+      String fieldkey = fieldnames.get(i);
       ByteIterator data;
       if (dataintegrity) {
         data = new StringByteIterator(buildDeterministicValue(key, fieldkey));
       } else {
         // fill with random data
-        data = new RandomByteIterator(fieldlengthgenerator.nextValue().longValue());
+        data = state.randomValue(i, fieldlengthgenerator.nextValue().longValue());
       }
       values.put(fieldkey, data);
     }
@@ -591,9 +737,10 @@ public class CoreWorkload extends Workload {
    */
   @Override
   public boolean doInsert(DB db, Object threadstate) {
-    int keynum = keysequence.nextValue().intValue();
-    String dbkey = buildKeyName(keynum);
-    HashMap<String, ByteIterator> values = buildValues(dbkey);
+    ThreadState state = threadState(threadstate);
+    long keynum = keysequence.nextValue().longValue();
+    String dbkey = state.keyName(keynum);
+    HashMap<String, ByteIterator> values = buildValues(dbkey, state);
 
     Status status;
     int numOfRetries = 0;
@@ -641,19 +788,19 @@ public class CoreWorkload extends Workload {
 
     switch (operation) {
     case "READ":
-      doTransactionRead(db);
+      doTransactionRead(db, threadstate);
       break;
     case "UPDATE":
-      doTransactionUpdate(db);
+      doTransactionUpdate(db, threadstate);
       break;
     case "INSERT":
-      doTransactionInsert(db);
+      doTransactionInsert(db, threadstate);
       break;
     case "SCAN":
-      doTransactionScan(db);
+      doTransactionScan(db, threadstate);
       break;
     default:
-      doTransactionReadModifyWrite(db);
+      doTransactionReadModifyWrite(db, threadstate);
     }
 
     return true;
@@ -689,36 +836,49 @@ public class CoreWorkload extends Workload {
     long keynum;
     if (keychooser instanceof ExponentialGenerator) {
       do {
-        keynum = transactioninsertkeysequence.lastValue() - keychooser.nextValue().intValue();
+        keynum = transactioninsertkeysequence.lastValue() - keychooser.nextValue().longValue();
       } while (keynum < 0);
     } else {
       do {
-        keynum = keychooser.nextValue().intValue();
+        keynum = keychooser.nextValue().longValue();
       } while (keynum > transactioninsertkeysequence.lastValue());
     }
-    return keynum;
+    return keyOf(keynum);
+  }
+
+  /**
+   * The key number of the given position in the sequence of loaded and inserted records.
+   */
+  long keyOf(long position) {
+    if (position < recordcount) {
+      return position;
+    }
+    return position + transactioninsertgap;
   }
 
   public void doTransactionRead(DB db) {
+    doTransactionRead(db, null);
+  }
+
+  public void doTransactionRead(DB db, Object threadstate) {
+    ThreadState state = threadState(threadstate);
+
     // choose a random key
     long keynum = nextKeynum();
 
-    String keyname = buildKeyName(keynum);
+    String keyname = state.keyName(keynum);
 
     HashSet<String> fields = null;
 
     if (!readallfields) {
       // read a random field
-      String fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<String>();
-      fields.add(fieldname);
+      fields = state.singleField(fieldchooser.nextValue().intValue());
     } else if (dataintegrity) {
       // pass the full field list if dataintegrity is on for verification
-      fields = new HashSet<String>(fieldnames);
+      fields = state.allFields();
     }
 
-    HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
+    HashMap<String, ByteIterator> cells = state.cells();
     db.read(table, keyname, fields, cells);
 
     if (dataintegrity) {
@@ -727,34 +887,37 @@ public class CoreWorkload extends Workload {
   }
 
   public void doTransactionReadModifyWrite(DB db) {
+    doTransactionReadModifyWrite(db, null);
+  }
+
+  public void doTransactionReadModifyWrite(DB db, Object threadstate) {
+    ThreadState state = threadState(threadstate);
+
     // choose a random key
     long keynum = nextKeynum();
 
-    String keyname = buildKeyName(keynum);
+    String keyname = state.keyName(keynum);
 
     HashSet<String> fields = null;
 
     if (!readallfields) {
       // read a random field
-      String fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<String>();
-      fields.add(fieldname);
+      fields = state.singleField(fieldchooser.nextValue().intValue());
     }
 
     HashMap<String, ByteIterator> values;
 
     if (writeallfields) {
       // new data for all the fields
-      values = buildValues(keyname);
+      values = buildValues(keyname, state);
     } else {
       // update a random field
-      values = buildSingleValue(keyname);
+      values = buildSingleValue(keyname, state);
     }
 
     // do the transaction
 
-    HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
+    HashMap<String, ByteIterator> cells = state.cells();
 
 
     long ist = measurements.getIntendedtartTimeNs();
@@ -769,15 +932,24 @@ public class CoreWorkload extends Workload {
       verifyRow(keyname, cells);
     }
 
-    measurements.measure("READ-MODIFY-WRITE", (int) ((en - st) / 1000));
-    measurements.measureIntended("READ-MODIFY-WRITE", (int) ((en - ist) / 1000));
+    if (readmodifywrite == null) {
+      readmodifywrite = measurements.getHandle("READ-MODIFY-WRITE");
+    }
+    readmodifywrite.measureNanos(en - st);
+    readmodifywrite.measureIntendedNanos(en - ist);
   }
 
   public void doTransactionScan(DB db) {
+    doTransactionScan(db, null);
+  }
+
+  public void doTransactionScan(DB db, Object threadstate) {
+    ThreadState state = threadState(threadstate);
+
     // choose a random key
     long keynum = nextKeynum();
 
-    String startkeyname = buildKeyName(keynum);
+    String startkeyname = state.keyName(keynum);
 
     // choose a random scan length
     int len = scanlength.nextValue().intValue();
@@ -786,46 +958,274 @@ public class CoreWorkload extends Workload {
 
     if (!readallfields) {
       // read a random field
-      String fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<String>();
-      fields.add(fieldname);
+      fields = state.singleField(fieldchooser.nextValue().intValue());
     }
 
-    db.scan(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>());
+    db.scan(table, startkeyname, len, fields, state.scanResult());
   }
 
   public void doTransactionUpdate(DB db) {
+    doTransactionUpdate(db, null);
+  }
+
+  public void doTransactionUpdate(DB db, Object threadstate) {
+    ThreadState state = threadState(threadstate);
+
     // choose a random key
     long keynum = nextKeynum();
 
-    String keyname = buildKeyName(keynum);
+    String keyname = state.keyName(keynum);
 
     HashMap<String, ByteIterator> values;
 
     if (writeallfields) {
       // new data for all the fields
-      values = buildValues(keyname);
+      values = buildValues(keyname, state);
     } else {
       // update a random field
-      values = buildSingleValue(keyname);
+      values = buildSingleValue(keyname, state);
     }
 
     db.update(table, keyname, values);
   }
 
   public void doTransactionInsert(DB db) {
+    doTransactionInsert(db, null);
+  }
+
+  public void doTransactionInsert(DB db, Object threadstate) {
+    ThreadState state = threadState(threadstate);
+
     // choose the next key
     long keynum = transactioninsertkeysequence.nextValue();
 
+    boolean pending = false;
     try {
-      String dbkey = buildKeyName(keynum);
-
-      HashMap<String, ByteIterator> values = buildValues(dbkey);
-      db.insert(table, dbkey, values);
+      String dbkey = state.keyName(keyOf(keynum));
+
+      HashMap<String, ByteIterator> values = buildValues(dbkey, state);
+      Status status = db.insert(table, dbkey, values);
+      if (status == Status.BATCHED_OK) {
+        // an asynchronous binding is still writing the key, so others may only read it once that is done
+        CompletionStage<Status> stage = AsyncDBAdapter.takePendingStage();
+        if (stage != null) {
+          stage.whenComplete((res, error) -> transactioninsertkeysequence.acknowledge(keynum));
+          pending = true;
+        }
+      }
     } finally {
-      transactioninsertkeysequence.acknowledge(keynum);
+      if (!pending) {
+        transactioninsertkeysequence.acknowledge(keynum);
+      }
+    }
+  }
+
+  private ThreadState threadState(Object threadstate) {
+    if (threadstate instanceof ThreadState) {
+      return (ThreadState) threadstate;
+    }
+    return allocatingstate;
+  }
+
+  /**
+   * Create an array of a generic type, e.g. HashMap&lt;String, ByteIterator&gt;[].
+   *
+   * @param type   The erasure of the element type.
+   * @param length The length of the array.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T[] newArray(Class<?> type, int length) {
+    return (T[]) Array.newInstance(type, length);
+  }
+
+  /**
+   * The objects a client thread passes to the DB. When reuse is on, they are created once per
+   * thread and cleared or overwritten for each operation, so the steady state does not allocate
+   * beyond the key strings; otherwise every call returns a new object.
+   */
+  protected class ThreadState {
+    private final boolean reuse;
+    private char[] keybuffer;
+    private HashMap<String, ByteIterator> cells;
+    private HashMap<String, ByteIterator> allvalues;
+    private HashMap<String, ByteIterator>[] singlevalues;
+    private HashSet<String>[] singlefields;
+    private HashSet<String> allfields;
+    private RandomByteIterator[] randomvalues;
+    private Vector<HashMap<String, ByteIterator>> scanresult;
+
+    protected ThreadState(boolean reuse) {
+      this.reuse = reuse;
+    }
+
+    /**
+     * Format the key for a key number.
+     */
+    protected String keyName(long keynum) {
+      if (!reuse) {
+        return buildKeyName(keynum);
+      }
+      if (keybuffer == null) {
+        keybuffer = new char[keyBufferLength()];
+      }
+      return buildKeyName(keynum, keybuffer);
+    }
+
+    /**
+     * An empty map to read a record into.
+     */
+    protected HashMap<String, ByteIterator> cells() {
+      if (!reuse) {
+        return new HashMap<String, ByteIterator>();
+      }
+      if (cells == null) {
+        cells = new HashMap<String, ByteIterator>();
+      }
+      cells.clear();
+      return cells;
+    }
+
+    /**
+     * An empty vector to scan records into.
+     */
+    protected Vector<HashMap<String, ByteIterator>> scanResult() {
+      if (!reuse) {
+        return new Vector<HashMap<String, ByteIterator>>();
+      }
+      if (scanresult == null) {
+        scanresult = new Vector<HashMap<String, ByteIterator>>();
+      }
+      scanresult.clear();
+      return scanresult;
+    }
+
+    /**
+     * A map for the values of all fields. Kept with all field names as keys when reused, so
+     * putting a value replaces an existing entry instead of allocating a new one.
+     */
+    protected HashMap<String, ByteIterator> allValues() {
+      if (!reuse) {
+        return new HashMap<String, ByteIterator>();
+      }
+      if (allvalues == null) {
+        allvalues = new HashMap<String, ByteIterator>();
+      }
+      return allvalues;
+    }
+
+    /**
+     * A map for the value of a single field.
+     */
+    protected HashMap<String, ByteIterator> singleValue(int fieldindex) {
+      if (!reuse) {
+        return new HashMap<String, ByteIterator>();
+      }
+      if (singlevalues == null) {
+        singlevalues = newArray(HashMap.class, fieldnames.size());
+      }
+      if (singlevalues[fieldindex] == null) {
+        singlevalues[fieldindex] = new HashMap<String, ByteIterator>();
+      }
+      return singlevalues[fieldindex];
+    }
+
+    /**
+     * A set holding the name of a single field.
+     */
+    protected HashSet<String> singleField(int fieldindex) {
+      if (!reuse) {
+        HashSet<String> fields = new HashSet<String>();
+        fields.add(fieldnames.get(fieldindex));
+        return fields;
+      }
+      if (singlefields == null) {
+        singlefields = newArray(HashSet.class, fieldnames.size());
+      }
+      if (singlefields[fieldindex] == null) {
+        singlefields[fieldindex] = new HashSet<String>();
+        singlefields[fieldindex].add(fieldnames.get(fieldindex));
+      }
+      return singlefields[fieldindex];
+    }
+
+    /**
+     * A set holding the names of all fields.
+     */
+    protected HashSet<String> allFields() {
+      if (!reuse) {
+        return new HashSet<String>(fieldnames);
+      }
+      if (allfields == null) {
+        allfields = new HashSet<String>(fieldnames);
+      }
+      return allfields;
+    }
+
+    /**
+     * An iterator producing length random bytes for a field.
+     */
+    protected RandomByteIterator randomValue(int fieldindex, long length) {
+      if (!reuse) {
+        return new RandomByteIterator(length);
+      }
+      if (randomvalues == null) {
+        randomvalues = new RandomByteIterator[fieldnames.size()];
+      }
+      if (randomvalues[fieldindex] == null) {
+        randomvalues[fieldindex] = new RandomByteIterator(length);
+      } else {
+        randomvalues[fieldindex].reset(length);
+      }
+      return randomvalues[fieldindex];
+    }
+  }
+
+  /**
+   * Creates the key chooser of the drifting request distribution.
+   *
+   * @param p   The properties list to pull the drift settings from.
+   * @param min The smallest key number.
+   * @param max The largest key number.
+   * @return A generator of key numbers whose popularity moves over time.
+   * @throws WorkloadException if the drift settings are not valid.
+   */
+  protected static NumberGenerator createDriftingKeyChooser(final Properties p, long min, long max)
+      throws WorkloadException {
+    String distribution = p.getProperty(DRIFT_DISTRIBUTION_PROPERTY, DRIFT_DISTRIBUTION_PROPERTY_DEFAULT);
+    NumberGenerator ranks;
+    boolean scramble;
+    if (distribution.equals("zipfian")) {
+      ranks = new ZipfianGenerator(0, max - min);
+      scramble = true;
+    } else if (distribution.equals("hotspot")) {
+      double hotsetfraction =
+          Double.parseDouble(p.getProperty(HOTSPOT_DATA_FRACTION, HOTSPOT_DATA_FRACTION_DEFAULT));
+      double hotopnfraction =
+          Double.parseDouble(p.getProperty(HOTSPOT_OPN_FRACTION, HOTSPOT_OPN_FRACTION_DEFAULT));
+      ranks = new HotspotIntegerGenerator(0, max - min, hotsetfraction, hotopnfraction);
+      scramble = false;
+    } else {
+      throw new WorkloadException("Unknown " + DRIFT_DISTRIBUTION_PROPERTY + " \"" + distribution + "\"");
+    }
+
+    double velocity = Double.parseDouble(p.getProperty(DRIFT_VELOCITY_PROPERTY, DRIFT_VELOCITY_PROPERTY_DEFAULT));
+    if (!(velocity >= 0) || Double.isInfinite(velocity)) {
+      throw new WorkloadException(DRIFT_VELOCITY_PROPERTY + " must be finite and not negative, was " + velocity);
+    }
+    String mode = p.getProperty(DRIFT_MODE_PROPERTY, DRIFT_MODE_PROPERTY_DEFAULT);
+    double interval;
+    if (mode.equals("gradual")) {
+      interval = 0;
+    } else if (mode.equals("abrupt")) {
+      interval = Double.parseDouble(p.getProperty(DRIFT_INTERVAL_PROPERTY, DRIFT_INTERVAL_PROPERTY_DEFAULT));
+      // an interval of 0 would move the popularity continuously, i.e. gradually
+      if (!(interval > 0) || Double.isInfinite(interval)) {
+        throw new WorkloadException(DRIFT_INTERVAL_PROPERTY + " must be finite and positive, was " + interval);
+      }
+    } else {
+      throw new WorkloadException("Unknown " + DRIFT_MODE_PROPERTY + " \"" + mode + "\"");
     }
+    return new DriftingKeyGenerator(min, max, ranks, scramble, velocity, interval);
   }
 
   /**
@@ -25,7 +25,6 @@ import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.Vector;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import site.ycsb.ByteIterator;
@@ -43,6 +42,7 @@ import site.ycsb.generator.HotspotIntegerGenerator;
 import site.ycsb.generator.IncrementingPrintableStringGenerator;
 import site.ycsb.generator.NumberGenerator;
 import site.ycsb.generator.RandomDiscreteTimestampGenerator;
+import site.ycsb.generator.RandomStreams;
 import site.ycsb.generator.ScrambledZipfianGenerator;
 import site.ycsb.generator.SequentialGenerator;
 import site.ycsb.generator.UniformLongGenerator;
@@ -733,7 +733,7 @@ public class TimeSeriesWorkload extends Workload {
   protected void doTransactionRead(final DB db, Object threadstate) {
     final ThreadState state = (ThreadState) threadstate;
     final String keyname = keys[keychooser.nextValue().intValue()];
-    final Random random = ThreadLocalRandom.current();
+    final Random random = RandomStreams.current();
     int offsets = state.queryOffsetGenerator.nextValue().intValue();
     //int offsets = random.nextInt(maxOffsets - 1);
     final long startTimestamp;
@@ -795,7 +795,7 @@ public class TimeSeriesWorkload extends Workload {
   
   protected void doTransactionScan(final DB db, Object threadstate) {
     final ThreadState state = (ThreadState) threadstate;
-    final Random random = ThreadLocalRandom.current();
+    final Random random = RandomStreams.current();
     final String keyname = keys[random.nextInt(keys.length)];
     
     // choose a random scan length
@@ -844,7 +844,7 @@ public class TimeSeriesWorkload extends Workload {
   
   protected void doTransactionDelete(final DB db, Object threadstate) {
     final ThreadState state = (ThreadState) threadstate;
-    final Random random = ThreadLocalRandom.current();
+    final Random random = RandomStreams.current();
     final StringBuilder buf = new StringBuilder().append(keys[random.nextInt(keys.length)]);
     
     int offsets = random.nextInt(maxOffsets - 1);
@@ -1170,7 +1170,7 @@ public class TimeSeriesWorkload extends Workload {
      * @return The next key to write.
      */
     protected String nextDataPoint(final Map<String, ByteIterator> map, final boolean isInsert) {
-      final Random random = ThreadLocalRandom.current();
+      final Random random = RandomStreams.current();
       int iterations = sparsity <= 0 ? 1 : random.nextInt((int) ((double) perKeyCardinality * sparsity));
       if (iterations < 1) {
         iterations = 1;
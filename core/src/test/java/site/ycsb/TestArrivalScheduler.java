@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.testng.annotations.Test;
+import site.ycsb.generator.RandomStreams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test class for {@link ArrivalScheduler}.
+ */
+public class TestArrivalScheduler {
+
+  @Test
+  public void testConstantArrivalsAreEvenlySpaced() {
+    ArrivalScheduler scheduler = new ArrivalScheduler(ArrivalScheduler.Process.CONSTANT,
+        ArrivalScheduler.CatchUp.BURST, 1000, 1);
+    long first = scheduler.next();
+    for (int i = 1; i < 100; i++) {
+      assertEquals(scheduler.next() - first, i * 1000000L);
+    }
+  }
+
+  @Test
+  public void testFractionalIntervalsDoNotDrift() {
+    ArrivalScheduler scheduler = new ArrivalScheduler(ArrivalScheduler.Process.CONSTANT,
+        ArrivalScheduler.CatchUp.BURST, 3000, 1);
+    long first = scheduler.next();
+    long last = first;
+    for (int i = 1; i <= 3000; i++) {
+      last = scheduler.next();
+    }
+    assertTrue(Math.abs(last - first - 1000000000L) <= 1, Long.toString(last - first));
+  }
+
+  @Test
+  public void testBurstKeepsMissedArrivals() throws InterruptedException {
+    ArrivalScheduler scheduler = new ArrivalScheduler(ArrivalScheduler.Process.CONSTANT,
+        ArrivalScheduler.CatchUp.BURST, 1000, 1);
+    long first = scheduler.next();
+    Thread.sleep(20);
+    assertEquals(scheduler.next(), first + 1000000L);
+  }
+
+  @Test
+  public void testSkipDropsMissedArrivals() throws InterruptedException {
+    ArrivalScheduler scheduler = new ArrivalScheduler(ArrivalScheduler.Process.CONSTANT,
+        ArrivalScheduler.CatchUp.SKIP, 1000, 1);
+    long first = scheduler.next();
+    Thread.sleep(20);
+    long before = System.nanoTime();
+    long second = scheduler.next();
+    assertTrue(second >= before);
+    assertTrue(second - first >= 20000000L);
+  }
+
+  @Test
+  public void testRandomArrivalsKeepMeanRate() {
+    for (ArrivalScheduler.Process process : new ArrivalScheduler.Process[]{
+        ArrivalScheduler.Process.POISSON, ArrivalScheduler.Process.BURSTY}) {
+      ArrivalScheduler scheduler = new ArrivalScheduler(process, ArrivalScheduler.CatchUp.BURST, 1000, 10);
+      long first = scheduler.next();
+      long last = first;
+      final int count = 200000;
+      for (int i = 0; i < count; i++) {
+        long next = scheduler.next();
+        assertTrue(next >= last);
+        last = next;
+      }
+      double meanGapNs = (last - first) / (double) count;
+      assertTrue(Math.abs(meanGapNs - 1000000.0) < 50000.0, process + " mean gap " + meanGapNs);
+    }
+  }
+
+  private static List<Long> poissonGaps() {
+    RandomStreams.bind(0);
+    ArrivalScheduler scheduler = new ArrivalScheduler(ArrivalScheduler.Process.POISSON,
+        ArrivalScheduler.CatchUp.BURST, 1000, 1);
+    List<Long> gaps = new ArrayList<>();
+    long last = scheduler.next();
+    for (int i = 0; i < 100; i++) {
+      long next = scheduler.next();
+      gaps.add(next - last);
+      last = next;
+    }
+    return gaps;
+  }
+
+  @Test
+  public void testSeededArrivalsRepeat() {
+    Properties props = new Properties();
+    props.setProperty(RandomStreams.SEED_PROPERTY, "7");
+    RandomStreams.setProperties(props);
+    try {
+      assertEquals(poissonGaps(), poissonGaps());
+    } finally {
+      RandomStreams.setProperties(new Properties());
+    }
+  }
+
+  @Test
+  public void testPerThreadThrottlingByDefault() {
+    assertNull(ArrivalScheduler.fromProperties(new Properties(), 1000));
+    Properties props = new Properties();
+    props.setProperty(ArrivalScheduler.ARRIVAL_PROPERTY, "poisson");
+    assertNull(ArrivalScheduler.fromProperties(props, 0));
+    assertTrue(ArrivalScheduler.fromProperties(props, 1000) != null);
+  }
+
+  @Test
+  public void testUnknownSettingsNameTheProperty() {
+    Properties props = new Properties();
+    props.setProperty(ArrivalScheduler.ARRIVAL_PROPERTY, "poison");
+    try {
+      ArrivalScheduler.fromProperties(props, 1000);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains(ArrivalScheduler.ARRIVAL_PROPERTY), e.getMessage());
+      assertTrue(e.getMessage().contains("poisson"), e.getMessage());
+    }
+    props.setProperty(ArrivalScheduler.ARRIVAL_PROPERTY, "Constant");
+    props.setProperty(ArrivalScheduler.CATCHUP_PROPERTY, "later");
+    try {
+      ArrivalScheduler.fromProperties(props, 1000);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains(ArrivalScheduler.CATCHUP_PROPERTY), e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link AsyncDBAdapter}.
+ */
+public class TestAsyncDBAdapter {
+
+  /**
+   * An AsyncDB whose operations only complete when the test says so.
+   */
+  private static class PendingDB extends AsyncDB {
+    private final List<CompletableFuture<Status>> pending = new ArrayList<>();
+
+    private synchronized CompletionStage<Status> next() {
+      CompletableFuture<Status> f = new CompletableFuture<>();
+      pending.add(f);
+      return f;
+    }
+
+    synchronized void completeAll(Status status) {
+      for (CompletableFuture<Status> f : pending) {
+        f.complete(status);
+      }
+      pending.clear();
+    }
+
+    @Override
+    public CompletionStage<Status> read(String table, String key, Set<String> fields,
+                                        Map<String, ByteIterator> result) {
+      return next();
+    }
+
+    @Override
+    public CompletionStage<Status> scan(String table, String startkey, int recordcount, Set<String> fields,
+                                        Vector<HashMap<String, ByteIterator>> result) {
+      return next();
+    }
+
+    @Override
+    public CompletionStage<Status> update(String table, String key, Map<String, ByteIterator> values) {
+      return next();
+    }
+
+    @Override
+    public CompletionStage<Status> insert(String table, String key, Map<String, ByteIterator> values) {
+      return next();
+    }
+
+    @Override
+    public CompletionStage<Status> delete(String table, String key) {
+      return next();
+    }
+  }
+
+  @Test
+  public void testWindowBoundsInflightOperations() throws Exception {
+    final PendingDB db = new PendingDB();
+    final AsyncDBAdapter adapter = new AsyncDBAdapter(db, 4);
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(adapter.delete("t", "k" + i), Status.BATCHED_OK);
+    }
+    assertEquals(adapter.getInflight(), 4);
+
+    Thread issuer = new Thread() {
+      @Override
+      public void run() {
+        adapter.delete("t", "blocked");
+      }
+    };
+    issuer.start();
+    issuer.join(200);
+    assertTrue(issuer.isAlive());
+
+    db.completeAll(Status.OK);
+    issuer.join(5000);
+    assertFalse(issuer.isAlive());
+    assertEquals(adapter.getInflight(), 1);
+
+    db.completeAll(Status.OK);
+    adapter.awaitCompletion();
+    assertEquals(adapter.getInflight(), 0);
+  }
+
+  @Test
+  public void testWindowOfOneReturnsActualStatus() {
+    AsyncDB db = new PendingDB() {
+      @Override
+      public CompletionStage<Status> delete(String table, String key) {
+        return CompletableFuture.completedFuture(Status.NOT_FOUND);
+      }
+    };
+    AsyncDBAdapter adapter = new AsyncDBAdapter(db, 1);
+    assertEquals(adapter.delete("t", "k"), Status.NOT_FOUND);
+    assertEquals(adapter.getInflight(), 0);
+  }
+}
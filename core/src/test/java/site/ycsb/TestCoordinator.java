@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.workloads.CoreWorkload;
+
+import org.testng.annotations.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link Coordinator}.
+ */
+public class TestCoordinator {
+
+  @Test
+  public void sharesCoverTheWholeRange() {
+    for (int parts = 1; parts <= 7; parts++) {
+      long next = 0;
+      for (int i = 0; i < parts; i++) {
+        assertEquals(Coordinator.offset(100, i, parts), next);
+        next += Coordinator.share(100, i, parts);
+      }
+      assertEquals(next, 100);
+    }
+  }
+
+  @Test
+  public void loadSplitsTheKeyspaceAndTarget() {
+    Properties props = new Properties();
+    props.setProperty(Client.DO_TRANSACTIONS_PROPERTY, "false");
+    props.setProperty(Client.RECORD_COUNT_PROPERTY, "1000");
+    props.setProperty(Workload.INSERT_START_PROPERTY, "10");
+    props.setProperty(Client.TARGET_PROPERTY, "100");
+    Coordinator coordinator = new Coordinator(props, 3);
+
+    Properties last = coordinator.assignment(2, 3);
+    assertEquals(last.getProperty(Workload.INSERT_START_PROPERTY), "670");
+    assertEquals(last.getProperty(Client.INSERT_COUNT_PROPERTY), "330");
+    assertEquals(last.getProperty(Client.TARGET_PROPERTY), "33");
+    assertEquals(coordinator.assignment(0, 3).getProperty(Client.TARGET_PROPERTY), "34");
+    assertNull(last.getProperty(Client.OPERATION_COUNT_PROPERTY));
+  }
+
+  /**
+   * A DB which remembers the keys inserted into it.
+   */
+  private static class InsertedKeysDB extends DB {
+    private final List<String> inserted = new ArrayList<>();
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      inserted.add(key);
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      return Status.OK;
+    }
+  }
+
+  @Test
+  public void transactionsInsertIntoRangesOfTheirOwn() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(Client.RECORD_COUNT_PROPERTY, "1000");
+    props.setProperty(Client.OPERATION_COUNT_PROPERTY, "11");
+    props.setProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY, "1");
+    props.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0");
+    props.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    props.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    Measurements.setProperties(props);
+    Coordinator coordinator = new Coordinator(props, 2);
+
+    Set<String> all = new HashSet<>();
+    for (int i = 0; i < 2; i++) {
+      Properties workerProps = new Properties();
+      workerProps.putAll(props);
+      workerProps.putAll(coordinator.assignment(i, 2));
+      CoreWorkload workload = new CoreWorkload();
+      workload.init(workerProps);
+      InsertedKeysDB db = new InsertedKeysDB();
+      int opcount = Integer.parseInt(workerProps.getProperty(Client.OPERATION_COUNT_PROPERTY));
+      Object state = workload.initThread(workerProps, 0, 1);
+      for (int op = 0; op < opcount; op++) {
+        workload.doTransaction(db, state);
+      }
+      assertEquals(db.inserted.get(0), "user" + (1000 + 6 * i));
+      all.addAll(db.inserted);
+    }
+    assertEquals(all.size(), 11);
+    assertEquals(coordinator.assignment(1, 2).getProperty(CoreWorkload.TRANSACTION_INSERT_START_PROPERTY), "1006");
+  }
+
+  /**
+   * A DB that only knows the records loaded or inserted into it, and counts reads of any other.
+   */
+  private static class RecordsDB extends DB {
+    private final Set<String> records = new HashSet<>();
+    private final List<String> missed = new ArrayList<>();
+
+    @Override
+    public synchronized Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+      if (!records.contains(key)) {
+        missed.add(key);
+        return Status.NOT_FOUND;
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public synchronized Status update(String table, String key, Map<String, ByteIterator> values) {
+      return read(table, key, null, null);
+    }
+
+    @Override
+    public synchronized Status insert(String table, String key, Map<String, ByteIterator> values) {
+      records.add(key);
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      return Status.OK;
+    }
+  }
+
+  @Test
+  public void workersOnlyReadRecordsThatWereInserted() throws Exception {
+    for (String distribution : new String[]{"zipfian", "latest"}) {
+      Properties props = new Properties();
+      props.setProperty(Client.RECORD_COUNT_PROPERTY, "100");
+      props.setProperty(Client.OPERATION_COUNT_PROPERTY, "400");
+      props.setProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY, "0.5");
+      props.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.25");
+      props.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.25");
+      props.setProperty(CoreWorkload.REQUEST_DISTRIBUTION_PROPERTY, distribution);
+      Measurements.setProperties(props);
+      Coordinator coordinator = new Coordinator(props, 2);
+
+      RecordsDB db = new RecordsDB();
+      CoreWorkload loader = new CoreWorkload();
+      loader.init(props);
+      Object loaderState = loader.initThread(props, 0, 1);
+      for (int i = 0; i < 100; i++) {
+        loader.doInsert(db, loaderState);
+      }
+
+      // the second worker runs before the first inserted anything, so it must not read past the loaded records
+      for (int i = 1; i >= 0; i--) {
+        Properties workerProps = new Properties();
+        workerProps.putAll(props);
+        workerProps.putAll(coordinator.assignment(i, 2));
+        CoreWorkload workload = new CoreWorkload();
+        workload.init(workerProps);
+        int opcount = Integer.parseInt(workerProps.getProperty(Client.OPERATION_COUNT_PROPERTY));
+        Object state = workload.initThread(workerProps, 0, 1);
+        for (int op = 0; op < opcount; op++) {
+          workload.doTransaction(db, state);
+        }
+      }
+      assertTrue(db.records.size() > 200, Integer.toString(db.records.size()));
+      assertTrue(db.missed.isEmpty(), distribution + " read " + db.missed);
+    }
+  }
+
+  @Test
+  public void timeBoundTransactionsSplitTheKeysLeft() {
+    Properties props = new Properties();
+    props.setProperty(Client.RECORD_COUNT_PROPERTY, "1000");
+    Coordinator coordinator = new Coordinator(props, 2);
+    long second = Long.parseLong(coordinator.assignment(1, 2).getProperty(
+        CoreWorkload.TRANSACTION_INSERT_START_PROPERTY));
+    assertEquals(coordinator.assignment(0, 2).getProperty(CoreWorkload.TRANSACTION_INSERT_START_PROPERTY), "1000");
+    assertTrue(second > Long.MAX_VALUE / 2, Long.toString(second));
+  }
+
+  @Test
+  public void workersAreStartedTogetherAndMerged() throws Exception {
+    final Properties props = new Properties();
+    props.setProperty(Client.OPERATION_COUNT_PROPERTY, "11");
+    Measurements.setProperties(props);
+    Measurements.getMeasurements().measure("UPDATE-TEST", 40);
+    Measurements.getMeasurements().reportStatus("UPDATE-TEST", Status.OK);
+
+    final Coordinator coordinator = new Coordinator(props, 2);
+    final ServerSocket server = new ServerSocket(0);
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    Thread runner = new Thread() {
+      @Override
+      public void run() {
+        try {
+          coordinator.run(server);
+        } catch (Exception e) {
+          failure.set(e);
+        }
+      }
+    };
+    runner.start();
+
+    Properties[] workerProps = new Properties[2];
+    CoordinatedWorker[] workers = new CoordinatedWorker[2];
+    for (int i = 0; i < 2; i++) {
+      workerProps[i] = new Properties();
+      workerProps[i].setProperty(Coordinator.ADDRESS_PROPERTY, "localhost:" + server.getLocalPort());
+      workers[i] = CoordinatedWorker.join(workerProps[i]);
+    }
+    assertEquals(workerProps[0].getProperty(Client.OPERATION_COUNT_PROPERTY), "6");
+    assertEquals(workerProps[1].getProperty(Client.OPERATION_COUNT_PROPERTY), "5");
+    assertEquals(workerProps[1].getProperty(Coordinator.WORKER_PROPERTY), "1");
+
+    // the coordinator only starts the workers once all of them wait for it
+    Thread[] waiting = new Thread[2];
+    for (int i = 0; i < 2; i++) {
+      final CoordinatedWorker worker = workers[i];
+      waiting[i] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            worker.awaitStart();
+          } catch (Exception e) {
+            failure.set(e);
+          }
+        }
+      };
+      waiting[i].start();
+    }
+    for (Thread t : waiting) {
+      t.join(10000);
+    }
+    workers[0].report(6, 1000);
+    workers[1].report(5, 2000);
+    for (CoordinatedWorker worker : workers) {
+      worker.close();
+    }
+    runner.join(10000);
+    server.close();
+
+    assertNull(failure.get());
+    assertEquals(coordinator.getOpsDone(), 11);
+    assertEquals(coordinator.getRuntime(), 2000);
+    OneMeasurementHdrHistogram merged = coordinator.getMeasurements().get("UPDATE-TEST");
+    assertEquals(merged.getTotalHistogram().getTotalCount(), 2);
+    assertEquals(merged.getStatusCounts().get("OK"), Integer.valueOf(2));
+  }
+}
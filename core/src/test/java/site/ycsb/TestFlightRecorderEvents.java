@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.apache.htrace.core.HTraceConfiguration;
+import org.apache.htrace.core.Tracer;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import site.ycsb.measurements.Measurements;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link FlightRecorderEvents}.
+ */
+public class TestFlightRecorderEvents {
+
+  /**
+   * A DB whose reads of the key "slow" take 5ms.
+   */
+  private static class SlowKeyDB extends DB {
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+      if (key.equals("slow")) {
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      return Status.NOT_FOUND;
+    }
+  }
+
+  /**
+   * An AsyncDB whose reads of the key "slow" complete 5ms later, on another thread.
+   */
+  private static class SlowKeyAsyncDB extends AsyncDB {
+    private final SlowKeyDB db = new SlowKeyDB();
+
+    @Override
+    public CompletionStage<Status> read(final String table, final String key, final Set<String> fields,
+                                        final Map<String, ByteIterator> result) {
+      if (!key.equals("slow")) {
+        return CompletableFuture.completedFuture(Status.OK);
+      }
+      return CompletableFuture.supplyAsync(() -> db.read(table, key, fields, result));
+    }
+
+    @Override
+    public CompletionStage<Status> scan(String table, String startkey, int recordcount, Set<String> fields,
+                                        Vector<HashMap<String, ByteIterator>> result) {
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletionStage<Status> update(String table, String key, Map<String, ByteIterator> values) {
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletionStage<Status> insert(String table, String key, Map<String, ByteIterator> values) {
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletionStage<Status> delete(String table, String key) {
+      return CompletableFuture.completedFuture(Status.NOT_FOUND);
+    }
+  }
+
+  /**
+   * @return The name and fields of each YCSB event in a recording, read with the JFR consumer API.
+   */
+  private static List<String> readEvents(Path recording) throws Exception {
+    Class<?> recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile");
+    List<?> all = (List<?>) recordingFile.getMethod("readAllEvents", Path.class).invoke(null, recording);
+    Class<?> recordedObject = Class.forName("jdk.jfr.consumer.RecordedObject");
+    List<String> events = new ArrayList<>();
+    for (Object event : all) {
+      Object type = event.getClass().getMethod("getEventType").invoke(event);
+      if (!type.getClass().getMethod("getName").invoke(type).equals(FlightRecorderEvents.EVENT_NAME)) {
+        continue;
+      }
+      StringBuilder sb = new StringBuilder();
+      for (String field : new String[] {"operation", "table", "keyHash", "status"}) {
+        sb.append(recordedObject.getMethod("getValue", String.class).invoke(event, field)).append(' ');
+      }
+      long latency = (Long) recordedObject.getMethod("getValue", String.class).invoke(event, "latency");
+      events.add(sb.append(latency >= 5000000).toString());
+    }
+    return events;
+  }
+
+  private static Properties recordTo(File file) {
+    try {
+      Class.forName("jdk.jfr.EventFactory");
+    } catch (ClassNotFoundException e) {
+      throw new SkipException("This JVM cannot define JFR events");
+    }
+    Properties props = new Properties();
+    props.setProperty(FlightRecorderEvents.ENABLED_PROPERTY, "true");
+    props.setProperty(FlightRecorderEvents.FILE_PROPERTY, file.getPath());
+    props.setProperty(FlightRecorderEvents.THRESHOLD_PROPERTY, "1000");
+    Measurements.setProperties(props);
+    return props;
+  }
+
+  @Test
+  public void slowOperationsAreRecorded() throws Exception {
+    File file = File.createTempFile("ycsb", ".jfr");
+    Properties props = recordTo(file);
+
+    FlightRecorderEvents events = FlightRecorderEvents.start(props);
+    DB db = new SlowKeyDB();
+    db.setProperties(props);
+    DBWrapper wrapper = new DBWrapper(db, new Tracer.Builder("test").conf(HTraceConfiguration.EMPTY).build());
+    wrapper.init();
+    wrapper.read("usertable", "fast", null, new HashMap<String, ByteIterator>());
+    wrapper.read("usertable", "slow", null, new HashMap<String, ByteIterator>());
+    wrapper.delete("usertable", "fast");
+    events.stop();
+    assertNull(FlightRecorderEvents.getCurrent());
+    // no recording takes the events any more, so none is created
+    assertNull(events.begin());
+
+    assertTrue(file.length() > 0);
+    List<String> recorded = readEvents(file.toPath());
+    assertEquals(recorded.size(), 1, recorded.toString());
+    assertEquals(recorded.get(0), "READ usertable " + "slow".hashCode() + " OK true");
+    Files.delete(file.toPath());
+  }
+
+  @Test
+  public void slowAsyncOperationsAreRecorded() throws Exception {
+    File file = File.createTempFile("ycsb", ".jfr");
+    Properties props = recordTo(file);
+
+    FlightRecorderEvents events = FlightRecorderEvents.start(props);
+    AsyncDB db = new SlowKeyAsyncDB();
+    db.setProperties(props);
+    AsyncDBWrapper wrapper = new AsyncDBWrapper(db,
+        new Tracer.Builder("test").conf(HTraceConfiguration.EMPTY).build());
+    wrapper.init();
+    CompletionStage<Status> slow = wrapper.read("usertable", "slow", null, new HashMap<String, ByteIterator>());
+    wrapper.read("usertable", "fast", null, new HashMap<String, ByteIterator>()).toCompletableFuture().join();
+    wrapper.delete("usertable", "fast").toCompletableFuture().join();
+    slow.toCompletableFuture().join();
+    events.stop();
+
+    List<String> recorded = readEvents(file.toPath());
+    assertEquals(recorded.size(), 1, recorded.toString());
+    assertEquals(recorded.get(0), "READ usertable " + "slow".hashCode() + " OK true");
+    Files.delete(file.toPath());
+  }
+
+  @Test
+  public void noEventsByDefault() {
+    assertNull(FlightRecorderEvents.start(new Properties()));
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+import site.ycsb.measurements.HistogramCodec;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link HdrHistogramLogReport}.
+ */
+public class TestHdrHistogramLogReport {
+
+  /**
+   * Write a log the way "hdrhistogram.fileoutput" does, with one second intervals of 100
+   * operations each.
+   *
+   * @param offset    The start of the first interval, in seconds after the start of the log.
+   * @param latencies The latency of all operations of each interval.
+   */
+  private static File writeLog(File dir, String file, double offset, long... latencies) throws Exception {
+    File log = new File(dir, file);
+    try (PrintWriter out = new PrintWriter(log, "UTF-8")) {
+      out.println("#[Logging for: READ]");
+      out.println("#[Histogram log format version 1.1]");
+      out.println("#[StartTime: 1792220000.000 (seconds since epoch), Sat Oct 17 06:53:20 UTC 2026]");
+      out.println("\"StartTimestamp\",\"Interval_Length\",\"Interval_Max\",\"Interval_Compressed_Histogram\"");
+      for (int i = 0; i < latencies.length; i++) {
+        Histogram h = new Histogram(3);
+        h.recordValueWithCount(latencies[i], 100);
+        out.println(String.format(Locale.ROOT, "%.3f,%.3f,%.3f,%s", offset + i, 1.0, latencies[i] / 1e6,
+            HistogramCodec.encode(h)));
+      }
+    }
+    return log;
+  }
+
+  @Test
+  public void logsAreMergedWithinTheTimeWindow() throws Exception {
+    File dir = Files.createTempDirectory("hdrlogs").toFile();
+    // the first client warms up for 5 seconds, the second started a moment later
+    File first = writeLog(dir, "client1-READ.hdr", 0, 9000, 9000, 9000, 9000, 9000, 100, 100, 100, 100, 100);
+    File second = writeLog(dir, "client2-READ.hdr", 0.3, 200, 200, 200, 200, 200, 200, 200, 200, 200, 200);
+
+    HdrHistogramLogReport report = new HdrHistogramLogReport(5, Double.POSITIVE_INFINITY, 0);
+    report.add(first);
+    report.add(second);
+
+    Histogram total = report.getTotals().get("READ");
+    assertEquals(total.getTotalCount(), 1000);
+    assertEquals(total.getMaxValue(), 200);
+    assertEquals(total.getValueAtPercentile(50), 100);
+    assertEquals(report.getSlots().keySet().toString(), "[5, 6, 7, 8, 9]");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    Properties props = new Properties();
+    props.setProperty("hdrhistogram.percentiles", "99");
+    report.export(props, exporter);
+    exporter.close();
+    String exported = out.toString("UTF-8");
+    assertTrue(exported.contains("[READ], Operations, 1000"), exported);
+    assertTrue(exported.contains("[READ], 99thPercentileLatency(us), 200"), exported);
+
+    StringWriter csv = new StringWriter();
+    report.writeCsv(Arrays.asList(50.0, 99.9), "us", csv);
+    String[] lines = csv.toString().split("\n");
+    assertEquals(lines.length, 6);
+    assertEquals(lines[0], "measurement,start(s),count,mean(us),min(us),max(us),p50(us),p99.9(us)");
+    assertEquals(lines[1], "READ,5,200,150.00,100,200,100,200");
+  }
+
+  @Test
+  public void windowEndsExcludeLaterIntervals() throws Exception {
+    File dir = Files.createTempDirectory("hdrlogs").toFile();
+    HdrHistogramLogReport report = new HdrHistogramLogReport(0, 2, 0);
+    report.add(writeLog(dir, "READ.hdr", 0, 10, 20, 30));
+    assertEquals(report.getTotals().get("READ").getTotalCount(), 200);
+    assertEquals(report.getTotals().get("READ").getMaxValue(), 20);
+  }
+}
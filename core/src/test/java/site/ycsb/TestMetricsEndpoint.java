@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.testng.annotations.Test;
+import site.ycsb.measurements.MeasurementHandle;
+import site.ycsb.measurements.Measurements;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link MetricsEndpoint}.
+ */
+public class TestMetricsEndpoint {
+
+  private static String get(MetricsEndpoint endpoint) throws Exception {
+    URL url = new URL("http://localhost:" + endpoint.getPort() + MetricsEndpoint.PATH);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    assertEquals(connection.getResponseCode(), 200);
+    assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = connection.getInputStream()) {
+      byte[] buffer = new byte[4096];
+      int n;
+      while ((n = in.read(buffer)) > 0) {
+        out.write(buffer, 0, n);
+      }
+    }
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  public void servesLatenciesOverTheRunAndSinceThePreviousScrape() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(MetricsEndpoint.PORT_PROPERTY, "0");
+    props.setProperty(MetricsEndpoint.PERCENTILES_PROPERTY, "50,99.9");
+    Measurements measurements = new Measurements(props);
+    MeasurementHandle read = measurements.getHandle("READ");
+    MetricsEndpoint endpoint = new MetricsEndpoint(props, new ArrayList<ClientThread>(), measurements);
+    endpoint.start();
+    try {
+      for (int i = 0; i < 10; i++) {
+        read.measure(100);
+        read.reportStatus(Status.OK);
+      }
+      String first = get(endpoint);
+      assertTrue(first.contains("# TYPE ycsb_latency_seconds summary\n"), first);
+      assertTrue(first.contains("ycsb_latency_seconds{measurement=\"READ\",quantile=\"0.5\"} 1.0E-4\n"), first);
+      assertTrue(first.contains("ycsb_latency_seconds{measurement=\"READ\",quantile=\"0.999\"} 1.0E-4\n"), first);
+      assertTrue(first.contains("ycsb_latency_seconds_count{measurement=\"READ\"} 10\n"), first);
+      assertTrue(first.contains("ycsb_interval_latency_seconds{measurement=\"READ\",quantile=\"0.5\"} 1.0E-4\n"),
+          first);
+      assertTrue(first.contains("ycsb_operation_status_total{measurement=\"READ\",status=\"OK\"} 10\n"), first);
+      assertTrue(first.contains("ycsb_operations_total 0\n"), first);
+      assertTrue(first.contains("# TYPE ycsb_jvm_memory_used_bytes gauge\n"), first);
+
+      for (int i = 0; i < 10; i++) {
+        read.measure(2000);
+      }
+      String second = get(endpoint);
+      assertTrue(second.contains("ycsb_latency_seconds_count{measurement=\"READ\"} 20\n"), second);
+      assertTrue(second.contains("ycsb_interval_latency_seconds{measurement=\"READ\",quantile=\"0.5\"} 0.002"),
+          second);
+
+      String third = get(endpoint);
+      assertFalse(third.contains("ycsb_interval_latency_seconds{"), third);
+      // the status line still covers everything recorded since the previous summary
+      assertTrue(measurements.getSummary().contains("Count=20"), measurements.getSummary());
+    } finally {
+      endpoint.stop();
+    }
+  }
+}
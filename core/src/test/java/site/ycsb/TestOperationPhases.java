@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.apache.htrace.core.HTraceConfiguration;
+import org.apache.htrace.core.Tracer;
+import org.testng.annotations.Test;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link OperationPhases}.
+ */
+public class TestOperationPhases {
+
+  /**
+   * A DB that marks phases the way a binding would, spending a millisecond in each.
+   */
+  private static class PhasedDB extends DB {
+    private static void spend(String phase) {
+      OperationPhases.phase(phase);
+      long end = System.nanoTime() + 1000000;
+      while (System.nanoTime() < end) {
+        Thread.yield();
+      }
+    }
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+      spend("encode");
+      spend("rpc");
+      spend("decode");
+      // a phase entered again adds up
+      spend("rpc");
+      OperationPhases.endPhase();
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values) {
+      spend("encode");
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      spend("encode");
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      // not every call goes through the same phases
+      if (key.startsWith("remote")) {
+        spend("lookup");
+      }
+      spend("rpc");
+      return Status.OK;
+    }
+  }
+
+  private static DBWrapper wrap(boolean phases) throws DBException {
+    Properties props = new Properties();
+    props.setProperty(OperationPhases.PHASES_PROPERTY, Boolean.toString(phases));
+    Measurements.setProperties(props);
+    DB db = new PhasedDB();
+    db.setProperties(props);
+    DBWrapper wrapper = new DBWrapper(db, new Tracer.Builder("test").conf(HTraceConfiguration.EMPTY).build());
+    wrapper.init();
+    return wrapper;
+  }
+
+  private static Map<String, OneMeasurement> measurementsByName() {
+    Map<String, OneMeasurement> byName = new HashMap<>();
+    for (OneMeasurement m : Measurements.getMeasurements().getOneMeasurements()) {
+      byName.put(m.getName(), m);
+    }
+    return byName;
+  }
+
+  private static void assertOperations(Map<String, OneMeasurement> byName, String phase, int count)
+      throws Exception {
+    assertTrue(byName.containsKey(phase), byName.keySet().toString());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    byName.get(phase).exportMeasurements(exporter);
+    exporter.close();
+    String exported = out.toString("UTF-8");
+    assertTrue(exported.contains("[" + phase + "], Operations, " + count), exported);
+  }
+
+  @Test
+  public void phasesAreMeasuredUnderTheOperation() throws Exception {
+    DBWrapper db = wrap(true);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(db.read("table", "key", null, new HashMap<String, ByteIterator>()), Status.OK);
+    }
+    // outside of an operation, marking a phase does nothing
+    OperationPhases.phase("idle");
+
+    Map<String, OneMeasurement> byName = measurementsByName();
+    for (String phase : new String[] {"READ.encode", "READ.rpc", "READ.decode"}) {
+      assertOperations(byName, phase, 3);
+    }
+    assertFalse(byName.containsKey("READ.idle"));
+  }
+
+  @Test
+  public void phasesInAnotherOrderAreMeasuredUnderTheirOwnNames() throws Exception {
+    DBWrapper db = wrap(true);
+    assertEquals(db.delete("table", "remote1"), Status.OK);
+    assertEquals(db.delete("table", "local"), Status.OK);
+    assertEquals(db.delete("table", "remote2"), Status.OK);
+
+    Map<String, OneMeasurement> byName = measurementsByName();
+    assertOperations(byName, "DELETE.lookup", 2);
+    assertOperations(byName, "DELETE.rpc", 3);
+  }
+
+  @Test
+  public void phasesAreNotMeasuredByDefault() throws Exception {
+    DBWrapper db = wrap(false);
+    assertEquals(db.update("table", "key", new HashMap<String, ByteIterator>()), Status.OK);
+    assertFalse(measurementsByName().containsKey("UPDATE.encode"));
+  }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+import site.ycsb.measurements.MeasurementHandle;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.RawLatencyLog;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link RawLatencyLogReport} and the raw latency log it reads.
+ */
+public class TestRawLatencyLogReport {
+
+  @Test
+  public void recordsOfAllThreadsAreReported() throws Exception {
+    File dir = Files.createTempDirectory("rawlog").toFile();
+    Properties props = new Properties();
+    props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "rawlog");
+    props.setProperty(RawLatencyLog.DIRECTORY_PROPERTY, dir.getPath());
+    props.setProperty(RawLatencyLog.BUFFER_SIZE_PROPERTY, "100");
+    final Measurements measurements = new Measurements(props);
+    final MeasurementHandle read = measurements.getHandle("READ");
+
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 1; i <= 1000; i++) {
+            read.measureNanos(i * 1000L, Status.OK);
+          }
+          read.measureNanos(5000000L, Status.ERROR);
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    measurements.exportMeasurements(exporter);
+    exporter.close();
+    String summary = out.toString("UTF-8");
+    assertTrue(summary.contains("[READ], Operations, 4004"), summary);
+    assertTrue(summary.contains("[READ], MaxLatency(us), 5000"), summary);
+
+    StringWriter csv = new StringWriter();
+    RawLatencyLogReport report = RawLatencyLogReport.read(dir, csv);
+    Histogram h = report.getLatencies().get("READ");
+    assertEquals(h.getTotalCount(), 4004);
+    assertEquals(h.getValueAtPercentile(50), 500, 1);
+    assertEquals(h.getMaxValue(), 5000, 5);
+
+    String[] lines = csv.toString().split("\n");
+    assertEquals(lines.length, 4005);
+    assertEquals(lines[0], "operation,timestamp(ms),status,latency(us)");
+    assertTrue(lines[1].startsWith("READ,") && lines[1].endsWith(",OK,1"), lines[1]);
+
+    ByteArrayOutputStream reportOut = new ByteArrayOutputStream();
+    Properties reportProps = new Properties();
+    reportProps.setProperty("hdrhistogram.percentiles", "50");
+    exporter = new TextMeasurementsExporter(reportOut);
+    report.export(reportProps, exporter);
+    exporter.close();
+    String reported = reportOut.toString("UTF-8");
+    assertTrue(reported.contains("[READ], 50thPercentileLatency(us), 50"), reported);
+    assertTrue(reported.contains("[READ], Return=ERROR, 4"), reported);
+  }
+
+  @Test
+  public void namesAreWrittenBeforeTheLogIsClosed() throws Exception {
+    File dir = Files.createTempDirectory("rawlog").toFile();
+    Properties props = new Properties();
+    props.setProperty(RawLatencyLog.DIRECTORY_PROPERTY, dir.getPath());
+    RawLatencyLog log = new RawLatencyLog(props, "ns");
+    int update = log.register("UPDATE");
+    log.write(update, Status.NOT_FOUND, 10);
+
+    assertEquals(RawLatencyLog.readUnit(dir), "ns");
+    List<String> names = Files.readAllLines(new File(dir, RawLatencyLog.NAMES_FILE).toPath(), StandardCharsets.UTF_8);
+    assertTrue(names.contains("operation\t" + update + "\tUPDATE"), names.toString());
+    assertTrue(names.contains("status\t0\tNOT_FOUND"), names.toString());
+    log.close();
+  }
+}
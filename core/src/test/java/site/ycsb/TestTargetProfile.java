@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.testng.annotations.Test;
+
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link TargetProfile}.
+ */
+public class TestTargetProfile {
+  private static final long SEC = 1000000000L;
+
+  private static TargetProfile profile(TargetProfile.Shape shape) {
+    TargetProfile p = new TargetProfile(shape, 100, 1100, 10, 5, 2);
+    p.start(0);
+    return p;
+  }
+
+  @Test
+  public void shapes() {
+    TargetProfile ramp = profile(TargetProfile.Shape.RAMP);
+    assertEquals(ramp.getTarget(0), 100.0, 1e-9);
+    assertEquals(ramp.getTarget(5 * SEC), 600.0, 1e-9);
+    assertEquals(ramp.getTarget(50 * SEC), 1100.0, 1e-9);
+
+    TargetProfile step = profile(TargetProfile.Shape.STEP);
+    assertEquals(step.getTarget(0), 300.0, 1e-9);
+    assertEquals(step.getTarget(15 * SEC), 500.0, 1e-9);
+    assertEquals(step.getTarget(100 * SEC), 1100.0, 1e-9);
+
+    TargetProfile sine = profile(TargetProfile.Shape.SINE);
+    assertEquals(sine.getTarget(0), 100.0, 1e-9);
+    assertEquals(sine.getTarget(5 * SEC), 1100.0, 1e-9);
+    assertEquals(sine.getTarget(10 * SEC), 100.0, 1e-9);
+
+    TargetProfile spike = profile(TargetProfile.Shape.SPIKE);
+    assertEquals(spike.getTarget(7 * SEC), 100.0, 1e-9);
+    assertEquals(spike.getTarget(9 * SEC), 1100.0, 1e-9);
+    assertEquals(spike.getTarget(11 * SEC), 100.0, 1e-9);
+  }
+
+  @Test
+  public void operationsFollowTheTarget() {
+    TargetProfile ramp = new TargetProfile(TargetProfile.Shape.RAMP, 0, 1000, 10, 1, 0);
+    ramp.start(0);
+    // over a ramp from 0 to 1000 ops/sec in 10 seconds, 5000 operations are due, split over 4 streams
+    long t = 0;
+    int ops = 0;
+    while (t < 10 * SEC) {
+      t = ramp.nextStart(t, 4);
+      ops++;
+    }
+    assertTrue(Math.abs(ops - 1250) <= 2, "ops " + ops);
+  }
+
+  @Test
+  public void constantTargetHasNoProfile() {
+    Properties props = new Properties();
+    assertNull(TargetProfile.fromProperties(props, 100));
+    props.setProperty(TargetProfile.PROFILE_PROPERTY, "sine");
+    assertNull(TargetProfile.fromProperties(props, 0));
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.testng.annotations.Test;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link ThreadModel}.
+ */
+public class TestThreadModel {
+
+  @Test
+  public void testFromString() {
+    assertEquals(ThreadModel.fromString("platform"), ThreadModel.PLATFORM);
+    assertEquals(ThreadModel.fromString(" Virtual "), ThreadModel.VIRTUAL);
+  }
+
+  @Test
+  public void testFromStringIgnoresTheDefaultLocale() {
+    Locale locale = Locale.getDefault();
+    Locale.setDefault(new Locale("tr", "TR"));
+    try {
+      assertEquals(ThreadModel.fromString("virtual"), ThreadModel.VIRTUAL);
+      assertEquals(ThreadModel.fromString("platform"), ThreadModel.PLATFORM);
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testFromStringUnknown() {
+    ThreadModel.fromString("green");
+  }
+
+  @Test
+  public void testEffectiveFallsBackWithoutVirtualThreads() {
+    if (ThreadModel.isVirtualSupported()) {
+      assertEquals(ThreadModel.VIRTUAL.effective(), ThreadModel.VIRTUAL);
+    } else {
+      assertEquals(ThreadModel.VIRTUAL.effective(), ThreadModel.PLATFORM);
+    }
+    assertEquals(ThreadModel.PLATFORM.effective(), ThreadModel.PLATFORM);
+  }
+
+  @Test
+  public void testNewThreadRunsTask() throws InterruptedException {
+    for (ThreadModel model : ThreadModel.values()) {
+      final AtomicBoolean ran = new AtomicBoolean();
+      Thread t = model.newThread(new Runnable() {
+        @Override
+        public void run() {
+          ran.set(true);
+        }
+      });
+      t.start();
+      t.join();
+      assertTrue(ran.get(), model.name());
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link ThroughputSearch}.
+ */
+public class TestThroughputSearch {
+
+  /**
+   * A trial against a store whose p99 is 1ms up to 6000 ops/sec and then climbs steeply, and
+   * which cannot do more than 9000 ops/sec, just keeping up with targets up to 5% higher.
+   */
+  private static ThroughputSearch.Trial trial(long target) {
+    Histogram read = new Histogram(3);
+    read.recordValueWithCount(500, 980);
+    long p99 = 1000;
+    if (target > 6000) {
+      p99 = 1000 + (target - 6000) * 10;
+    }
+    read.recordValueWithCount(p99, 20);
+    Map<String, Histogram> latencies = new HashMap<>();
+    latencies.put("READ", read);
+    return new ThroughputSearch.Trial(target, Math.min(target, 9000), latencies);
+  }
+
+  private static Properties props(String slo) {
+    Properties props = new Properties();
+    props.setProperty(ThroughputSearch.SLO_PROPERTY, slo);
+    props.setProperty(ThroughputSearch.START_PROPERTY, "1000");
+    props.setProperty(ThroughputSearch.PRECISION_PROPERTY, "0.02");
+    return props;
+  }
+
+  @Test
+  public void findsTheHighestTargetWithinTheSlo() throws Exception {
+    ThroughputSearch search = new ThroughputSearch(props("99:2000,99.9:2000"));
+    ThroughputSearch.Trial best = search.search(TestThroughputSearch::trial);
+    // 1000, 2000, 4000, 8000 (fails), then bisecting between 4000 and 8000
+    assertEquals(search.getTrials().get(3).getTarget(), 8000);
+    assertTrue(search.getTrials().get(3).getFailure().startsWith("READ p99.0"),
+        search.getTrials().get(3).getFailure());
+    assertTrue(best.getTarget() <= 6100 && best.getTarget() >= 5900, Long.toString(best.getTarget()));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    search.export(new Properties(), best, exporter);
+    exporter.close();
+    String exported = out.toString("UTF-8");
+    assertTrue(exported.contains("[SEARCH], Target(ops/sec), " + best.getTarget()), exported);
+    assertTrue(exported.contains("[READ], Operations, 1000"), exported);
+  }
+
+  @Test
+  public void trialsThatFallBehindTheTargetFail() {
+    ThroughputSearch search = new ThroughputSearch(props("99:1000000"));
+    ThroughputSearch.Trial best = search.search(TestThroughputSearch::trial);
+    assertTrue(best.getTarget() <= 9000 / 0.95 && best.getTarget() >= 8500, Long.toString(best.getTarget()));
+    assertEquals(search.getTrials().get(4).getFailure(), "throughput below target");
+  }
+
+  @Test
+  public void nothingPassesAnImpossibleSlo() {
+    Properties props = props("50:1");
+    props.setProperty(ThroughputSearch.MAX_TRIALS_PROPERTY, "4");
+    ThroughputSearch search = new ThroughputSearch(props);
+    assertNull(search.search(TestThroughputSearch::trial));
+    assertEquals(search.getTrials().size(), 4);
+  }
+}
@@ -16,12 +16,17 @@
  */
 package site.ycsb.generator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
 /**
  * Tests for the AcknowledgedCounterGenerator class.
  */
@@ -58,4 +63,67 @@ public class AcknowledgedCounterGeneratorTest {
     }
 
   }
+
+  /**
+   * Test that any number of values may await acknowledgement.
+   */
+  @Test
+  public void testManyUnacknowledgedValues() {
+    AcknowledgedCounterGenerator generator = new AcknowledgedCounterGenerator(0);
+    long first = generator.nextValue();
+    for (long i = 1; i < AcknowledgedCounterGenerator.WINDOW_SIZE * 3L; ++i) {
+      generator.acknowledge(generator.nextValue());
+    }
+    assertEquals(generator.lastValue().longValue(), -1);
+    assertEquals(generator.getInFlight(), AcknowledgedCounterGenerator.WINDOW_SIZE * 3L);
+    assertEquals(generator.getMaxInFlight(), AcknowledgedCounterGenerator.WINDOW_SIZE * 3L);
+
+    generator.acknowledge(first);
+    assertEquals(generator.lastValue().longValue(), AcknowledgedCounterGenerator.WINDOW_SIZE * 3L - 1);
+    assertEquals(generator.getInFlight(), 0);
+  }
+
+  /**
+   * Test that threads acknowledging concurrently advance the limit to the last value.
+   */
+  @Test
+  public void testConcurrentAcknowledgements() throws InterruptedException {
+    final AcknowledgedCounterGenerator generator = new AcknowledgedCounterGenerator(100);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t) {
+      Thread thread = new Thread(() -> {
+        Random rand = new Random();
+        List<Long> pending = new ArrayList<>();
+        for (int i = 0; i < 200000; ++i) {
+          pending.add(generator.nextValue());
+          if (pending.size() > 50) {
+            generator.acknowledge(pending.remove(rand.nextInt(pending.size())));
+          }
+        }
+        for (long value : pending) {
+          generator.acknowledge(value);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(generator.lastValue().longValue(), 100 + 8 * 200000 - 1);
+    assertEquals(generator.getInFlight(), 0);
+    assertTrue(generator.getMaxInFlight() >= 51, Long.toString(generator.getMaxInFlight()));
+  }
+
+  /**
+   * Test that acknowledging a value twice fails.
+   */
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testAcknowledgingTwice() {
+    AcknowledgedCounterGenerator generator = new AcknowledgedCounterGenerator(0);
+    generator.nextValue();
+    long second = generator.nextValue();
+    generator.acknowledge(second);
+    generator.acknowledge(second);
+  }
 }
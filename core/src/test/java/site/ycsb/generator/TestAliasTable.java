@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link AliasTable} and the generators sampling from one.
+ */
+public class TestAliasTable {
+
+  /**
+   * @return The share of an even grid of points in [0, 1) that each index is sampled for.
+   */
+  private static double[] shares(AliasTable table) {
+    int points = 1000000;
+    double[] shares = new double[table.size()];
+    for (int i = 0; i < points; i++) {
+      shares[table.sample((i + 0.5) / points)] += 1.0 / points;
+    }
+    return shares;
+  }
+
+  @Test
+  public void samplesInProportionToTheWeights() {
+    double[] weights = {0.95, 0.05, 0, 3, 1, 0.001};
+    double sum = 5.001;
+    double[] shares = shares(new AliasTable(weights));
+    for (int i = 0; i < weights.length; i++) {
+      assertEquals(shares[i], weights[i] / sum, 1e-5, "index " + i);
+    }
+  }
+
+  @Test
+  public void aSingleWeightIsAlwaysSampled() {
+    AliasTable table = new AliasTable(new double[] {2});
+    assertEquals(table.sample(0), 0);
+    assertEquals(table.sample(0.999999), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void allZeroWeightsAreRejected() {
+    new AliasTable(new double[] {0, 0});
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void negativeWeightsAreRejected() {
+    new AliasTable(new double[] {1, -1});
+  }
+
+  @Test
+  public void discreteGeneratorRebuildsAfterAddingValues() {
+    DiscreteGenerator generator = new DiscreteGenerator();
+    generator.addValue(1, "READ");
+    generator.addValue(0, "UPDATE");
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(generator.nextValue(), "READ");
+    }
+    generator.addValue(1, "SCAN");
+    Set<String> drawn = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      drawn.add(generator.nextValue());
+    }
+    assertEquals(drawn.size(), 2);
+    assertTrue(drawn.contains("SCAN"), drawn.toString());
+    assertTrue(!drawn.contains("UPDATE"), drawn.toString());
+  }
+
+  @Test
+  public void histogramGeneratorDrawsTheLargestValueOfABucket() {
+    HistogramGenerator generator = new HistogramGenerator(new long[] {0, 5, 0, 5}, 100);
+    Set<Long> drawn = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      drawn.add(generator.nextValue());
+    }
+    assertEquals(drawn.size(), 2);
+    assertTrue(drawn.contains(200L) && drawn.contains(400L), drawn.toString());
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link DriftingKeyGenerator}.
+ */
+public class TestDriftingKeyGenerator {
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  public void gradualDriftMovesContinuously() {
+    DriftingKeyGenerator generator = new DriftingKeyGenerator(1000, 1999, new ConstantIntegerGenerator(0), false, 10, 0);
+    assertEquals(generator.key(0, 0), 1000);
+    assertEquals(generator.key(0, SECOND / 2), 1005);
+    assertEquals(generator.key(5, 3 * SECOND), 1035);
+    // wraps around the key space
+    assertEquals(generator.key(0, 101 * SECOND), 1010);
+  }
+
+  @Test
+  public void abruptDriftJumpsEveryInterval() {
+    DriftingKeyGenerator generator = new DriftingKeyGenerator(0, 999, new ConstantIntegerGenerator(0), false, 10, 60);
+    assertEquals(generator.key(0, 59 * SECOND), 0);
+    assertEquals(generator.key(0, 60 * SECOND), 600);
+    assertEquals(generator.key(0, 119 * SECOND), 600);
+    assertEquals(generator.key(0, 120 * SECOND), 200);
+  }
+
+  @Test
+  public void scrambledHotSetIsGraduallyReplaced() {
+    DriftingKeyGenerator generator = new DriftingKeyGenerator(0, 999999, new ConstantIntegerGenerator(0), true, 10, 0);
+    Set<Long> before = new HashSet<>();
+    Set<Long> after = new HashSet<>();
+    for (long rank = 0; rank < 100; rank++) {
+      before.add(generator.key(rank, 0));
+      after.add(generator.key(rank, 5 * SECOND));
+    }
+    before.retainAll(after);
+    // 50 ranks later, half of the 100 hottest keys are still hot
+    assertEquals(before.size(), 50);
+  }
+
+  @Test
+  public void keysStayInRange() {
+    DriftingKeyGenerator generator =
+        new DriftingKeyGenerator(10, 19, new HotspotIntegerGenerator(0, 9, 0.2, 0.8), false, 1e9, 0);
+    for (int i = 0; i < 1000; i++) {
+      long key = generator.nextValue();
+      assertTrue(key >= 10 && key <= 19, Long.toString(key));
+      assertEquals(generator.lastValue().longValue(), key);
+    }
+    assertEquals(generator.mean(), 14.5);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void negativeVelocityIsRejected() {
+    new DriftingKeyGenerator(0, 999, new ConstantIntegerGenerator(0), false, -1, 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void negativeIntervalIsRejected() {
+    new DriftingKeyGenerator(0, 999, new ConstantIntegerGenerator(0), false, 10, -60);
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import site.ycsb.Client;
+import site.ycsb.Coordinator;
+import site.ycsb.RandomByteIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test class for {@link RandomStreams}.
+ */
+public class TestRandomStreams {
+
+  @AfterMethod
+  public void resetSeed() {
+    RandomStreams.setProperties(new Properties());
+  }
+
+  private static void seed(long seed) {
+    seed(seed, 0, 1);
+  }
+
+  private static void seed(long seed, int worker, int threads) {
+    Properties props = new Properties();
+    props.setProperty(RandomStreams.SEED_PROPERTY, Long.toString(seed));
+    props.setProperty(Coordinator.WORKER_PROPERTY, Integer.toString(worker));
+    props.setProperty(Client.THREAD_COUNT_PROPERTY, Integer.toString(threads));
+    RandomStreams.setProperties(props);
+  }
+
+  /**
+   * @return What a client thread with the given id draws from a shared generator.
+   */
+  private static List<String> draw(NumberGenerator generator, int threadid) throws InterruptedException {
+    AtomicReference<List<String>> drawn = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      RandomStreams.bind(threadid);
+      List<String> values = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        values.add(generator.nextValue().toString());
+      }
+      values.add(new RandomByteIterator(20).toString());
+      drawn.set(values);
+    });
+    thread.start();
+    thread.join();
+    return drawn.get();
+  }
+
+  @Test
+  public void sameSeedAndThreadDrawTheSameValues() throws Exception {
+    seed(42);
+    NumberGenerator generator = new ScrambledZipfianGenerator(1000000);
+    List<String> first = draw(generator, 0);
+    assertEquals(draw(generator, 0), first);
+    assertEquals(draw(new ScrambledZipfianGenerator(1000000), 0), first);
+    assertNotEquals(draw(generator, 1), first);
+
+    seed(43);
+    assertNotEquals(draw(generator, 0), first);
+  }
+
+  @Test
+  public void coordinatedWorkersDrawStreamsOfTheirOwn() throws Exception {
+    seed(42, 0, 2);
+    List<String> firstWorkerSecondThread = draw(new UniformLongGenerator(0, 1000000), 1);
+    List<String> pastFirstWorker = draw(new UniformLongGenerator(0, 1000000), 2);
+
+    seed(42, 1, 2);
+    List<String> secondWorkerFirstThread = draw(new UniformLongGenerator(0, 1000000), 0);
+    assertNotEquals(secondWorkerFirstThread, firstWorkerSecondThread);
+    assertEquals(secondWorkerFirstThread, pastFirstWorker);
+  }
+
+  @Test
+  public void unseededThreadsUseThreadLocalRandom() {
+    RandomStreams.bind(0);
+    assertSame(RandomStreams.current(), ThreadLocalRandom.current());
+  }
+
+  @Test
+  public void lastValuesAreKeptPerThread() throws Exception {
+    seed(1);
+    NumberGenerator generator = new UniformLongGenerator(0, 1000);
+    assertNull(generator.lastValue());
+    List<String> drawn = draw(generator, 0);
+    // a thread which has not drawn yet sees the first value drawn on any thread
+    assertEquals(generator.lastValue().toString(), drawn.get(0));
+    Number own = generator.nextValue();
+    assertEquals(generator.lastValue(), own);
+    assertEquals(draw(generator, 0), drawn);
+  }
+
+  @Test
+  public void generatorsPrimedInTheirConstructorHaveALastValueOnEveryThread() throws Exception {
+    NumberGenerator generator = new SkewedLatestGenerator(new CounterGenerator(100));
+    Number primed = generator.lastValue();
+    assertNotNull(primed);
+    AtomicReference<Number> seen = new AtomicReference<>();
+    Thread thread = new Thread(() -> seen.set(generator.lastValue()));
+    thread.start();
+    thread.join();
+    assertEquals(seen.get(), primed);
+  }
+}
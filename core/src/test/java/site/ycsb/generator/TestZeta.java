@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link Zeta}.
+ */
+public class TestZeta {
+
+  @AfterMethod
+  public void resetConfiguration() {
+    Zeta.setProperties(new Properties());
+  }
+
+  @Test
+  public void approximationMatchesTheSum() {
+    for (double theta : new double[] {0.5, 0.8, 0.99, 1.0, 1.2}) {
+      double exact = Zeta.sum(0, 2000000, theta, 0);
+      assertEquals(Zeta.approximate(2000000, theta), exact, exact * 1e-13, "theta " + theta);
+      assertTrue(Zeta.approximationError(theta) < 1e-17);
+    }
+    assertEquals(Zeta.approximate(10, 0.99), Zeta.sum(0, 10, 0.99, 0));
+  }
+
+  @Test
+  public void approximationMatchesThePrecomputedScrambledZipfianConstant() {
+    assertEquals(Zeta.approximate(ScrambledZipfianGenerator.ITEM_COUNT, ScrambledZipfianGenerator.USED_ZIPFIAN_CONSTANT),
+        ScrambledZipfianGenerator.ZETAN, 1e-9);
+  }
+
+  @Test
+  public void parallelSumMatchesTheSequentialSum() {
+    long n = 3L * Zeta.CHUNK + 12345;
+    double sequential = Zeta.sum(0, n, 0.99, 0);
+    assertEquals(Zeta.exact(n, 0.99), sequential, sequential * 1e-13);
+    assertEquals(Zeta.exact(n, 0.99), Zeta.exact(n, 0.99));
+  }
+
+  @Test
+  public void incrementalComputationAddsTheNewItems() {
+    double zeta = Zeta.zeta(1000, 0.99);
+    assertEquals(Zeta.zeta(1000, 1010, 0.99, zeta), Zeta.sum(0, 1010, 0.99, 0), 1e-12);
+    double large = Zeta.zeta(Zeta.AUTO_EXACT_LIMIT * 10, 0.99);
+    assertEquals(Zeta.zeta(1000, Zeta.AUTO_EXACT_LIMIT * 10, 0.99, zeta), large, large * 1e-13);
+  }
+
+  @Test
+  public void exactSumsAreCached() throws Exception {
+    Path dir = Files.createTempDirectory("zeta");
+    Properties props = new Properties();
+    props.setProperty(Zeta.MODE_PROPERTY, "exact");
+    props.setProperty(Zeta.CACHE_PROPERTY, dir.toString());
+    Zeta.setProperties(props);
+
+    long n = Zeta.CHUNK + 1;
+    double zeta = Zeta.zeta(n, 0.7);
+    Path file = dir.resolve("zeta-" + n + "-0.7");
+    assertEquals(Double.parseDouble(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)), zeta);
+
+    Files.write(file, "42.0".getBytes(StandardCharsets.UTF_8));
+    assertEquals(Zeta.zeta(n, 0.7), 42.0);
+    Files.delete(file);
+    Files.delete(dir);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void unknownModesAreRejected() {
+    Properties props = new Properties();
+    props.setProperty(Zeta.MODE_PROPERTY, "fast");
+    Zeta.setProperties(props);
+  }
+}
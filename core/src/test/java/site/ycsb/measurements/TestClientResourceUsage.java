@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements;
+
+import org.testng.annotations.Test;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link ClientResourceUsage}.
+ */
+public class TestClientResourceUsage {
+  private static volatile byte[] sink;
+
+  private static double exported(String output, String line) {
+    for (String l : output.split("\n")) {
+      if (l.startsWith(line)) {
+        return Double.parseDouble(l.substring(line.length()).trim());
+      }
+    }
+    throw new AssertionError(line + " not in " + output);
+  }
+
+  @Test
+  public void operationsAreChargedWhatTheirThreadUsed() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(Measurements.MEASUREMENT_CLIENT_RESOURCES_PROPERTY, "true");
+    Measurements measurements = new Measurements(props);
+    ClientResourceUsage usage = measurements.getResourceUsage();
+    for (int i = 0; i < 2; i++) {
+      usage.startOperation();
+      sink = new byte[1 << 20];
+      long end = System.nanoTime() + 2000000;
+      while (System.nanoTime() < end) {
+        sink[0]++;
+      }
+      usage.endOperation("READ");
+    }
+    usage.endClientThread(2);
+
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("[CLIENT-READ: CpuTime(us/op)="), summary);
+    assertEquals(usage.getSummary(), "", "nothing happened since the previous summary");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    measurements.exportMeasurements(exporter);
+    exporter.close();
+    String exported = out.toString("UTF-8");
+    double cpu = exported(exported, "[READ], ClientCpuTime(us/op),");
+    // mostly spinning, so close to the 2ms spent, unless the machine is very busy
+    assertTrue(cpu > 100 && cpu < 100000, exported);
+    assertTrue(exported(exported, "[READ], ClientAllocated(bytes/op),") >= 1 << 20, exported);
+    assertTrue(exported(exported, "[CLIENT_THREADS], CpuTime(us/op),") >= cpu, exported);
+  }
+
+  @Test
+  public void notMeasuredByDefault() {
+    assertNull(new Measurements(new Properties()).getResourceUsage());
+  }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+
+public class TestHistogramCodec {
+
+  @Test
+  public void histogramsSurviveARoundTrip() throws IOException {
+    Histogram h = new Histogram(3);
+    for (int i = 1; i <= 1000; i++) {
+      h.recordValue(i);
+    }
+    Histogram decoded = HistogramCodec.decode(HistogramCodec.encode(h));
+    assertEquals(decoded, h);
+    assertEquals(decoded.getValueAtPercentile(50), 500);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void malformedHistogramsAreRejected() throws IOException {
+    HistogramCodec.decode("not a histogram");
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements;
+
+import site.ycsb.Status;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestMeasurements {
+
+  private static Measurements newMeasurements(String interval) {
+    Properties props = new Properties();
+    props.put(Measurements.MEASUREMENT_TYPE_PROPERTY, "histogram");
+    props.put(Measurements.MEASUREMENT_INTERVAL, interval);
+    return new Measurements(props);
+  }
+
+  private static String export(Measurements mm) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    mm.exportMeasurements(exporter);
+    exporter.close();
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  public void handlesExportLikeNamedMeasurements() throws IOException {
+    for (String interval : new String[] {"op", "intended", "both"}) {
+      Measurements named = newMeasurements(interval);
+      Measurements handled = newMeasurements(interval);
+      MeasurementHandle read = handled.getHandle("READ");
+      MeasurementHandle failed = handled.getHandle("READ-FAILED");
+
+      for (int i = 1; i <= 100; i++) {
+        named.measure("READ", i);
+        named.measureIntended("READ", 2 * i);
+        named.reportStatus("READ", Status.OK);
+        read.measure(i);
+        read.measureIntended(2 * i);
+        read.reportStatus(Status.OK);
+      }
+      named.measure("READ-FAILED", 7);
+      named.measureIntended("READ-FAILED", 9);
+      failed.measure(7);
+      failed.measureIntended(9);
+
+      String expected = export(named);
+      assertTrue(expected.contains("[READ-FAILED]"), expected);
+      assertEquals(export(handled), expected);
+    }
+  }
+
+  @Test
+  public void handlesAreSharedPerName() {
+    Measurements mm = newMeasurements("both");
+    assertSame(mm.getHandle("UPDATE"), mm.getHandle("UPDATE"));
+    assertEquals(mm.getHandle("UPDATE").getName(), "UPDATE");
+  }
+
+  @Test
+  public void nanosecondLatenciesKeepTheirResolution() throws IOException {
+    for (String type : new String[] {"histogram", "hdrhistogram", "timeseries"}) {
+      Properties props = new Properties();
+      props.put(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+      props.put(OneMeasurement.LATENCY_UNIT_PROPERTY, "ns");
+      Measurements mm = new Measurements(props);
+      mm.measureNanos("READ", 300);
+      mm.measureNanos("READ", 700);
+      mm.measure("UPDATE", 2);
+
+      String text = export(mm);
+      assertTrue(text.contains("[READ], AverageLatency(ns), 500.0"), type + ": " + text);
+      assertTrue(text.contains("[READ], MinLatency(ns), 300"), type + ": " + text);
+      assertTrue(text.contains("[UPDATE], AverageLatency(ns), 2000.0"), type + ": " + text);
+    }
+  }
+
+  @Test
+  public void nanosecondLatenciesTruncateToMicroseconds() throws IOException {
+    Measurements mm = newMeasurements("op");
+    mm.measureNanos("READ", 1999);
+    mm.measureNanos("READ", 3001);
+    assertTrue(export(mm).contains("[READ], AverageLatency(us), 2.0"), export(mm));
+  }
+
+  @Test
+  public void valuesAreNotConvertedToNanoseconds() throws IOException {
+    Properties props = new Properties();
+    props.put(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    props.put(OneMeasurement.LATENCY_UNIT_PROPERTY, "ns");
+    Measurements mm = new Measurements(props);
+    mm.measureValue("THREAD_COUNT", 12);
+    mm.measure("READ", 2);
+
+    String text = export(mm);
+    assertTrue(text.contains("[THREAD_COUNT], MaxLatency(us), 12"), text);
+    assertTrue(text.contains("[READ], MaxLatency(ns), 2000"), text);
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements;
+
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestOneMeasurementHdrHistogram {
+
+  private static void recordFromThreads(final OneMeasurement m, int threads) throws InterruptedException {
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int offset = t * 1000;
+      workers[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 1; i <= 1000; i++) {
+            m.measure(offset + i);
+          }
+        }
+      };
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+  }
+
+  private static String export(OneMeasurement m) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    m.exportMeasurements(exporter);
+    exporter.close();
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  public void perThreadRecordersMergeToSharedResult() throws Exception {
+    Properties shared = new Properties();
+    Properties perThread = new Properties();
+    perThread.setProperty(OneMeasurementHdrHistogram.PER_THREAD_PROPERTY, "true");
+
+    OneMeasurement expected = new OneMeasurementHdrHistogram("READ", shared);
+    OneMeasurement actual = new OneMeasurementHdrHistogram("READ", perThread);
+    recordFromThreads(expected, 4);
+    recordFromThreads(actual, 4);
+
+    assertTrue(actual.getSummary().startsWith("[READ: Count=4000, Max=4001, Min=1,"), actual.getSummary());
+    recordFromThreads(expected, 2);
+    recordFromThreads(actual, 2);
+    assertEquals(export(actual), export(expected));
+  }
+
+  @Test
+  public void perThreadHistogramsAreExported() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementHdrHistogram.PER_THREAD_PROPERTY, "true");
+    props.setProperty(OneMeasurementHdrHistogram.PER_THREAD_EXPORT_PROPERTY, "true");
+
+    OneMeasurement m = new OneMeasurementHdrHistogram("UPDATE", props);
+    recordFromThreads(m, 3);
+    String text = export(m);
+    assertTrue(text.contains("[UPDATE], Operations, 3000"), text);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(text.contains("[UPDATE-thread" + i + "], Operations, 1000"), text);
+    }
+  }
+}
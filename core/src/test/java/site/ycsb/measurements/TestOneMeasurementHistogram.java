@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements;
+
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+
+public class TestOneMeasurementHistogram {
+
+  private static String export(OneMeasurement m) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    m.exportMeasurements(exporter);
+    exporter.close();
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  public void concurrentMeasurementsAreAllCounted() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementHistogram.BUCKETS, "10");
+    props.setProperty(OneMeasurementHistogram.VERBOSE_PROPERTY, "true");
+    final OneMeasurementHistogram m = new OneMeasurementHistogram("READ", props);
+
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 10000; i++) {
+            m.measure(i);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    String[] lines = export(m).split("\n");
+    assertEquals(lines[0], "[READ], Operations, 80000");
+    assertEquals(lines[1], "[READ], AverageLatency(us), 4999.5");
+    assertEquals(lines[3], "[READ], MinLatency(us), 0");
+    assertEquals(lines[4], "[READ], MaxLatency(us), 9999");
+    assertEquals(lines[5], "[READ], 95thPercentileLatency(us), 9000");
+    assertEquals(lines[6], "[READ], 99thPercentileLatency(us), 9000");
+    for (int i = 0; i < 10; i++) {
+      assertEquals(lines[7 + i], "[READ], " + i + ", 8000");
+    }
+    assertEquals(lines[17], "[READ], >10, 0");
+  }
+
+  @Test
+  public void summaryCoversOperationsSinceTheLastOne() {
+    OneMeasurementHistogram m = new OneMeasurementHistogram("READ", new Properties());
+    assertEquals(m.getSummary(), "");
+    m.measure(10);
+    m.measure(20);
+    assertEquals(m.getSummary(), "[READ AverageLatency(us)=15]");
+    assertEquals(m.getSummary(), "");
+    m.measure(40);
+    assertEquals(m.getSummary(), "[READ AverageLatency(us)=40]");
+  }
+
+  @Test
+  public void emptyHistogramReportsNoMinimumOrMaximum() throws IOException {
+    String[] lines = export(new OneMeasurementHistogram("READ", new Properties())).split("\n");
+    assertEquals(lines[0], "[READ], Operations, 0");
+    assertEquals(lines[3], "[READ], MinLatency(us), -1");
+    assertEquals(lines[4], "[READ], MaxLatency(us), -1");
+  }
+
+  @Test
+  public void bucketsStayMillisecondsWideInNanoseconds() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementHistogram.BUCKETS, "10");
+    props.setProperty(OneMeasurementHistogram.VERBOSE_PROPERTY, "true");
+    props.setProperty(OneMeasurement.LATENCY_UNIT_PROPERTY, "ns");
+    OneMeasurementHistogram m = new OneMeasurementHistogram("READ", props);
+    for (int i = 0; i < 100; i++) {
+      m.measureNanos(i * 100_000L);
+    }
+
+    String[] lines = export(m).split("\n");
+    assertEquals(lines[5], "[READ], 95thPercentileLatency(ns), 9000000");
+    for (int i = 0; i < 10; i++) {
+      assertEquals(lines[7 + i], "[READ], " + i + ", 10");
+    }
+    assertEquals(lines[17], "[READ], >10, 0");
+  }
+}
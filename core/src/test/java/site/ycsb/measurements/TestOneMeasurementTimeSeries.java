@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements;
+
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestOneMeasurementTimeSeries {
+
+  private static String[] export(OneMeasurement m) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    m.exportMeasurements(exporter);
+    exporter.close();
+    return out.toString("UTF-8").split("\n");
+  }
+
+  @Test
+  public void threadsAreMergedByTimeUnit() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementTimeSeries.GRANULARITY, "200");
+    final OneMeasurementTimeSeries m = new OneMeasurementTimeSeries("READ", props);
+
+    m.measure(1);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 1000; i++) {
+            m.measure(3);
+          }
+        }
+      };
+    }
+    for (Thread t : threads) {
+      t.start();
+      t.join();
+    }
+    Thread.sleep(450);
+    m.measure(10);
+    m.measure(20);
+
+    String[] lines = export(m);
+    assertEquals(lines[0], "[READ], Operations, 4003");
+    assertEquals(lines[2], "[READ], MinLatency(us), 1");
+    assertEquals(lines[3], "[READ], MaxLatency(us), 20");
+    assertEquals(lines.length, 6);
+    // the first unit holds everything but the last two measurements, unless the threads were slow
+    assertTrue(lines[4].startsWith("[READ], 0, 2.99"), lines[4]);
+    assertTrue(lines[5].matches("\\[READ\\], [0-9]+00, 15\\.0"), lines[5]);
+  }
+
+  @Test
+  public void completedUnitsAreKeptWhenThreadsMoveOn() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementTimeSeries.GRANULARITY, "100");
+    OneMeasurementTimeSeries m = new OneMeasurementTimeSeries("READ", props);
+
+    for (int unit = 0; unit < 3; unit++) {
+      m.measure(10 * (unit + 1));
+      m.measure(10 * (unit + 1));
+      Thread.sleep(130);
+    }
+
+    String[] lines = export(m);
+    assertEquals(lines.length, 7);
+    assertEquals(lines[4], "[READ], 0, 10.0");
+    assertTrue(lines[5].matches("\\[READ\\], [0-9]+00, 20\\.0"), lines[5]);
+    assertTrue(lines[6].matches("\\[READ\\], [0-9]+00, 30\\.0"), lines[6]);
+    // exporting again reports the same series
+    assertEquals(export(m)[6], lines[6]);
+  }
+
+  @Test
+  public void summaryCoversOperationsSinceTheLastOne() {
+    OneMeasurementTimeSeries m = new OneMeasurementTimeSeries("READ", new Properties());
+    assertEquals(m.getSummary(), "");
+    m.measure(10);
+    m.measure(20);
+    assertEquals(m.getSummary(), "[READ AverageLatency(us)=15]");
+    assertEquals(m.getSummary(), "");
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.measurements.exporter;
+
+import org.HdrHistogram.Histogram;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for the {@link IntervalExporter}s.
+ */
+public class TestIntervalExporter {
+
+  /**
+   * @param ops The interval operations, half of them reads of 100us and the rest updates of 300us.
+   */
+  private static IntervalStats interval(long elapsedMs, long ops, double target) {
+    Map<String, Histogram> latencies = new HashMap<>();
+    Histogram read = new Histogram(3);
+    read.recordValueWithCount(100, ops / 2);
+    latencies.put("READ", read);
+    Histogram update = new Histogram(3);
+    update.recordValueWithCount(300, ops - ops / 2);
+    latencies.put("UPDATE", update);
+    latencies.put("INSERT", new Histogram(3));
+    IntervalStats stats = new IntervalStats(1792220000000L + elapsedMs, elapsedMs, 1000, elapsedMs * ops / 1000, ops,
+        target);
+    stats.setLatencies("us", Arrays.asList(50.0, 99.9), latencies);
+    return stats;
+  }
+
+  @Test
+  public void jsonLinesHaveOneObjectPerInterval() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JSONLinesIntervalExporter exporter = new JSONLinesIntervalExporter(out);
+    exporter.write(interval(1000, 2000, Double.NaN));
+    exporter.write(interval(2000, 500, 400));
+    exporter.close();
+
+    String[] lines = out.toString("UTF-8").split("\n");
+    assertEquals(lines.length, 2);
+    assertTrue(lines[1].startsWith("{\"timestamp\":"), lines[1]);
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode first = mapper.readTree(lines[0]);
+    assertEquals(first.get("elapsed(ms)").getLongValue(), 1000);
+    assertEquals(first.get("interval_operations").getLongValue(), 2000);
+    assertEquals(first.get("throughput(ops/sec)").getDoubleValue(), 2000.0);
+    assertFalse(first.has("target(ops/sec)"));
+    JsonNode read = first.get("measurements").get("READ");
+    assertEquals(read.get("count").getLongValue(), 1000);
+    assertEquals(read.get("p50").getLongValue(), 100);
+    assertEquals(read.get("p99.9").getLongValue(), 100);
+    assertEquals(first.get("measurements").get("UPDATE").get("max").getLongValue(), 300);
+    assertFalse(first.get("measurements").get("INSERT").has("p50"));
+
+    JsonNode second = mapper.readTree(lines[1]);
+    assertEquals(second.get("throughput(ops/sec)").getDoubleValue(), 500.0);
+    assertEquals(second.get("target(ops/sec)").getDoubleValue(), 400.0);
+  }
+
+  @Test
+  public void csvHasOneRowPerMeasurementAndInterval() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CSVIntervalExporter exporter = new CSVIntervalExporter(out);
+    exporter.write(interval(1000, 2000, Double.NaN));
+    exporter.write(interval(2000, 500, 400));
+    exporter.close();
+
+    String[] lines = out.toString("UTF-8").split("\n");
+    assertEquals(lines.length, 9);
+    assertEquals(lines[0], "timestamp(ms),elapsed(ms),measurement,count,throughput(ops/sec),target(ops/sec),"
+        + "mean(us),min(us),max(us),p50(us),p99.9(us)");
+    assertEquals(lines[1], "1792220001000,1000,OVERALL,2000,2000.00,,,,,,");
+    assertEquals(lines[2], "1792220001000,1000,INSERT,0,0.00,,,,,,");
+    assertEquals(lines[3], "1792220001000,1000,READ,1000,1000.00,,100.00,100,100,100,100");
+    assertEquals(lines[5], "1792220002000,2000,OVERALL,500,500.00,400.00,,,,,");
+    for (String line : lines) {
+      assertEquals(line.split(",", -1).length, 11, line);
+    }
+    assertTrue(lines[8].startsWith("1792220002000,2000,UPDATE,250,250.00,,300.00,300,300,"), lines[8]);
+  }
+}
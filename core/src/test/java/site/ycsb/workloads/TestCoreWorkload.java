@@ -16,13 +16,33 @@
  */
 package site.ycsb.workloads;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.testng.annotations.Test;
 
+import site.ycsb.AsyncDB;
+import site.ycsb.AsyncDBAdapter;
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.Utils;
+import site.ycsb.WorkloadException;
 import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.measurements.Measurements;
 
 public class TestCoreWorkload {
 
@@ -67,4 +87,229 @@ public class TestCoreWorkload {
   public void createOperationChooserNullProperties() {
     CoreWorkload.createOperationGenerator(null);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void insertKeysBeyondIntegerRange() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "10000000000");
+    p.setProperty(CoreWorkload.INSERT_START_PROPERTY, "5000000000");
+    p.setProperty(CoreWorkload.INSERT_COUNT_PROPERTY, "3000000000");
+    p.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    p.setProperty(CoreWorkload.FIELD_COUNT_PROPERTY, "1");
+    Measurements.setProperties(p);
+    final CoreWorkload workload = new CoreWorkload();
+    workload.init(p);
+
+    final List<String> keys = new ArrayList<String>();
+    final DB db = new DB() {
+      @Override
+      public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+        keys.add(key);
+        return Status.OK;
+      }
+
+      @Override
+      public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                         Vector<HashMap<String, ByteIterator>> result) {
+        return Status.OK;
+      }
+
+      @Override
+      public Status update(String table, String key, Map<String, ByteIterator> values) {
+        return Status.OK;
+      }
+
+      @Override
+      public Status insert(String table, String key, Map<String, ByteIterator> values) {
+        keys.add(key);
+        return Status.OK;
+      }
+
+      @Override
+      public Status delete(String table, String key) {
+        return Status.OK;
+      }
+    };
+
+    assertTrue(workload.doInsert(db, null));
+    assertTrue(workload.doInsert(db, null));
+    assertEquals(keys.get(0), "user5000000000");
+    assertEquals(keys.get(1), "user5000000001");
+
+    for (int i = 0; i < 100; i++) {
+      long keynum = workload.nextKeynum();
+      assertTrue(keynum >= 5000000000L && keynum < 8000000000L, "keynum " + keynum);
+    }
+  }
+
+  @Test
+  public void keyNamesMatchConcatenatedFormat() throws Exception {
+    for (String order : new String[] {"hashed", "ordered"}) {
+      for (int zeropadding : new int[] {1, 12, 30}) {
+        final Properties p = new Properties();
+        p.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, order);
+        p.setProperty(CoreWorkload.ZERO_PADDING_PROPERTY, Integer.toString(zeropadding));
+        Measurements.setProperties(p);
+        final CoreWorkload workload = new CoreWorkload();
+        workload.init(p);
+        final CoreWorkload.ThreadState state = (CoreWorkload.ThreadState) workload.initThread(p, 0, 1);
+
+        for (long keynum : new long[] {0, 7, 1234567, Long.MAX_VALUE, 3, 99999}) {
+          long value = keynum;
+          if (order.equals("hashed")) {
+            value = Utils.hash(keynum);
+          }
+          String expected = Long.toString(value);
+          StringBuilder prekey = new StringBuilder("user");
+          for (int i = expected.length(); i < zeropadding; i++) {
+            prekey.append('0');
+          }
+          expected = prekey + expected;
+          assertEquals(workload.buildKeyName(keynum), expected);
+          assertEquals(state.keyName(keynum), expected);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void threadStateReusesObjects() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(CoreWorkload.FIELD_COUNT_PROPERTY, "3");
+    p.setProperty(CoreWorkload.REUSE_OBJECTS_PROPERTY, "true");
+    Measurements.setProperties(p);
+    final CoreWorkload workload = new CoreWorkload();
+    workload.init(p);
+
+    final List<Object> passed = new ArrayList<Object>();
+    final DB db = new DB() {
+      @Override
+      public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+        passed.add(result);
+        return Status.OK;
+      }
+
+      @Override
+      public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                         Vector<HashMap<String, ByteIterator>> result) {
+        return Status.OK;
+      }
+
+      @Override
+      public Status update(String table, String key, Map<String, ByteIterator> values) {
+        return Status.OK;
+      }
+
+      @Override
+      public Status insert(String table, String key, Map<String, ByteIterator> values) {
+        assertEquals(values.size(), 3);
+        passed.add(values);
+        return Status.OK;
+      }
+
+      @Override
+      public Status delete(String table, String key) {
+        return Status.OK;
+      }
+    };
+
+    Object threadstate = workload.initThread(p, 0, 1);
+    workload.doInsert(db, threadstate);
+    workload.doInsert(db, threadstate);
+    workload.doTransactionRead(db, threadstate);
+    workload.doTransactionRead(db, threadstate);
+    assertSame(passed.get(0), passed.get(1));
+    assertSame(passed.get(2), passed.get(3));
+
+    // off by default, as some bindings keep the maps passed to them
+    p.remove(CoreWorkload.REUSE_OBJECTS_PROPERTY);
+    workload.init(p);
+    passed.clear();
+    threadstate = workload.initThread(p, 0, 1);
+    workload.doInsert(db, threadstate);
+    workload.doInsert(db, threadstate);
+    assertNotSame(passed.get(0), passed.get(1));
+  }
+
+  @Test
+  public void driftSettingsAreValidated() {
+    String[][] invalid = {
+        {CoreWorkload.DRIFT_VELOCITY_PROPERTY, "-5"},
+        {CoreWorkload.DRIFT_VELOCITY_PROPERTY, "NaN"},
+        {CoreWorkload.DRIFT_INTERVAL_PROPERTY, "-1"},
+        {CoreWorkload.DRIFT_INTERVAL_PROPERTY, "0"},
+    };
+    for (String[] setting : invalid) {
+      Properties p = new Properties();
+      p.setProperty(CoreWorkload.DRIFT_MODE_PROPERTY, "abrupt");
+      p.setProperty(setting[0], setting[1]);
+      try {
+        CoreWorkload.createDriftingKeyChooser(p, 0, 999);
+        throw new AssertionError("accepted " + setting[0] + "=" + setting[1]);
+      } catch (WorkloadException e) {
+        assertTrue(e.getMessage().startsWith(setting[0]), e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void asyncInsertsBecomeReadableOnceWritten() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "10");
+    Measurements.setProperties(p);
+    final CoreWorkload workload = new CoreWorkload();
+    workload.init(p);
+
+    final List<CompletableFuture<Status>> inserts = new ArrayList<CompletableFuture<Status>>();
+    final AsyncDB asyncdb = new AsyncDB() {
+      @Override
+      public CompletionStage<Status> read(String table, String key, Set<String> fields,
+                                          Map<String, ByteIterator> result) {
+        return CompletableFuture.completedFuture(Status.OK);
+      }
+
+      @Override
+      public CompletionStage<Status> scan(String table, String startkey, int recordcount, Set<String> fields,
+                                          Vector<HashMap<String, ByteIterator>> result) {
+        return CompletableFuture.completedFuture(Status.OK);
+      }
+
+      @Override
+      public CompletionStage<Status> update(String table, String key, Map<String, ByteIterator> values) {
+        return CompletableFuture.completedFuture(Status.OK);
+      }
+
+      @Override
+      public CompletionStage<Status> insert(String table, String key, Map<String, ByteIterator> values) {
+        CompletableFuture<Status> f = new CompletableFuture<Status>();
+        inserts.add(f);
+        return f;
+      }
+
+      @Override
+      public CompletionStage<Status> delete(String table, String key) {
+        return CompletableFuture.completedFuture(Status.OK);
+      }
+    };
+    final AsyncDBAdapter db = new AsyncDBAdapter(asyncdb, 4);
+
+    final Object threadstate = workload.initThread(p, 0, 1);
+    workload.doTransactionInsert(db, threadstate);
+    workload.doTransactionInsert(db, threadstate);
+    assertEquals(workload.transactioninsertkeysequence.lastValue().longValue(), 9);
+
+    inserts.get(0).complete(Status.OK);
+    assertEquals(workload.transactioninsertkeysequence.lastValue().longValue(), 10);
+    inserts.get(1).complete(Status.ERROR);
+    assertEquals(workload.transactioninsertkeysequence.lastValue().longValue(), 11);
+  }
+
+  @Test (expectedExceptions = WorkloadException.class)
+  public void insertRetriesNeedTheOutcomeOfEachInsert() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(AsyncDBAdapter.WINDOW_PROPERTY, "4");
+    p.setProperty(CoreWorkload.INSERTION_RETRY_LIMIT, "3");
+    Measurements.setProperties(p);
+    new CoreWorkload().init(p);
+  }
+}
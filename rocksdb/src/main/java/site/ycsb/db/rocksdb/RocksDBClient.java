@@ -218,10 +218,12 @@ public class RocksDBClient extends DB {
       }
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
+      OperationPhases.phase("get");
       final byte[] values = rocksDb.get(cf, key.getBytes(UTF_8));
       if(values == null) {
         return Status.NOT_FOUND;
       }
+      OperationPhases.phase("decode");
       deserializeValues(values, fields, result);
       return Status.OK;
     } catch(final RocksDBException e) {
@@ -268,17 +270,22 @@ public class RocksDBClient extends DB {
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
       final Map<String, ByteIterator> result = new HashMap<>();
+      OperationPhases.phase("get");
       final byte[] currentValues = rocksDb.get(cf, key.getBytes(UTF_8));
       if(currentValues == null) {
         return Status.NOT_FOUND;
       }
+      OperationPhases.phase("decode");
       deserializeValues(currentValues, null, result);
 
       //update
       result.putAll(values);
 
       //store
-      rocksDb.put(cf, key.getBytes(UTF_8), serializeValues(result));
+      OperationPhases.phase("encode");
+      final byte[] serialized = serializeValues(result);
+      OperationPhases.phase("put");
+      rocksDb.put(cf, key.getBytes(UTF_8), serialized);
 
       return Status.OK;
 
@@ -296,7 +303,10 @@ public class RocksDBClient extends DB {
       }
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
-      rocksDb.put(cf, key.getBytes(UTF_8), serializeValues(values));
+      OperationPhases.phase("encode");
+      final byte[] serialized = serializeValues(values);
+      OperationPhases.phase("put");
+      rocksDb.put(cf, key.getBytes(UTF_8), serialized);
 
       return Status.OK;
     } catch(final RocksDBException | IOException e) {